@@ -29,5 +29,11 @@ final class LibertyDevToolWindowFactory implements ToolWindowFactory {
                 LocalizedResourceUtil.getMessage("liberty.tool.window.display.name"), false);
         contentManager.addContent(content);
 
+        // language server processes started for the project
+        LibertyLanguageServersPanel languageServersPanel = new LibertyLanguageServersPanel(project);
+        Content languageServersContent = contentManager.getFactory().createContent(languageServersPanel,
+                LocalizedResourceUtil.getMessage("liberty.tool.window.language.servers.display.name"), false);
+        languageServersContent.setDisposer(languageServersPanel);
+        contentManager.addContent(languageServersContent);
     }
 }
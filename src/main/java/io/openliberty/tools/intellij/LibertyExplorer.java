@@ -24,6 +24,7 @@ import com.intellij.ui.components.JBTextArea;
 import com.intellij.ui.treeStructure.Tree;
 import io.openliberty.tools.intellij.actions.LibertyGeneralAction;
 import io.openliberty.tools.intellij.actions.LibertyToolbarActionGroup;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.project.MicroProfileProjectPrewarmer;
 import io.openliberty.tools.intellij.util.*;
 import org.jetbrains.annotations.NotNull;
 import org.xml.sax.SAXException;
@@ -196,6 +197,9 @@ public class LibertyExplorer extends SimpleToolWindowPanel {
             node.add(new LibertyActionNode(Constants.VIEW_GRADLE_TEST_REPORT, module));
         }
 
+        // the Liberty modules are known, compute their MicroProfile project info in the background
+        MicroProfileProjectPrewarmer.getInstance(project).schedule();
+
         Tree tree = new Tree(top);
         tree.setName(Constants.LIBERTY_TREE);
         tree.setRootVisible(false);
@@ -254,6 +258,9 @@ public class LibertyExplorer extends SimpleToolWindowPanel {
                         group.add(stopAction);
                         AnAction runTestsAction = ActionManager.getInstance().getAction(Constants.LIBERTY_DEV_TESTS_ACTION_ID);
                         group.add(runTestsAction);
+                        group.addSeparator();
+                        AnAction validateAction = ActionManager.getInstance().getAction(Constants.VALIDATE_MODULE_ACTION_ID);
+                        group.add(validateAction);
 
                         ActionPopupMenu menu = ActionManager.getInstance().createActionPopupMenu(ActionPlaces.TOOLWINDOW_POPUP, group);
                         menu.getComponent().show(comp, x, y);
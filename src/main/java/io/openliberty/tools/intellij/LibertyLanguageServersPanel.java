@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerHealth;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerWrapper;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServiceAccessor;
+import io.openliberty.tools.intellij.util.LocalizedResourceUtil;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.Timer;
+import javax.swing.table.DefaultTableModel;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Displays the language server processes started for the project, the modules they serve, their memory usage and
+ * their health: the latency of their responses and whether they're skipped because they don't respond.
+ */
+public class LibertyLanguageServersPanel extends SimpleToolWindowPanel implements Disposable {
+    private final static Logger LOGGER = Logger.getInstance(LibertyLanguageServersPanel.class);
+    private static final int REFRESH_INTERVAL_MS = 2000;
+
+    private final Project project;
+    private final DefaultTableModel model;
+    private final JBLabel summary;
+    private final Timer timer;
+
+    public LibertyLanguageServersPanel(@NotNull Project project) {
+        super(true, true);
+        this.project = project;
+        this.model = new DefaultTableModel(new Object[]{
+                LocalizedResourceUtil.getMessage("language.servers.column.server"),
+                LocalizedResourceUtil.getMessage("language.servers.column.modules"),
+                LocalizedResourceUtil.getMessage("language.servers.column.status"),
+                LocalizedResourceUtil.getMessage("language.servers.column.health"),
+                LocalizedResourceUtil.getMessage("language.servers.column.pid"),
+                LocalizedResourceUtil.getMessage("language.servers.column.memory")}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JBTable table = new JBTable(model);
+        this.summary = new JBLabel();
+        this.summary.setBorder(JBUI.Borders.empty(4));
+        this.setToolbar(summary);
+        this.setContent(ScrollPaneFactory.createScrollPane(table));
+
+        this.timer = new Timer(REFRESH_INTERVAL_MS, e -> refresh());
+        this.timer.start();
+        refresh();
+    }
+
+    private void refresh() {
+        if (project.isDisposed()) {
+            return;
+        }
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            List<LanguageServerWrapper> wrappers = LanguageServiceAccessor.getInstance(project).getStartedServers();
+            List<Object[]> rows = new ArrayList<>(wrappers.size());
+            int processes = 0;
+            long totalMemory = 0;
+            for (LanguageServerWrapper wrapper : wrappers) {
+                ProcessHandle process = wrapper.getProcessHandle();
+                boolean alive = process != null && process.isAlive();
+                long memory = alive ? getResidentMemory(process) : -1;
+                if (alive) {
+                    processes++;
+                    totalMemory += Math.max(memory, 0);
+                }
+                rows.add(new Object[]{
+                        wrapper.serverDefinition.label,
+                        wrapper.getWatchedProjects().stream().map(Module::getName).sorted().collect(Collectors.joining(", ")),
+                        LocalizedResourceUtil.getMessage(wrapper.isActive() ? "language.servers.status.running" : "language.servers.status.stopped"),
+                        wrapper.isActive() ? getHealth(wrapper.getHealth()) : "",
+                        alive ? process.pid() : "",
+                        memory >= 0 ? formatMemory(memory) : ""});
+            }
+            String summaryText = LocalizedResourceUtil.getMessage("language.servers.summary", processes, formatMemory(totalMemory));
+            ApplicationManager.getApplication().invokeLater(() -> {
+                model.setRowCount(0);
+                rows.forEach(model::addRow);
+                summary.setText(summaryText);
+            }, ModalityState.any());
+        });
+    }
+
+    private static String getHealth(LanguageServerHealth health) {
+        switch (health.getState()) {
+            case OPEN:
+                return LocalizedResourceUtil.getMessage("language.servers.health.open",
+                        (health.getRetryDelay() + 999) / 1000);
+            case HALF_OPEN:
+                return LocalizedResourceUtil.getMessage("language.servers.health.half.open");
+            default:
+                long p50 = health.getLatencyPercentile(50);
+                return p50 < 0 ? LocalizedResourceUtil.getMessage("language.servers.health.closed")
+                        : LocalizedResourceUtil.getMessage("language.servers.health.latency", p50,
+                        health.getLatencyPercentile(95));
+        }
+    }
+
+    /**
+     * Returns the resident memory in bytes of the given process, or -1 if it can't be determined on this platform.
+     */
+    private static long getResidentMemory(ProcessHandle process) {
+        Path status = Paths.get("/proc", Long.toString(process.pid()), "status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    // VmRSS:	  123456 kB
+                    String value = line.substring("VmRSS:".length()).trim().split("\\s+")[0];
+                    return Long.parseLong(value) * 1024;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.debug("Could not read memory usage of process " + process.pid(), e);
+        }
+        return -1;
+    }
+
+    private static String formatMemory(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    @Override
+    public void dispose() {
+        timer.stop();
+    }
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.actions;
+
+import io.openliberty.tools.intellij.LibertyModule;
+import io.openliberty.tools.intellij.LibertyModules;
+import io.openliberty.tools.intellij.util.LocalizedResourceUtil;
+import io.openliberty.tools.intellij.validation.LibertyModuleValidation;
+
+public class ValidateLibertyModuleAction extends LibertyGeneralAction {
+
+    public ValidateLibertyModuleAction() {
+        setActionCmd(LocalizedResourceUtil.getMessage("validate.module"));
+    }
+
+    @Override
+    protected void executeLibertyAction() {
+        if (libertyModule == null) {
+            LibertyModule module = LibertyModules.getInstance().getLibertyModule(buildFile);
+            if (module == null) {
+                String msg = LocalizedResourceUtil.getMessage("liberty.build.file.does.not.resolve", actionCmd, project.getName());
+                notifyError(msg);
+                LOGGER.warn(msg);
+                return;
+            }
+            setLibertyModule(module);
+        }
+        // validate the Java files of the module in the background
+        new LibertyModuleValidation(libertyModule).queue();
+    }
+}
@@ -17,8 +17,11 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.PsiTypeUtils;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.Range;
@@ -141,6 +144,10 @@ public class AbstractDiagnosticsCollector implements DiagnosticsCollector {
                 return true;
             // only check fully qualified java element
             if (javaElementFQName.equals(javaElementName)) {
+                Module module = ModuleUtilCore.findModuleForPsiElement(type);
+                if (module != null) {
+                    return PsiTypeUtils.isOnClasspath(module, javaElementFQName);
+                }
                 JavaPsiFacade facade = JavaPsiFacade.getInstance(type.getProject());
                 Object o = facade.findClass(javaElementFQName, GlobalSearchScope.allScope(type.getProject()));
                 return (o != null);
@@ -166,30 +173,47 @@ public class AbstractDiagnosticsCollector implements DiagnosticsCollector {
     protected static boolean isImportedJavaElement(PsiClass unit, String[] javaElementFQNames) {
         PsiFile file = unit.getContainingFile();
         if (file instanceof PsiJavaFile) {
-            PsiJavaFile jFile = (PsiJavaFile) file;
-            PsiClass[] importClasses = jFile.getSingleClassImports(true);
-            for (PsiClass c : importClasses) {
+            return isImportedJavaElement((PsiJavaFile) file, javaElementFQNames);
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the given Java file imports the given Java element and false
+     * otherwise.
+     *
+     * @param jFile             Java file.
+     * @param javaElementFQName given Java element fully qualified name.
+     * @return true if the Java file imports the given Java element and false
+     *         otherwise.
+     */
+    public static boolean isImportedJavaElement(PsiJavaFile jFile, String javaElementFQName) {
+        return isImportedJavaElement(jFile, new String[] { javaElementFQName });
+    }
+
+    protected static boolean isImportedJavaElement(PsiJavaFile jFile, String[] javaElementFQNames) {
+        PsiClass[] importClasses = jFile.getSingleClassImports(true);
+        for (PsiClass c : importClasses) {
+            for (String name : javaElementFQNames) {
+                if (name.equals(c.getQualifiedName())) {
+                    return true;
+                }
+            }
+        }
+        PsiElement[] importOnDemand = jFile.getOnDemandImports(false, true);
+        for (PsiElement e : importOnDemand) {
+            // should be class or package
+            if (e instanceof PsiClass) {
                 for (String name : javaElementFQNames) {
-                    if (name.equals(c.getQualifiedName())) {
+                    if (name.equals(((PsiClass) e).getQualifiedName())) {
                         return true;
                     }
                 }
             }
-            PsiElement[] importOnDemand = jFile.getOnDemandImports(false, true);
-            for (PsiElement e : importOnDemand) {
-                // should be class or package
-                if (e instanceof PsiClass) {
-                    for (String name : javaElementFQNames) {
-                        if (name.equals(((PsiClass) e).getQualifiedName())) {
-                            return true;
-                        }
-                    }
-                }
-                if (e instanceof PsiPackage) {
-                    for (String name : javaElementFQNames) {
-                        if (name.startsWith(((PsiPackage) e).getQualifiedName())) {
-                            return true;
-                        }
+            if (e instanceof PsiPackage) {
+                for (String name : javaElementFQNames) {
+                    if (name.startsWith(((PsiPackage) e).getQualifiedName())) {
+                        return true;
                     }
                 }
             }
@@ -206,7 +230,7 @@ public class AbstractDiagnosticsCollector implements DiagnosticsCollector {
      * @return true if the Java class implements one of the given interfaces and
      *         false otherwise.
      */
-    protected static boolean doesImplementInterfaces(PsiClass type, String[] interfaceFQNames) {
+    public static boolean doesImplementInterfaces(PsiClass type, String[] interfaceFQNames) {
         PsiClass[] interfaces = type.getInterfaces();
 
         // should check import statements first for the performance?
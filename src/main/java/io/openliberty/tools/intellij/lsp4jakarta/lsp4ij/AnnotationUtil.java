@@ -12,7 +12,9 @@
 
 package io.openliberty.tools.intellij.lsp4jakarta.lsp4ij;
 
+import com.intellij.psi.PsiAnnotation;
 import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiNameValuePair;
 
 import java.util.Arrays;
 import java.util.List;
@@ -39,4 +41,36 @@ public class AnnotationUtil {
             return Collections.<String>emptyList();
         }
     }
+
+    /**
+     * Returns the literal value of the given attribute of an annotation.
+     *
+     * @param annotation the annotation
+     * @param attributeName the attribute name, "value" for the single unnamed attribute
+     * @return the literal value of the attribute, or null if the attribute isn't set or isn't a literal
+     */
+    public static String getAttributeLiteralValue(PsiAnnotation annotation, String attributeName) {
+        for (PsiNameValuePair pair : annotation.getParameterList().getAttributes()) {
+            if (attributeName.equals(pair.getAttributeName())) {
+                return pair.getLiteralValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the given attribute of an annotation is set and false otherwise.
+     *
+     * @param annotation the annotation
+     * @param attributeName the attribute name
+     * @return true if the given attribute of an annotation is set and false otherwise
+     */
+    public static boolean hasAttribute(PsiAnnotation annotation, String attributeName) {
+        for (PsiNameValuePair pair : annotation.getParameterList().getAttributes()) {
+            if (attributeName.equals(pair.getAttributeName())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
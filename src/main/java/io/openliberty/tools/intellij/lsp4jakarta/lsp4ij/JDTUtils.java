@@ -20,10 +20,11 @@ import com.intellij.psi.PsiMethod;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 public class JDTUtils {
     // Percent encoding obtained from: https://en.wikipedia.org/wiki/Percent-encoding#Reserved_characters
-    private static final String LEVEL1_URI_REGEX = "(?:\\/(?:(?:\\{(\\w|-|%20|%21|%23|%24|%25|%26|%27|%28|%29|%2A|%2B|%2C|%2F|%3A|%3B|%3D|%3F|%40|%5B|%5D)+\\})|(?:(\\w|%20|%21|%23|%24|%25|%26|%27|%28|%29|%2A|%2B|%2C|%2F|%3A|%3B|%3D|%3F|%40|%5B|%5D)+)))*\\/?";
+    private static final Pattern LEVEL1_URI_PATTERN = Pattern.compile("(?:\\/(?:(?:\\{(\\w|-|%20|%21|%23|%24|%25|%26|%27|%28|%29|%2A|%2B|%2C|%2F|%3A|%3B|%3D|%3F|%40|%5B|%5D)+\\})|(?:(\\w|%20|%21|%23|%24|%25|%26|%27|%28|%29|%2A|%2B|%2C|%2F|%3A|%3B|%3D|%3F|%40|%5B|%5D)+)))*\\/?");
 
     /**
      * Check if a URI starts with a leading slash.
@@ -43,7 +44,7 @@ public class JDTUtils {
      * @return boolean
      */
     public static boolean isValidLevel1URI(String uriString) {
-        return uriString.matches(LEVEL1_URI_REGEX);
+        return LEVEL1_URI_PATTERN.matcher(uriString).matches();
     }
 
     /**
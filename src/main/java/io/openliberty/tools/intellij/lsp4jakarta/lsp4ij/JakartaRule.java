@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package io.openliberty.tools.intellij.lsp4jakarta.lsp4ij;
+
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+import com.intellij.psi.PsiElement;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+
+/**
+ * A declarative Jakarta check, evaluated by the {@link JakartaRuleEngine}.
+ *
+ * A rule is triggered by an annotation (or by a call of a method) with the given fully qualified name on an element
+ * of the given kinds, and reports a diagnostic when its predicate holds. The predicate receives the annotated element
+ * (the method call expression for {@link ElementKind#METHOD_CALL}) and the trigger (the annotation, or the method
+ * call expression), it must not walk the file again.
+ */
+public final class JakartaRule {
+
+    /**
+     * The kind of the element a rule applies to.
+     */
+    public enum ElementKind {
+        PACKAGE, TYPE, METHOD, FIELD, PARAMETER, METHOD_CALL
+    }
+
+    /**
+     * Where the diagnostic of a rule is reported.
+     */
+    public interface Target {
+        Target TRIGGER = (element, trigger) -> trigger;
+        Target ELEMENT = (element, trigger) -> element;
+
+        PsiElement get(PsiElement element, PsiElement trigger);
+    }
+
+    private final String source;
+    private final String trigger;
+    private final Set<ElementKind> kinds;
+    private final BiPredicate<PsiElement, PsiElement> predicate;
+    private final String code;
+    private final String message;
+    private final DiagnosticSeverity severity;
+    private final Target target;
+    private final BiFunction<PsiElement, PsiElement, Object> data;
+
+    private JakartaRule(Builder builder) {
+        this.source = builder.source;
+        this.trigger = Objects.requireNonNull(builder.trigger, "trigger");
+        this.kinds = builder.kinds;
+        this.predicate = Objects.requireNonNull(builder.predicate, "predicate");
+        this.code = builder.code;
+        this.message = Objects.requireNonNull(builder.message, "message");
+        this.severity = builder.severity;
+        this.target = builder.target;
+        this.data = builder.data;
+    }
+
+    /**
+     * Returns a builder of a rule triggered by the annotation with the given fully qualified name.
+     *
+     * @param source the diagnostic source
+     * @param annotationFQName the fully qualified name of the annotation
+     * @param kinds the kinds of the annotated elements the rule applies to
+     * @return the builder
+     */
+    public static Builder onAnnotation(String source, String annotationFQName, ElementKind... kinds) {
+        if (kinds.length == 0) {
+            throw new IllegalArgumentException("No element kind for rule on @" + annotationFQName);
+        }
+        return new Builder(source, annotationFQName, EnumSet.of(kinds[0], kinds));
+    }
+
+    /**
+     * Returns a builder of a rule triggered by the calls of the given method.
+     *
+     * @param source the diagnostic source
+     * @param methodFQName the fully qualified name of the declaring class, followed by '.' and the method name
+     * @return the builder
+     */
+    public static Builder onMethodCall(String source, String methodFQName) {
+        return new Builder(source, methodFQName, EnumSet.of(ElementKind.METHOD_CALL));
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the fully qualified name of the annotation or of the method triggering the rule.
+     */
+    public String getTrigger() {
+        return trigger;
+    }
+
+    public boolean appliesTo(ElementKind kind) {
+        return kinds.contains(kind);
+    }
+
+    public boolean test(PsiElement element, PsiElement trigger) {
+        return predicate.test(element, trigger);
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public DiagnosticSeverity getSeverity() {
+        return severity;
+    }
+
+    public PsiElement getTarget(PsiElement element, PsiElement trigger) {
+        return target.get(element, trigger);
+    }
+
+    public Object getData(PsiElement element, PsiElement trigger) {
+        return data != null ? data.apply(element, trigger) : null;
+    }
+
+    public static final class Builder {
+        private final String source;
+        private final String trigger;
+        private final Set<ElementKind> kinds;
+        private BiPredicate<PsiElement, PsiElement> predicate;
+        private String code;
+        private String message;
+        private DiagnosticSeverity severity = DiagnosticSeverity.Error;
+        private Target target = Target.TRIGGER;
+        private BiFunction<PsiElement, PsiElement, Object> data;
+
+        private Builder(String source, String trigger, Set<ElementKind> kinds) {
+            this.source = source;
+            this.trigger = trigger;
+            this.kinds = kinds;
+        }
+
+        /**
+         * Sets the predicate of the rule, a diagnostic is reported when it returns true.
+         */
+        public Builder when(BiPredicate<PsiElement, PsiElement> predicate) {
+            this.predicate = predicate;
+            return this;
+        }
+
+        public Builder report(String code, String message) {
+            this.code = code;
+            this.message = message;
+            return this;
+        }
+
+        public Builder severity(DiagnosticSeverity severity) {
+            this.severity = severity;
+            return this;
+        }
+
+        /**
+         * Sets the element the diagnostic is reported on, the trigger by default.
+         */
+        public Builder on(Target target) {
+            this.target = target;
+            return this;
+        }
+
+        public Builder data(BiFunction<PsiElement, PsiElement, Object> data) {
+            this.data = data;
+            return this;
+        }
+
+        public JakartaRule build() {
+            return new JakartaRule(this);
+        }
+    }
+}
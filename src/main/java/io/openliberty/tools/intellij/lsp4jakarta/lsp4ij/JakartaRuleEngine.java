@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package io.openliberty.tools.intellij.lsp4jakarta.lsp4ij;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.intellij.psi.*;
+import org.eclipse.lsp4j.Diagnostic;
+
+/**
+ * Evaluates the declared {@link JakartaRule}s in one traversal of the Java file.
+ *
+ * The rules are compiled when they are added into dispatch tables: the annotation rules by the fully qualified name
+ * (and the simple name) of their annotation, the method call rules by the name of their method. Each annotation and
+ * each method call of the file is then looked up once, and only the rules triggered by it are evaluated, so adding
+ * the rules of another Jakarta specification doesn't add another walk of the file.
+ */
+public class JakartaRuleEngine extends AbstractDiagnosticsCollector {
+
+    private final Map<String, List<JakartaRule>> annotationRules = new HashMap<>();
+    // simple name -> fully qualified names of the annotations triggering a rule
+    private final Map<String, List<String>> annotationSimpleNames = new HashMap<>();
+    // method name -> rules triggered by a call of a method with this name
+    private final Map<String, List<JakartaRule>> methodCallRules = new HashMap<>();
+
+    public JakartaRuleEngine() {
+        super();
+    }
+
+    /**
+     * Adds the given rules to the dispatch tables. Must be called before the engine is used.
+     *
+     * @param rules the rules of a Jakarta specification
+     * @return this engine
+     */
+    public JakartaRuleEngine addRules(List<JakartaRule> rules) {
+        for (JakartaRule rule : rules) {
+            String trigger = rule.getTrigger();
+            if (rule.appliesTo(JakartaRule.ElementKind.METHOD_CALL)) {
+                String methodName = getSimpleName(trigger);
+                methodCallRules.computeIfAbsent(methodName, k -> new ArrayList<>()).add(rule);
+                continue;
+            }
+            List<JakartaRule> triggered = annotationRules.computeIfAbsent(trigger, k -> new ArrayList<>());
+            if (triggered.isEmpty()) {
+                annotationSimpleNames.computeIfAbsent(getSimpleName(trigger), k -> new ArrayList<>()).add(trigger);
+            }
+            triggered.add(rule);
+        }
+        return this;
+    }
+
+    @Override
+    public void collectDiagnostics(PsiJavaFile unit, List<Diagnostic> diagnostics) {
+        if (unit == null || (annotationRules.isEmpty() && methodCallRules.isEmpty())) {
+            return;
+        }
+        // import checks of the simple annotation names, computed once per file
+        Map<String, Boolean> imported = new HashMap<>();
+        unit.accept(new JavaRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitAnnotation(PsiAnnotation annotation) {
+                super.visitAnnotation(annotation);
+                List<JakartaRule> rules = getAnnotationRules(unit, annotation.getQualifiedName(), imported);
+                if (rules == null) {
+                    return;
+                }
+                PsiElement element = getAnnotatedElement(annotation);
+                JakartaRule.ElementKind kind = getElementKind(element);
+                if (kind != null) {
+                    for (JakartaRule rule : rules) {
+                        if (rule.appliesTo(kind)) {
+                            evaluate(rule, element, annotation, diagnostics);
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public void visitMethodCallExpression(PsiMethodCallExpression expression) {
+                super.visitMethodCallExpression(expression);
+                List<JakartaRule> rules = methodCallRules.get(expression.getMethodExpression().getReferenceName());
+                if (rules == null) {
+                    return;
+                }
+                PsiMethod method = expression.resolveMethod();
+                PsiClass declaringClass = method != null ? method.getContainingClass() : null;
+                if (declaringClass == null) {
+                    return;
+                }
+                String methodFQName = declaringClass.getQualifiedName() + "." + method.getName();
+                for (JakartaRule rule : rules) {
+                    if (rule.getTrigger().equals(methodFQName)) {
+                        evaluate(rule, expression, expression, diagnostics);
+                    }
+                }
+            }
+        });
+    }
+
+    private List<JakartaRule> getAnnotationRules(PsiJavaFile unit, String annotationName, Map<String, Boolean> imported) {
+        if (annotationName == null) {
+            return null;
+        }
+        // resolved, or written with its fully qualified name
+        List<JakartaRule> rules = annotationRules.get(annotationName);
+        if (rules != null || annotationName.indexOf('.') != -1) {
+            return rules;
+        }
+        List<String> candidates = annotationSimpleNames.get(annotationName);
+        if (candidates == null) {
+            return null;
+        }
+        for (String annotationFQName : candidates) {
+            if (imported.computeIfAbsent(annotationFQName, fqName -> isImportedJavaElement(unit, fqName))) {
+                return annotationRules.get(annotationFQName);
+            }
+        }
+        return null;
+    }
+
+    private static PsiElement getAnnotatedElement(PsiAnnotation annotation) {
+        PsiElement parent = annotation.getParent();
+        return parent instanceof PsiModifierList ? parent.getParent() : null;
+    }
+
+    private static JakartaRule.ElementKind getElementKind(PsiElement element) {
+        if (element instanceof PsiPackageStatement) {
+            return JakartaRule.ElementKind.PACKAGE;
+        }
+        if (element instanceof PsiClass && !(element instanceof PsiTypeParameter)) {
+            return JakartaRule.ElementKind.TYPE;
+        }
+        if (element instanceof PsiMethod) {
+            return JakartaRule.ElementKind.METHOD;
+        }
+        if (element instanceof PsiField) {
+            return JakartaRule.ElementKind.FIELD;
+        }
+        if (element instanceof PsiParameter && ((PsiParameter) element).getDeclarationScope() instanceof PsiMethod) {
+            return JakartaRule.ElementKind.PARAMETER;
+        }
+        return null;
+    }
+
+    private static void evaluate(JakartaRule rule, PsiElement element, PsiElement trigger, List<Diagnostic> diagnostics) {
+        if (!rule.test(element, trigger)) {
+            return;
+        }
+        PsiElement target = rule.getTarget(element, trigger);
+        Diagnostic diagnostic = new Diagnostic(PositionUtils.toNameRange(target), rule.getMessage());
+        Object data = rule.getData(element, trigger);
+        if (data != null)
+            diagnostic.setData(data);
+        if (rule.getSource() != null)
+            diagnostic.setSource(rule.getSource());
+        if (rule.getCode() != null)
+            diagnostic.setCode(rule.getCode());
+        diagnostic.setSeverity(rule.getSeverity());
+        diagnostics.add(diagnostic);
+    }
+}
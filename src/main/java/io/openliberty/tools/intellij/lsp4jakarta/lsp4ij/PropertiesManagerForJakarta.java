@@ -18,25 +18,25 @@ import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.util.Computable;
-import com.intellij.openapi.util.ThrowableComputable;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
-import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.annotations.AnnotationDiagnosticsCollector;
-import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.beanvalidation.BeanValidationDiagnosticsCollector;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.annotations.AnnotationRules;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.beanvalidation.BeanValidationRules;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.cdi.InjectionPointDiagnosticsCollector;
 import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.cdi.ManagedBeanDiagnosticsCollector;
 import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.codeAction.JakartaCodeActionHandler;
 import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.di.DependencyInjectionDiagnosticsCollector;
 import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.jax_rs.Jax_RSClassDiagnosticsCollector;
 import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.jax_rs.ResourceMethodDiagnosticsCollector;
 import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.jsonb.JsonbDiagnosticsCollector;
-import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.jsonp.JsonpDiagnosticCollector;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.jsonp.JsonpRules;
 import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.persistence.PersistenceEntityDiagnosticsCollector;
 import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.persistence.PersistenceMapKeyDiagnosticsCollector;
-import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.servlet.FilterDiagnosticsCollector;
-import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.servlet.ListenerDiagnosticsCollector;
-import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.servlet.ServletDiagnosticsCollector;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.servlet.ServletRules;
 import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.websocket.WebSocketDiagnosticsCollector;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.websocket.WebSocketRules;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.diagnostics.JavaDiagnosticsBatch;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.IPsiUtils;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.core.ls.PsiUtilsLSImpl;
 import org.eclipse.lsp4j.*;
@@ -46,7 +46,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -68,20 +67,22 @@ public class PropertiesManagerForJakarta {
     private JakartaCodeActionHandler codeActionHandler = new JakartaCodeActionHandler();
 
     private PropertiesManagerForJakarta() {
-        diagnosticsCollectors.add(new ServletDiagnosticsCollector());
-        diagnosticsCollectors.add(new AnnotationDiagnosticsCollector());
-        diagnosticsCollectors.add(new FilterDiagnosticsCollector());
-        diagnosticsCollectors.add(new ListenerDiagnosticsCollector());
-        diagnosticsCollectors.add(new BeanValidationDiagnosticsCollector());
         diagnosticsCollectors.add(new PersistenceEntityDiagnosticsCollector());
         diagnosticsCollectors.add(new PersistenceMapKeyDiagnosticsCollector());
         diagnosticsCollectors.add(new ResourceMethodDiagnosticsCollector());
         diagnosticsCollectors.add(new Jax_RSClassDiagnosticsCollector());
         diagnosticsCollectors.add(new JsonbDiagnosticsCollector());
         diagnosticsCollectors.add(new ManagedBeanDiagnosticsCollector());
+        diagnosticsCollectors.add(new InjectionPointDiagnosticsCollector());
         diagnosticsCollectors.add(new DependencyInjectionDiagnosticsCollector());
-        diagnosticsCollectors.add(new JsonpDiagnosticCollector());
         diagnosticsCollectors.add(new WebSocketDiagnosticsCollector());
+        // declarative checks, evaluated in one traversal of the file
+        diagnosticsCollectors.add(new JakartaRuleEngine()
+                .addRules(AnnotationRules.RULES)
+                .addRules(BeanValidationRules.RULES)
+                .addRules(JsonpRules.RULES)
+                .addRules(ServletRules.RULES)
+                .addRules(WebSocketRules.RULES));
         codeActionHandler = new JakartaCodeActionHandler();
     }
 
@@ -97,36 +98,33 @@ public class PropertiesManagerForJakarta {
         if (uris == null) {
             return Collections.emptyList();
         }
-        DocumentFormat documentFormat = params.getDocumentFormat();
-        List<PublishDiagnosticsParams> publishDiagnostics = new ArrayList<PublishDiagnosticsParams>();
-        for (String uri : uris) {
-            List<Diagnostic> diagnostics = new ArrayList<>();
-            PublishDiagnosticsParams publishDiagnostic = new PublishDiagnosticsParams(uri, diagnostics);
-            publishDiagnostics.add(publishDiagnostic);
-            collectDiagnostics(uri, utils, documentFormat, diagnostics);
-        }
-        return publishDiagnostics;
+        return JavaDiagnosticsBatch.collect(uris, utils, getDiagnosticsCollector());
     }
 
-    private void collectDiagnostics(String uri, IPsiUtils utils, DocumentFormat documentFormat, List<Diagnostic> diagnostics) {
-        PsiFile typeRoot = ApplicationManager.getApplication().runReadAction((Computable<PsiFile>) () -> resolveTypeRoot(uri, utils));
-        if (typeRoot == null) {
-            return;
-        }
+    /**
+     * Returns the collector of the Jakarta diagnostics of the files of a module, shared by the diagnostics requests
+     * of the language server and by the validation of a whole module.
+     *
+     * @return the collector of the Jakarta diagnostics
+     */
+    public JavaDiagnosticsBatch.ModuleDiagnosticsCollector<List<DiagnosticsCollector>> getDiagnosticsCollector() {
+        return new JavaDiagnosticsBatch.ModuleDiagnosticsCollector<List<DiagnosticsCollector>>() {
+            @Override
+            public List<DiagnosticsCollector> prepare(Module module, String uri, PsiFile typeRoot) {
+                return diagnosticsCollectors;
+            }
 
-        try {
-            if (typeRoot instanceof PsiJavaFile) {
-                Module module = ApplicationManager.getApplication().runReadAction((ThrowableComputable<Module, IOException>) () -> utils.getModule(uri));
-                DumbService.getInstance(module.getProject()).runReadActionInSmartMode(() -> {
+            @Override
+            public void collect(List<DiagnosticsCollector> collectors, Module module, String uri, PsiFile typeRoot,
+                                List<Diagnostic> diagnostics) {
+                if (typeRoot instanceof PsiJavaFile) {
                     PsiJavaFile unit = (PsiJavaFile) typeRoot;
-                    for (DiagnosticsCollector collector : diagnosticsCollectors) {
+                    for (DiagnosticsCollector collector : collectors) {
                         collector.collectDiagnostics(unit, diagnostics);
                     }
-                });
+                }
             }
-        } catch (IOException e) {
-            LOGGER.warn(e.getLocalizedMessage(), e);
-        }
+        };
     }
 
     /**
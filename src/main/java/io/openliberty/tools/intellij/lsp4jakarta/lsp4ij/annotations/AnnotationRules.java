@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2021, 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.annotations;
+
+import static io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JakartaRule.ElementKind.*;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiType;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.AnnotationUtil;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JakartaRule;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.Messages;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+
+/**
+ *
+ * jararta.annotation Diagnostics
+ *
+ * <li>Diagnostic 1: @Generated 'date' attribute does not follow ISO 8601.</li>
+ * <li>Diagnostic 2: @Resource 'name' attribute missing (when annotation is used
+ * on a class).</li>
+ * <li>Diagnostic 3: @Resource 'type' attribute missing (when annotation is used
+ * on a class).</li>
+ * <li>Diagnostic 4: @PostConstruct method has parameters.</li>
+ * <li>Diagnostic 5: @PostConstruct method is not void.</li>
+ * <li>Diagnostic 6: @PostConstruct method throws checked exception(s).</li>
+ * <li>Diagnostic 7: @PreDestroy method has parameters.</li>
+ * <li>Diagnostic 8: @PreDestroy method is static.</li>
+ * <li>Diagnostic 9: @PreDestroy method throws checked exception(s).</li>
+ *
+ * @see <a href="https://jakarta.ee/specifications/annotations/2.0/annotations-spec-2.0.html#annotations">...</a>
+ *
+ */
+public class AnnotationRules {
+
+    private static final Pattern ISO_8601 = Pattern.compile(AnnotationConstants.ISO_8601_REGEX);
+
+    private static final String SOURCE = AnnotationConstants.DIAGNOSTIC_SOURCE;
+
+    public static final List<JakartaRule> RULES = List.of(
+            JakartaRule.onAnnotation(SOURCE, AnnotationConstants.GENERATED_FQ_NAME, PACKAGE, TYPE, METHOD, FIELD, PARAMETER)
+                    .when((element, annotation) -> {
+                        // If date element exists and is non-empty, it must follow ISO 8601 format.
+                        String date = AnnotationUtil.getAttributeLiteralValue((PsiAnnotation) annotation, "date");
+                        return date != null && !date.isEmpty() && !ISO_8601.matcher(date).matches();
+                    })
+                    .report(AnnotationConstants.DIAGNOSTIC_CODE_DATE_FORMAT,
+                            Messages.getMessage("AnnotationMustDefineAttributeFollowing8601", "@Generated", "date"))
+                    .build(),
+
+            JakartaRule.onAnnotation(SOURCE, AnnotationConstants.RESOURCE_FQ_NAME, TYPE)
+                    .when((type, annotation) -> !AnnotationUtil.hasAttribute((PsiAnnotation) annotation, "name"))
+                    .report(AnnotationConstants.DIAGNOSTIC_CODE_MISSING_RESOURCE_NAME_ATTRIBUTE,
+                            Messages.getMessage("AnnotationMustDefineAttribute", "@Resource", "name"))
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, AnnotationConstants.RESOURCE_FQ_NAME, TYPE)
+                    .when((type, annotation) -> !AnnotationUtil.hasAttribute((PsiAnnotation) annotation, "type"))
+                    .report(AnnotationConstants.DIAGNOSTIC_CODE_MISSING_RESOURCE_TYPE_ATTRIBUTE,
+                            Messages.getMessage("AnnotationMustDefineAttribute", "@Resource", "type"))
+                    .build(),
+
+            JakartaRule.onAnnotation(SOURCE, AnnotationConstants.POST_CONSTRUCT_FQ_NAME, METHOD)
+                    .when((method, annotation) -> ((PsiMethod) method).getParameterList().getParametersCount() != 0)
+                    .report(AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_PARAMS,
+                            generateDiagnosticMethod("PostConstruct", "not have any parameters."))
+                    .on(JakartaRule.Target.ELEMENT)
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, AnnotationConstants.POST_CONSTRUCT_FQ_NAME, METHOD)
+                    .when((method, annotation) -> !PsiType.VOID.equals(((PsiMethod) method).getReturnType()))
+                    .report(AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_RETURN_TYPE,
+                            generateDiagnosticMethod("PostConstruct", "be void."))
+                    .on(JakartaRule.Target.ELEMENT)
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, AnnotationConstants.POST_CONSTRUCT_FQ_NAME, METHOD)
+                    .when((method, annotation) -> ((PsiMethod) method).getThrowsTypes().length != 0)
+                    .report(AnnotationConstants.DIAGNOSTIC_CODE_POSTCONSTRUCT_EXCEPTION,
+                            generateDiagnosticMethod("PostConstruct", "not throw checked exceptions."))
+                    .severity(DiagnosticSeverity.Warning)
+                    .on(JakartaRule.Target.ELEMENT)
+                    .build(),
+
+            JakartaRule.onAnnotation(SOURCE, AnnotationConstants.PRE_DESTROY_FQ_NAME, METHOD)
+                    .when((method, annotation) -> ((PsiMethod) method).getParameterList().getParametersCount() != 0)
+                    .report(AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_PARAMS,
+                            generateDiagnosticMethod("PreDestroy", "not have any parameters."))
+                    .on(JakartaRule.Target.ELEMENT)
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, AnnotationConstants.PRE_DESTROY_FQ_NAME, METHOD)
+                    .when((method, annotation) -> ((PsiMethod) method).hasModifierProperty(PsiModifier.STATIC))
+                    .report(AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_STATIC,
+                            generateDiagnosticMethod("PreDestroy", "not be static."))
+                    .on(JakartaRule.Target.ELEMENT)
+                    .data((method, annotation) -> ((PsiMethod) method).getName())
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, AnnotationConstants.PRE_DESTROY_FQ_NAME, METHOD)
+                    .when((method, annotation) -> ((PsiMethod) method).getThrowsTypes().length != 0)
+                    .report(AnnotationConstants.DIAGNOSTIC_CODE_PREDESTROY_EXCEPTION,
+                            generateDiagnosticMethod("PreDestroy", "not throw checked exceptions."))
+                    .severity(DiagnosticSeverity.Warning)
+                    .on(JakartaRule.Target.ELEMENT)
+                    .build());
+
+    private AnnotationRules() {
+    }
+
+    private static String generateDiagnosticMethod(String annotation, String message) {
+        return "A method with the annotation @" + annotation + " must " + message;
+    }
+}
@@ -26,7 +26,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Quick fix for AnnotationDiagnosticsCollector that changes the return type of a method to void.
+ * Quick fix for the AnnotationRules diagnostic that changes the return type of a method to void.
  * Uses ModifyReturnTypeProposal.
  *
  * @author Yijia Jing
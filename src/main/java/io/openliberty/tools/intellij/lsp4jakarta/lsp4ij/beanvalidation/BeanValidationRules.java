@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2020, 2023 IBM Corporation, Reza Akhavan and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation, Reza Akhavan - initial API and implementation
+ *******************************************************************************/
+
+package io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.beanvalidation;
+
+import static io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JakartaRule.ElementKind.FIELD;
+import static io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JakartaRule.ElementKind.METHOD;
+import static io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.beanvalidation.BeanValidationConstants.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiPredicate;
+
+import com.intellij.psi.*;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.AbstractDiagnosticsCollector;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JakartaRule;
+
+/**
+ * jakarta.validation Diagnostics
+ *
+ * <li>Diagnostic 1: a constraint annotation is used on a static field or method.</li>
+ * <li>Diagnostic 2: a constraint annotation is used on a field or a method whose type isn't supported by the
+ * constraint.</li>
+ *
+ * The message of a diagnostic depends on whether the annotated element is a field or a method, so each check is
+ * declared once for each kind.
+ */
+public class BeanValidationRules {
+
+    private static final String NUMBER_TYPES = "\n- byte, short, int, long (and their respective wrappers) \n type ";
+
+    public static final List<JakartaRule> RULES = createRules();
+
+    private BeanValidationRules() {
+    }
+
+    private static List<JakartaRule> createRules() {
+        List<JakartaRule> rules = new ArrayList<>();
+        for (String annotation : SET_OF_ANNOTATIONS) {
+            addStaticRules(rules, annotation);
+        }
+
+        for (String annotation : List.of(ASSERT_FALSE, ASSERT_TRUE)) {
+            addTypeRules(rules, annotation, " boolean and Boolean type ",
+                    (element, type) -> type.equals(PsiType.BOOLEAN));
+        }
+        for (String annotation : List.of(DECIMAL_MAX, DECIMAL_MIN, DIGITS)) {
+            addTypeRules(rules, annotation, ": \n- BigDecimal \n- BigInteger \n- CharSequence" + NUMBER_TYPES,
+                    (element, type) -> isBigNumber(type) || type.getCanonicalText().endsWith(CHAR_SEQUENCE)
+                            || isIntegral(type));
+        }
+        for (String annotation : List.of(EMAIL, NOT_BLANK, PATTERN)) {
+            addTypeRules(rules, annotation, " String and CharSequence type ",
+                    (element, type) -> type.getCanonicalText().endsWith(STRING)
+                            || type.getCanonicalText().endsWith(CHAR_SEQUENCE));
+        }
+        for (String annotation : List.of(FUTURE, FUTURE_OR_PRESENT, PAST, PAST_OR_PRESENT)) {
+            addTypeRules(rules, annotation, ": Date, Calendar, Instant, "
+                            + "LocalDate, LocalDateTime, LocalTime, MonthDay, OffsetDateTime, "
+                            + "OffsetTime, Year, YearMonth, ZonedDateTime, "
+                            + "HijrahDate, JapaneseDate, JapaneseDate, MinguoDate and "
+                            + "ThaiBuddhistDate type ",
+                    BeanValidationRules::isDateType);
+        }
+        for (String annotation : List.of(MIN, MAX)) {
+            addTypeRules(rules, annotation, " \n- BigDecimal \n- BigInteger" + NUMBER_TYPES,
+                    (element, type) -> isBigNumber(type) || isIntegral(type));
+        }
+        for (String annotation : List.of(NEGATIVE, NEGATIVE_OR_ZERO, POSITIVE, POSTIVE_OR_ZERO)) {
+            addTypeRules(rules, annotation, " \n- BigDecimal \n- BigInteger"
+                            + "\n- byte, short, int, long, float, double (and their respective wrappers) \n type ",
+                    (element, type) -> isBigNumber(type) || isIntegral(type) || type.equals(PsiType.FLOAT)
+                            || type.equals(PsiType.DOUBLE));
+        }
+        // the types of @NotEmpty and @Size need the collection types to be resolved, they aren't checked
+        return Collections.unmodifiableList(rules);
+    }
+
+    private static void addStaticRules(List<JakartaRule> rules, String annotation) {
+        // have to use different 'source' here to pass tests for build
+        rules.add(staticRule(annotation, FIELD, "fields"));
+        rules.add(staticRule(annotation, METHOD, "methods"));
+    }
+
+    private static JakartaRule staticRule(String annotation, JakartaRule.ElementKind kind, String source) {
+        return JakartaRule.onAnnotation(DIAGNOSTIC_SOURCE, annotation, kind)
+                .when((element, trigger) -> isStatic(element))
+                .report(DIAGNOSTIC_CODE_STATIC, "Constraint annotations are not allowed on static " + source)
+                .on(JakartaRule.Target.ELEMENT)
+                .data((element, trigger) -> ((PsiAnnotation) trigger).getQualifiedName())
+                .build();
+    }
+
+    /**
+     * Adds the rules reporting the fields and the methods annotated with the given constraint annotation whose type
+     * isn't valid. The static elements are only reported by the static rules.
+     */
+    private static void addTypeRules(List<JakartaRule> rules, String annotation, String validTypes,
+                                     BiPredicate<PsiElement, PsiType> isValidType) {
+        rules.add(typeRule(annotation, FIELD, validTypes + "fields.", isValidType));
+        rules.add(typeRule(annotation, METHOD, validTypes + "methods.", isValidType));
+    }
+
+    private static JakartaRule typeRule(String annotation, JakartaRule.ElementKind kind, String validTypes,
+                                        BiPredicate<PsiElement, PsiType> isValidType) {
+        String simpleName = annotation.substring(annotation.lastIndexOf('.') + 1);
+        return JakartaRule.onAnnotation(DIAGNOSTIC_SOURCE, annotation, kind)
+                .when((element, trigger) -> {
+                    if (isStatic(element)) {
+                        return false;
+                    }
+                    PsiType type = getType(element);
+                    return type != null && !isValidType.test(element, type);
+                })
+                .report(DIAGNOSTIC_CODE_INVALID_TYPE,
+                        "The @" + simpleName + " annotation can only be used on" + validTypes)
+                .on(JakartaRule.Target.ELEMENT)
+                .data((element, trigger) -> ((PsiAnnotation) trigger).getQualifiedName())
+                .build();
+    }
+
+    private static boolean isStatic(PsiElement element) {
+        return ((PsiModifierListOwner) element).hasModifierProperty(PsiModifier.STATIC);
+    }
+
+    /**
+     * Returns the type of the field or the return type of the method, unboxed, or null for a constructor.
+     */
+    private static PsiType getType(PsiElement element) {
+        PsiType type = element instanceof PsiMethod ? ((PsiMethod) element).getReturnType()
+                : ((PsiField) element).getType();
+        if (type instanceof PsiClassType) {
+            PsiType t = PsiPrimitiveType.getUnboxedType(type);
+            if (t != null) {
+                type = t;
+            }
+        }
+        return type;
+    }
+
+    private static boolean isBigNumber(PsiType type) {
+        return type.getCanonicalText().endsWith(BIG_DECIMAL) || type.getCanonicalText().endsWith(BIG_INTEGER);
+    }
+
+    private static boolean isIntegral(PsiType type) {
+        return type.equals(PsiType.BYTE) || type.equals(PsiType.SHORT) || type.equals(PsiType.INT)
+                || type.equals(PsiType.LONG);
+    }
+
+    private static boolean isDateType(PsiElement element, PsiType type) {
+        String dataType = type.getCanonicalText();
+        if (SET_OF_DATE_TYPES.contains(dataType)) {
+            return true;
+        }
+        // a simple name, when the type can't be resolved
+        PsiFile file = element.getContainingFile();
+        if (!(file instanceof PsiJavaFile)) {
+            return false;
+        }
+        for (String fqName : SET_OF_DATE_TYPES) {
+            if (fqName.endsWith("." + dataType)) {
+                return AbstractDiagnosticsCollector.isImportedJavaElement((PsiJavaFile) file, fqName);
+            }
+        }
+        return false;
+    }
+}
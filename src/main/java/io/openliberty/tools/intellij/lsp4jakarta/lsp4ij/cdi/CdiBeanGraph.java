@@ -0,0 +1,956 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.cdi;
+
+import static io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.cdi.ManagedBeanConstants.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.intellij.ProjectTopics;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.project.ModuleListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.libraries.Library;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.AnnotatedElementsSearch;
+import com.intellij.psi.util.InheritanceUtil;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.TypeConversionUtil;
+import com.intellij.util.messages.MessageBusConnection;
+import io.openliberty.tools.intellij.lsp4mp.MicroProfileProjectService;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.PsiTypeUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The CDI beans of each module (bean types, qualifiers, scope) declared by the managed bean classes and the producer
+ * methods and fields, so that the injection points of a file can be resolved against the beans of the whole module
+ * and of the modules it depends on without searching them on every request.
+ *
+ * The graph of a module is built on first use from the annotation index (only the files declaring a bean-defining
+ * annotation or a producer are parsed) or from all its Java files in the "all" discovery mode. Then the files changed
+ * since the last request, known from the PSI change events, are scanned again before the graph is queried. The bean
+ * types and the proxyability of a bean depend on its supertypes, and the classification of its annotations on their
+ * declarations, so the graph is built again when a changed file declares a supertype of a bean or an annotation type.
+ */
+@Service
+public final class CdiBeanGraph {
+
+    public static CdiBeanGraph getInstance(Project project) {
+        return project.getService(CdiBeanGraph.class);
+    }
+
+    private static final String BEANS_XML = "beans.xml";
+    private static final String OBJECT_FQ_NAME = "java.lang.Object";
+    private static final Pattern BEAN_DISCOVERY_MODE = Pattern.compile("bean-discovery-mode\\s*=\\s*[\"'](\\w+)[\"']");
+
+    /**
+     * A managed bean class, or a producer method or field.
+     */
+    public static final class Bean {
+        private final String name;
+        private final Set<String> types;
+        private final Set<String> qualifiers;
+        private final String scope;
+        private final boolean normalScoped;
+        private final boolean alternative;
+        private final boolean prioritized;
+        private final boolean proxyable;
+
+        private Bean(String name, Set<String> types, Set<String> qualifiers, String scope, boolean normalScoped,
+                     boolean alternative, boolean prioritized, boolean proxyable) {
+            this.name = name;
+            this.types = types;
+            this.qualifiers = qualifiers;
+            this.scope = scope;
+            this.normalScoped = normalScoped;
+            this.alternative = alternative;
+            this.prioritized = prioritized;
+            this.proxyable = proxyable;
+        }
+
+        /**
+         * Returns the fully qualified name of the bean class, or of the producer (Class#member).
+         */
+        public String getName() {
+            return name;
+        }
+
+        public String getScope() {
+            return scope;
+        }
+
+        /**
+         * Returns true if the scope of the bean is a built-in normal scope or a scope annotated with @NormalScope.
+         */
+        public boolean isNormalScoped() {
+            return normalScoped;
+        }
+
+        public boolean isAlternative() {
+            return alternative;
+        }
+
+        /**
+         * Returns true for an alternative enabled for the application with @Priority.
+         */
+        public boolean isPrioritized() {
+            return prioritized;
+        }
+
+        public boolean isProxyable() {
+            return proxyable;
+        }
+
+        private boolean matches(InjectionPoint injectionPoint) {
+            return types.contains(injectionPoint.type) && qualifiers.containsAll(injectionPoint.qualifiers);
+        }
+    }
+
+    /**
+     * An injected field or a parameter of a bean constructor, an initializer method or a producer method.
+     */
+    public static final class InjectionPoint {
+        private final PsiVariable element;
+        private final String type;
+        private final Set<String> qualifiers;
+        private final boolean parameterized;
+        private final boolean sourceDeclared;
+
+        private InjectionPoint(PsiVariable element, String type, Set<String> qualifiers, boolean parameterized,
+                               boolean sourceDeclared) {
+            this.element = element;
+            this.type = type;
+            this.qualifiers = qualifiers;
+            this.parameterized = parameterized;
+            this.sourceDeclared = sourceDeclared;
+        }
+
+        public PsiVariable getElement() {
+            return element;
+        }
+
+        /**
+         * Returns the erasure of the required type.
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Returns true if the required type is a parameterized type, or the raw type of a generic class. The beans
+         * are matched by erasure, so the beans resolved for such an injection point may not be assignable to it, and
+         * a bean which isn't resolved may still have an assignable parameterized bean type.
+         */
+        public boolean isParameterized() {
+            return parameterized;
+        }
+
+        /**
+         * Returns true if the required type and qualifiers are declared in the project sources without any annotation
+         * from a library, only then the beans which may satisfy the injection point are all known to the graph (they
+         * can't be added by a portable extension).
+         */
+        public boolean isSourceDeclared() {
+            return sourceDeclared;
+        }
+    }
+
+    private enum AnnotationKind {
+        NORMAL_SCOPE, PSEUDO_SCOPE, STEREOTYPE, QUALIFIER, OTHER
+    }
+
+    /**
+     * Classifies the annotations by their meta-annotations, resolved once per scan.
+     */
+    private static class AnnotationKinds {
+        private final Map<String, AnnotationKind> kinds = new HashMap<>();
+        // members of the qualifiers which aren't annotated with @Nonbinding, null for an unresolved qualifier
+        private final Map<String, List<PsiAnnotationMethod>> bindingMembers = new HashMap<>();
+        // source files declaring the resolved annotation types
+        private final Set<VirtualFile> declaringFiles = new HashSet<>();
+
+        private AnnotationKind get(PsiAnnotation annotation) {
+            String annotationName = annotation.getQualifiedName();
+            if (annotationName == null) {
+                return AnnotationKind.OTHER;
+            }
+            AnnotationKind kind = kinds.get(annotationName);
+            if (kind == null) {
+                kind = resolve(annotation, annotationName);
+                kinds.put(annotationName, kind);
+            }
+            return kind;
+        }
+
+        private AnnotationKind resolve(PsiAnnotation annotation, String annotationName) {
+            if (NORMAL_SCOPE_FQ_NAMES.contains(annotationName)) {
+                return AnnotationKind.NORMAL_SCOPE;
+            }
+            if (DEPENDENT_FQ_NAME.equals(annotationName) || SINGLETON_FQ_NAME.equals(annotationName)) {
+                return AnnotationKind.PSEUDO_SCOPE;
+            }
+            if (NAMED_FQ_NAME.equals(annotationName) || DEFAULT_FQ_NAME.equals(annotationName)
+                    || ANY_FQ_NAME.equals(annotationName)) {
+                return AnnotationKind.QUALIFIER;
+            }
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            PsiElement annotationType = reference != null ? reference.resolve() : null;
+            if (!(annotationType instanceof PsiClass)) {
+                return AnnotationKind.OTHER;
+            }
+            PsiClass annotationClass = (PsiClass) annotationType;
+            addSourceFile(annotationClass, declaringFiles);
+            if (annotationClass.hasAnnotation(NORMAL_SCOPE_FQ_NAME)) {
+                return AnnotationKind.NORMAL_SCOPE;
+            }
+            if (annotationClass.hasAnnotation(SCOPE_FQ_NAME)) {
+                return AnnotationKind.PSEUDO_SCOPE;
+            }
+            if (annotationClass.hasAnnotation(STEREOTYPE_FQ_NAME)) {
+                return AnnotationKind.STEREOTYPE;
+            }
+            if (annotationClass.hasAnnotation(QUALIFIER_FQ_NAME)) {
+                return AnnotationKind.QUALIFIER;
+            }
+            return AnnotationKind.OTHER;
+        }
+
+        @Nullable
+        private List<PsiAnnotationMethod> getBindingMembers(PsiAnnotation annotation, String annotationName) {
+            if (bindingMembers.containsKey(annotationName)) {
+                return bindingMembers.get(annotationName);
+            }
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            PsiElement annotationType = reference != null ? reference.resolve() : null;
+            List<PsiAnnotationMethod> members = null;
+            if (annotationType instanceof PsiClass) {
+                members = new ArrayList<>();
+                for (PsiMethod method : ((PsiClass) annotationType).getMethods()) {
+                    if (method instanceof PsiAnnotationMethod && !method.hasAnnotation(NONBINDING_FQ_NAME)) {
+                        members.add((PsiAnnotationMethod) method);
+                    }
+                }
+            }
+            bindingMembers.put(annotationName, members);
+            return members;
+        }
+    }
+
+    private static class ModuleGraph {
+        private final Map<VirtualFile, List<Bean>> beansByFile = new HashMap<>();
+        private final Map<String, List<Bean>> beansByType = new HashMap<>();
+        // files changed since the last request, scanned again before the next one
+        private final Set<VirtualFile> changedFiles = ConcurrentHashMap.newKeySet();
+        // source files declaring the supertypes of the beans and the annotation types, other than the files of the
+        // beans themselves. Only grows until the graph is built again.
+        private final Set<VirtualFile> dependencies = new HashSet<>();
+        private boolean initialized;
+        private boolean discoverAll;
+
+        private void put(VirtualFile file, List<Bean> beans) {
+            List<Bean> previous = beans.isEmpty() ? beansByFile.remove(file) : beansByFile.put(file, beans);
+            if (previous != null) {
+                for (Bean bean : previous) {
+                    for (String type : bean.types) {
+                        List<Bean> typed = beansByType.get(type);
+                        if (typed != null) {
+                            typed.remove(bean);
+                            if (typed.isEmpty()) {
+                                beansByType.remove(type);
+                            }
+                        }
+                    }
+                }
+            }
+            for (Bean bean : beans) {
+                for (String type : bean.types) {
+                    beansByType.computeIfAbsent(type, t -> new ArrayList<>()).add(bean);
+                }
+            }
+        }
+    }
+
+    private final Project project;
+    private final Map<Module, ModuleGraph> modules = new ConcurrentHashMap<>();
+
+    private class BeanGraphListener extends PsiTreeChangeAdapter implements MicroProfileProjectService.Listener,
+            ModuleRootListener, ModuleListener {
+        @Override
+        public void childAdded(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        @Override
+        public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        @Override
+        public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        @Override
+        public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        @Override
+        public void childMoved(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        @Override
+        public void propertyChanged(@NotNull PsiTreeChangeEvent event) {
+            changed(event);
+        }
+
+        @Override
+        public void libraryUpdated(Library library) {
+            // the qualifiers and stereotypes may come from the libraries
+            modules.clear();
+        }
+
+        @Override
+        public void sourceUpdated(List<Pair<Module, VirtualFile>> sources) {
+            // the changed files are known from the PSI events
+        }
+
+        @Override
+        public void rootsChanged(@NotNull ModuleRootEvent event) {
+            modules.clear();
+        }
+
+        @Override
+        public void moduleRemoved(@NotNull Project project, @NotNull Module module) {
+            modules.remove(module);
+        }
+
+        private void changed(PsiTreeChangeEvent event) {
+            if (modules.isEmpty()) {
+                return;
+            }
+            PsiFile file = event.getFile();
+            if (file == null) {
+                // Java files or directories have been added, removed, renamed or moved: they may declare the
+                // supertypes or the annotations of beans which were not resolved
+                modules.clear();
+                return;
+            }
+            if (BEANS_XML.equals(file.getName())) {
+                // the discovery mode may have changed
+                modules.clear();
+            } else if (file instanceof PsiJavaFile) {
+                fileChanged(file.getVirtualFile());
+            }
+        }
+
+        private void fileChanged(@Nullable VirtualFile file) {
+            if (file != null) {
+                // cheap on every keystroke, the file is matched with the module scope when scanned again
+                for (ModuleGraph graph : modules.values()) {
+                    graph.changedFiles.add(file);
+                }
+            }
+        }
+    }
+
+    private CdiBeanGraph(Project project) {
+        this.project = project;
+        BeanGraphListener listener = new BeanGraphListener();
+        PsiManager.getInstance(project).addPsiTreeChangeListener(listener, project);
+        MessageBusConnection connection = project.getMessageBus().connect(project);
+        connection.subscribe(MicroProfileProjectService.TOPIC, listener);
+        connection.subscribe(ProjectTopics.PROJECT_ROOTS, listener);
+        connection.subscribe(ProjectTopics.MODULES, listener);
+    }
+
+    /**
+     * Returns the beans of the given module and of the modules it depends on which may be injected in the given
+     * injection point: their bean types contain its type and their qualifiers contain its qualifiers. Must be called
+     * in a read action, in smart mode.
+     *
+     * @param module         the module of the injection point
+     * @param injectionPoint the injection point
+     * @return the matching beans, including the alternatives
+     */
+    public List<Bean> resolve(@NotNull Module module, @NotNull InjectionPoint injectionPoint) {
+        Set<Module> visibleModules = new LinkedHashSet<>();
+        visibleModules.add(module);
+        ModuleUtilCore.getDependencies(module, visibleModules);
+        List<Bean> beans = new ArrayList<>();
+        for (Module visibleModule : visibleModules) {
+            ModuleGraph graph = getModuleGraph(visibleModule);
+            synchronized (graph) {
+                List<Bean> typed = graph.beansByType.get(injectionPoint.type);
+                if (typed != null) {
+                    for (Bean bean : typed) {
+                        if (bean.matches(injectionPoint)) {
+                            beans.add(bean);
+                        }
+                    }
+                }
+            }
+        }
+        return beans;
+    }
+
+    private ModuleGraph getModuleGraph(Module module) {
+        ModuleGraph graph = modules.computeIfAbsent(module, m -> new ModuleGraph());
+        synchronized (graph) {
+            if (!graph.initialized) {
+                build(module, graph);
+            } else if (!graph.changedFiles.isEmpty()) {
+                update(module, graph);
+            }
+        }
+        return graph;
+    }
+
+    private void build(Module module, ModuleGraph graph) {
+        graph.changedFiles.clear();
+        graph.beansByFile.clear();
+        graph.beansByType.clear();
+        graph.dependencies.clear();
+        graph.discoverAll = isDiscoveryModeAll(module);
+        AnnotationKinds kinds = new AnnotationKinds();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (VirtualFile file : getCandidateFiles(module, graph.discoverAll)) {
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile instanceof PsiJavaFile) {
+                graph.put(file, scan((PsiJavaFile) psiFile, kinds, graph.discoverAll, graph.dependencies));
+            }
+        }
+        graph.dependencies.addAll(kinds.declaringFiles);
+        graph.initialized = true;
+    }
+
+    private void update(Module module, ModuleGraph graph) {
+        List<VirtualFile> changedFiles = new ArrayList<>(graph.changedFiles);
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (VirtualFile file : changedFiles) {
+            PsiFile psiFile = file.isValid() ? psiManager.findFile(file) : null;
+            if (graph.dependencies.contains(file)
+                    || (psiFile instanceof PsiJavaFile && declaresAnnotationType((PsiJavaFile) psiFile))) {
+                // the bean types, the proxyability or the qualifiers of the beans of other files may have changed
+                build(module, graph);
+                return;
+            }
+        }
+        GlobalSearchScope scope = module.getModuleScope(false);
+        AnnotationKinds kinds = new AnnotationKinds();
+        for (VirtualFile file : changedFiles) {
+            PsiFile psiFile = file.isValid() && scope.contains(file) ? psiManager.findFile(file) : null;
+            List<Bean> beans = psiFile instanceof PsiJavaFile
+                    ? scan((PsiJavaFile) psiFile, kinds, graph.discoverAll, graph.dependencies)
+                    : Collections.emptyList();
+            graph.put(file, beans);
+            graph.changedFiles.remove(file);
+        }
+        graph.dependencies.addAll(kinds.declaringFiles);
+    }
+
+    private static boolean declaresAnnotationType(PsiJavaFile file) {
+        for (PsiClass type : PsiTreeUtil.findChildrenOfType(file, PsiClass.class)) {
+            if (type.isAnnotationType()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the files of the module which may declare a bean, found with the annotation index.
+     */
+    private Set<VirtualFile> getCandidateFiles(Module module, boolean discoverAll) {
+        GlobalSearchScope scope = module.getModuleScope(false);
+        if (discoverAll) {
+            return new HashSet<>(FileTypeIndex.getFiles(JavaFileType.INSTANCE, scope));
+        }
+        GlobalSearchScope classpath = module.getModuleWithDependenciesAndLibrariesScope(false);
+        JavaPsiFacade facade = JavaPsiFacade.getInstance(project);
+        Set<String> annotations = new HashSet<>(NORMAL_SCOPE_FQ_NAMES);
+        annotations.add(DEPENDENT_FQ_NAME);
+        annotations.add(SINGLETON_FQ_NAME);
+        annotations.add(PRODUCES_FQ_NAME);
+        // custom scopes and stereotypes declared in the module or in its dependencies
+        for (String metaAnnotation : List.of(NORMAL_SCOPE_FQ_NAME, SCOPE_FQ_NAME, STEREOTYPE_FQ_NAME)) {
+            PsiClass metaAnnotationClass = facade.findClass(metaAnnotation, classpath);
+            if (metaAnnotationClass != null) {
+                for (PsiClass annotationClass : AnnotatedElementsSearch.searchPsiClasses(metaAnnotationClass, classpath).findAll()) {
+                    if (annotationClass.isAnnotationType() && annotationClass.getQualifiedName() != null) {
+                        annotations.add(annotationClass.getQualifiedName());
+                    }
+                }
+            }
+        }
+        Set<VirtualFile> files = new HashSet<>();
+        for (String annotation : annotations) {
+            PsiClass annotationClass = facade.findClass(annotation, classpath);
+            if (annotationClass == null) {
+                continue;
+            }
+            for (PsiMember member : AnnotatedElementsSearch.searchPsiMembers(annotationClass, scope).findAll()) {
+                PsiFile file = member.getContainingFile();
+                if (file != null && file.getVirtualFile() != null) {
+                    files.add(file.getVirtualFile());
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Returns true if a beans.xml of the module selects the "all" discovery mode: every class with a suitable
+     * constructor is then a bean. An empty beans.xml selects it before CDI 4.0.
+     */
+    private static boolean isDiscoveryModeAll(Module module) {
+        boolean cdi4 = PsiTypeUtils.isOnClasspath(module, BUILD_COMPATIBLE_EXTENSION_FQ_NAME);
+        for (VirtualFile beansXml : FilenameIndex.getVirtualFilesByName(BEANS_XML, module.getModuleScope(false))) {
+            Matcher mode = BEAN_DISCOVERY_MODE.matcher(LoadTextUtil.loadText(beansXml));
+            if (mode.find() ? "all".equals(mode.group(1)) : !cdi4) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the beans declared in the given file, and adds the other source files their bean types and proxyability
+     * depend on to the given dependencies.
+     */
+    private static List<Bean> scan(PsiJavaFile file, AnnotationKinds kinds, boolean discoverAll,
+                                   Set<VirtualFile> dependencies) {
+        List<Bean> beans = new ArrayList<>();
+        Set<VirtualFile> fileDependencies = new HashSet<>();
+        for (PsiClass type : PsiTreeUtil.findChildrenOfType(file, PsiClass.class)) {
+            if (type instanceof PsiTypeParameter || type instanceof PsiAnonymousClass || type.getQualifiedName() == null
+                    || type.hasAnnotation(VETOED_FQ_NAME)) {
+                continue;
+            }
+            Bean bean = toClassBean(type, kinds, discoverAll, fileDependencies);
+            if (bean != null) {
+                beans.add(bean);
+            }
+            // producers are only declared by beans, but their class may be discovered by an extension
+            for (PsiMethod method : type.getMethods()) {
+                if (method.hasAnnotation(PRODUCES_FQ_NAME) && method.getReturnType() != null) {
+                    bean = toProducerBean(type, method, method.getReturnType(), getPropertyName(method), kinds,
+                            fileDependencies);
+                    if (bean != null) {
+                        beans.add(bean);
+                    }
+                }
+            }
+            for (PsiField field : type.getFields()) {
+                if (field.hasAnnotation(PRODUCES_FQ_NAME)) {
+                    bean = toProducerBean(type, field, field.getType(), field.getName(), kinds, fileDependencies);
+                    if (bean != null) {
+                        beans.add(bean);
+                    }
+                }
+            }
+        }
+        // the file itself is scanned again when it changes
+        fileDependencies.remove(file.getVirtualFile());
+        dependencies.addAll(fileDependencies);
+        return beans;
+    }
+
+    @Nullable
+    private static Bean toClassBean(PsiClass type, AnnotationKinds kinds, boolean discoverAll,
+                                    Set<VirtualFile> dependencies) {
+        if (type.isInterface() || type.isAnnotationType() || type.isEnum() || type.hasModifierProperty(PsiModifier.ABSTRACT)
+                || (type.getContainingClass() != null && !type.hasModifierProperty(PsiModifier.STATIC))) {
+            return null;
+        }
+        String scope = null;
+        boolean normalScoped = false;
+        boolean beanDefining = false;
+        for (PsiAnnotation annotation : type.getAnnotations()) {
+            AnnotationKind kind = kinds.get(annotation);
+            if (kind == AnnotationKind.NORMAL_SCOPE || kind == AnnotationKind.PSEUDO_SCOPE) {
+                scope = annotation.getQualifiedName();
+                normalScoped = kind == AnnotationKind.NORMAL_SCOPE;
+                beanDefining = true;
+            } else if (kind == AnnotationKind.STEREOTYPE) {
+                beanDefining = true;
+            }
+        }
+        if (!beanDefining && !(discoverAll && hasBeanConstructor(type))) {
+            return null;
+        }
+        String simpleName = type.getName();
+        String defaultName = Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+        Set<String> types = getTypedTypes(type);
+        if (types == null) {
+            types = getBeanTypes(type);
+        }
+        // the bean types and the proxyability depend on the supertypes
+        addSupertypeFiles(type, dependencies);
+        return new Bean(type.getQualifiedName(), types, getBeanQualifiers(type, defaultName, kinds),
+                scope != null ? scope : DEPENDENT_FQ_NAME, normalScoped, type.hasAnnotation(ALTERNATIVE_FQ_NAME),
+                type.hasAnnotation(ALTERNATIVE_FQ_NAME) && type.hasAnnotation(PRIORITY_FQ_NAME), isProxyable(type));
+    }
+
+    @Nullable
+    private static Bean toProducerBean(PsiClass declaringClass, PsiModifierListOwner producer, PsiType producedType,
+                                       String defaultName, AnnotationKinds kinds, Set<VirtualFile> dependencies) {
+        Set<String> types = getTypedTypes(producer);
+        PsiClass producedClass = producedType instanceof PsiClassType ? ((PsiClassType) producedType).resolve() : null;
+        if (types == null) {
+            if (producedType instanceof PsiPrimitiveType) {
+                types = new HashSet<>(List.of(producedType.getCanonicalText(),
+                        ((PsiPrimitiveType) producedType).getBoxedTypeName(), OBJECT_FQ_NAME));
+            } else if (producedType instanceof PsiArrayType) {
+                types = new HashSet<>(List.of(TypeConversionUtil.erasure(producedType).getCanonicalText(), OBJECT_FQ_NAME));
+            } else if (producedClass != null && !(producedClass instanceof PsiTypeParameter)) {
+                types = getBeanTypes(producedClass);
+            } else {
+                // a type variable or an unresolved type
+                return null;
+            }
+        }
+        String scope = null;
+        boolean normalScoped = false;
+        for (PsiAnnotation annotation : producer.getAnnotations()) {
+            AnnotationKind kind = kinds.get(annotation);
+            if (kind == AnnotationKind.NORMAL_SCOPE || kind == AnnotationKind.PSEUDO_SCOPE) {
+                scope = annotation.getQualifiedName();
+                normalScoped = kind == AnnotationKind.NORMAL_SCOPE;
+            }
+        }
+        boolean alternative = producer.hasAnnotation(ALTERNATIVE_FQ_NAME) || declaringClass.hasAnnotation(ALTERNATIVE_FQ_NAME);
+        boolean prioritized = alternative
+                && (producer.hasAnnotation(PRIORITY_FQ_NAME) || declaringClass.hasAnnotation(PRIORITY_FQ_NAME));
+        boolean proxyable = false;
+        if (producedClass != null && !(producedClass instanceof PsiTypeParameter)) {
+            addSourceFile(producedClass, dependencies);
+            addSupertypeFiles(producedClass, dependencies);
+            proxyable = isProxyable(producedClass);
+        }
+        return new Bean(declaringClass.getQualifiedName() + "#" + ((PsiNamedElement) producer).getName(), types,
+                getBeanQualifiers(producer, defaultName, kinds), scope != null ? scope : DEPENDENT_FQ_NAME,
+                normalScoped, alternative, prioritized, proxyable);
+    }
+
+    /**
+     * Returns the injection points declared in the given file. Must be called in a read action.
+     *
+     * @param file the Java file
+     * @return the injection points which don't have a built-in bean type
+     */
+    public static List<InjectionPoint> getInjectionPoints(@NotNull PsiJavaFile file) {
+        List<InjectionPoint> injectionPoints = new ArrayList<>();
+        AnnotationKinds kinds = new AnnotationKinds();
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(file.getProject());
+        for (PsiClass type : PsiTreeUtil.findChildrenOfType(file, PsiClass.class)) {
+            if (type instanceof PsiTypeParameter) {
+                continue;
+            }
+            for (PsiField field : type.getFields()) {
+                if (field.hasAnnotation(INJECT_FQ_NAME) && !field.hasModifierProperty(PsiModifier.STATIC)) {
+                    addInjectionPoint(field, field.getName(), kinds, fileIndex, injectionPoints);
+                }
+            }
+            for (PsiMethod method : type.getMethods()) {
+                if (method.hasAnnotation(INJECT_FQ_NAME) || method.hasAnnotation(PRODUCES_FQ_NAME)) {
+                    for (PsiParameter parameter : method.getParameterList().getParameters()) {
+                        // the event and disposed parameters aren't injected, see ManagedBeanDiagnosticsCollector
+                        if (!parameter.hasAnnotation(DISPOSES_FQ_NAME) && !parameter.hasAnnotation(OBSERVES_FQ_NAME)
+                                && !parameter.hasAnnotation(OBSERVES_ASYNC_FQ_NAME)) {
+                            addInjectionPoint(parameter, null, kinds, fileIndex, injectionPoints);
+                        }
+                    }
+                }
+            }
+        }
+        return injectionPoints;
+    }
+
+    private static void addInjectionPoint(PsiVariable variable, String defaultName, AnnotationKinds kinds,
+                                          ProjectFileIndex fileIndex, List<InjectionPoint> injectionPoints) {
+        PsiType type = variable.getType();
+        String requiredType;
+        boolean sourceDeclared = false;
+        if (type instanceof PsiPrimitiveType) {
+            requiredType = ((PsiPrimitiveType) type).getBoxedTypeName();
+        } else if (type instanceof PsiClassType) {
+            PsiClass requiredClass = ((PsiClassType) type).resolve();
+            if (requiredClass == null || requiredClass instanceof PsiTypeParameter) {
+                return;
+            }
+            requiredType = requiredClass.getQualifiedName();
+            sourceDeclared = isSourceDeclared(requiredClass, fileIndex);
+        } else {
+            requiredType = TypeConversionUtil.erasure(type).getCanonicalText();
+        }
+        boolean parameterized = isParameterized(type.getDeepComponentType());
+        if (requiredType == null || BUILT_IN_BEAN_TYPES.contains(requiredType)) {
+            return;
+        }
+        Set<String> qualifiers = new HashSet<>();
+        for (PsiAnnotation annotation : variable.getAnnotations()) {
+            if (kinds.get(annotation) == AnnotationKind.QUALIFIER) {
+                qualifiers.add(toQualifier(annotation, defaultName, kinds));
+                String annotationName = annotation.getQualifiedName();
+                if (!NAMED_FQ_NAME.equals(annotationName) && !DEFAULT_FQ_NAME.equals(annotationName)
+                        && !ANY_FQ_NAME.equals(annotationName)) {
+                    PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+                    PsiElement qualifier = reference != null ? reference.resolve() : null;
+                    sourceDeclared &= qualifier instanceof PsiClass && isSourceDeclared((PsiClass) qualifier, fileIndex);
+                }
+            }
+        }
+        if (qualifiers.isEmpty() || qualifiers.stream().allMatch(q -> q.startsWith("@" + NAMED_FQ_NAME))) {
+            qualifiers.add("@" + DEFAULT_FQ_NAME);
+        }
+        injectionPoints.add(new InjectionPoint(variable, requiredType, qualifiers, parameterized, sourceDeclared));
+    }
+
+    private static boolean isParameterized(PsiType type) {
+        if (!(type instanceof PsiClassType)) {
+            return false;
+        }
+        if (((PsiClassType) type).hasParameters()) {
+            return true;
+        }
+        PsiClass typeClass = ((PsiClassType) type).resolve();
+        return typeClass != null && typeClass.hasTypeParameters();
+    }
+
+    private static boolean isSourceDeclared(PsiClass type, ProjectFileIndex fileIndex) {
+        VirtualFile file = type.getContainingFile() != null ? type.getContainingFile().getVirtualFile() : null;
+        if (file == null || !fileIndex.isInSourceContent(file)) {
+            return false;
+        }
+        // a type annotated by a library (@RegisterRestClient...) may get its beans from an extension
+        for (PsiAnnotation annotation : type.getAnnotations()) {
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            PsiElement annotationType = reference != null ? reference.resolve() : null;
+            if (annotationType != null && annotationType.getContainingFile() != null
+                    && annotationType.getContainingFile().getVirtualFile() != null
+                    && !fileIndex.isInSourceContent(annotationType.getContainingFile().getVirtualFile())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> getBeanQualifiers(PsiModifierListOwner owner, String defaultName, AnnotationKinds kinds) {
+        Set<String> qualifiers = new HashSet<>();
+        for (PsiAnnotation annotation : owner.getAnnotations()) {
+            if (kinds.get(annotation) == AnnotationKind.QUALIFIER) {
+                qualifiers.add(toQualifier(annotation, defaultName, kinds));
+            }
+        }
+        if (qualifiers.stream().allMatch(q -> q.startsWith("@" + NAMED_FQ_NAME) || q.equals("@" + ANY_FQ_NAME))) {
+            qualifiers.add("@" + DEFAULT_FQ_NAME);
+        }
+        qualifiers.add("@" + ANY_FQ_NAME);
+        return qualifiers;
+    }
+
+    /**
+     * Returns the key of a qualifier: its name and the values of its members, the default values included and the
+     * members annotated with @Nonbinding excluded. @Named without a value gets the default name.
+     */
+    private static String toQualifier(PsiAnnotation annotation, @Nullable String defaultName, AnnotationKinds kinds) {
+        String annotationName = annotation.getQualifiedName();
+        Map<String, String> members = new TreeMap<>();
+        List<PsiAnnotationMethod> bindingMembers = kinds.getBindingMembers(annotation, annotationName);
+        if (bindingMembers != null) {
+            for (PsiAnnotationMethod member : bindingMembers) {
+                PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(member.getName());
+                if (value == null) {
+                    value = member.getDefaultValue();
+                }
+                if (value != null) {
+                    members.put(member.getName(), toQualifierValue(value));
+                }
+            }
+        } else {
+            // the members of an unresolved qualifier are only known from the annotation
+            for (PsiNameValuePair attribute : annotation.getParameterList().getAttributes()) {
+                if (attribute.getValue() != null) {
+                    members.put(attribute.getAttributeName(), toQualifierValue(attribute.getValue()));
+                }
+            }
+        }
+        if (NAMED_FQ_NAME.equals(annotationName) && defaultName != null
+                && members.getOrDefault("value", "").isEmpty()) {
+            members.put("value", defaultName);
+        }
+        if (members.isEmpty()) {
+            return "@" + annotationName;
+        }
+        StringBuilder qualifier = new StringBuilder("@").append(annotationName).append('(');
+        members.forEach((name, value) -> qualifier.append(name).append('=').append(value).append(','));
+        qualifier.setCharAt(qualifier.length() - 1, ')');
+        return qualifier.toString();
+    }
+
+    /**
+     * Returns the value of a qualifier member: the value of a constant, the qualified name of an enum constant, or
+     * the text of the value without spaces.
+     */
+    private static String toQualifierValue(PsiAnnotationMemberValue value) {
+        if (value instanceof PsiExpression) {
+            Object constant = JavaPsiFacade.getInstance(value.getProject()).getConstantEvaluationHelper()
+                    .computeConstantExpression(value);
+            if (constant != null) {
+                return String.valueOf(constant);
+            }
+            if (value instanceof PsiReferenceExpression) {
+                PsiElement target = ((PsiReferenceExpression) value).resolve();
+                if (target instanceof PsiEnumConstant && ((PsiEnumConstant) target).getContainingClass() != null) {
+                    return ((PsiEnumConstant) target).getContainingClass().getQualifiedName() + "."
+                            + ((PsiEnumConstant) target).getName();
+                }
+            }
+        }
+        return value.getText().replaceAll("\\s", "");
+    }
+
+    private static Set<String> getBeanTypes(PsiClass type) {
+        Set<String> types = new HashSet<>();
+        types.add(type.getQualifiedName());
+        for (PsiClass superType : InheritanceUtil.getSuperClasses(type)) {
+            if (superType.getQualifiedName() != null) {
+                types.add(superType.getQualifiedName());
+            }
+        }
+        types.add(OBJECT_FQ_NAME);
+        return types;
+    }
+
+    private static void addSupertypeFiles(PsiClass type, Set<VirtualFile> files) {
+        for (PsiClass superType : InheritanceUtil.getSuperClasses(type)) {
+            addSourceFile(superType, files);
+        }
+    }
+
+    private static void addSourceFile(PsiClass type, Set<VirtualFile> files) {
+        PsiFile file = type.getContainingFile();
+        // the library classes only change with the roots
+        if (file != null && !(file instanceof PsiCompiledElement) && file.getVirtualFile() != null) {
+            files.add(file.getVirtualFile());
+        }
+    }
+
+    /**
+     * Returns the bean types restricted by @Typed, or null if the element isn't annotated with it.
+     */
+    @Nullable
+    private static Set<String> getTypedTypes(PsiModifierListOwner owner) {
+        PsiAnnotation typed = owner.getAnnotation(TYPED_FQ_NAME);
+        if (typed == null) {
+            return null;
+        }
+        Set<String> types = new HashSet<>();
+        types.add(OBJECT_FQ_NAME);
+        PsiAnnotationMemberValue value = typed.findDeclaredAttributeValue("value");
+        PsiAnnotationMemberValue[] values = value instanceof PsiArrayInitializerMemberValue
+                ? ((PsiArrayInitializerMemberValue) value).getInitializers()
+                : value != null ? new PsiAnnotationMemberValue[]{value} : new PsiAnnotationMemberValue[0];
+        for (PsiAnnotationMemberValue type : values) {
+            if (type instanceof PsiClassObjectAccessExpression) {
+                PsiType operand = ((PsiClassObjectAccessExpression) type).getOperand().getType();
+                types.add(TypeConversionUtil.erasure(operand).getCanonicalText());
+            }
+        }
+        return types;
+    }
+
+    private static boolean hasBeanConstructor(PsiClass type) {
+        PsiMethod[] constructors = type.getConstructors();
+        if (constructors.length == 0) {
+            return true;
+        }
+        for (PsiMethod constructor : constructors) {
+            if (constructor.getParameterList().getParametersCount() == 0 || constructor.hasAnnotation(INJECT_FQ_NAME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the container can create a client proxy of the given type, which is required for a bean with a
+     * normal scope.
+     *
+     * @see <a href="https://jakarta.ee/specifications/cdi/3.0/jakarta-cdi-spec-3.0.html#unproxyable">Unproxyable bean types</a>
+     */
+    private static boolean isProxyable(PsiClass type) {
+        if (type.isInterface()) {
+            return true;
+        }
+        if (type.hasModifierProperty(PsiModifier.FINAL) || type.isEnum() || type.isRecord()) {
+            return false;
+        }
+        PsiMethod[] constructors = type.getConstructors();
+        boolean hasNoArgConstructor = constructors.length == 0;
+        for (PsiMethod constructor : constructors) {
+            if (constructor.getParameterList().getParametersCount() == 0
+                    && !constructor.hasModifierProperty(PsiModifier.PRIVATE)) {
+                hasNoArgConstructor = true;
+            }
+        }
+        if (!hasNoArgConstructor) {
+            return false;
+        }
+        for (PsiMethod method : type.getAllMethods()) {
+            if (method.hasModifierProperty(PsiModifier.FINAL) && !method.hasModifierProperty(PsiModifier.STATIC)
+                    && !method.hasModifierProperty(PsiModifier.PRIVATE)) {
+                PsiClass declaringClass = method.getContainingClass();
+                if (declaringClass == null || !OBJECT_FQ_NAME.equals(declaringClass.getQualifiedName())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String getPropertyName(PsiMethod method) {
+        String name = method.getName();
+        if (name.length() > 3 && name.startsWith("get") && Character.isUpperCase(name.charAt(3))) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        }
+        if (name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+            return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        }
+        return name;
+    }
+}
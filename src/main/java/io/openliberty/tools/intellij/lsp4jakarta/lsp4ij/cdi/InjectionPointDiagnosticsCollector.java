@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.cdi;
+
+import static io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.cdi.ManagedBeanConstants.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.psi.PsiJavaFile;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.AbstractDiagnosticsCollector;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.PsiTypeUtils;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+
+/**
+ *
+ * CDI injection point Diagnostics, resolved against the beans of the module with the {@link CdiBeanGraph}
+ *
+ * <li>Diagnostic 1: more than one bean is eligible for injection.</li>
+ * <li>Diagnostic 2: no bean is eligible for injection (only when the required type and qualifiers are declared in
+ * the project sources).</li>
+ * <li>Diagnostic 3: the bean eligible for injection has a normal scope and an unproxyable bean type.</li>
+ *
+ * The beans are matched by the erasure of their types, so the injection points of a parameterized type aren't
+ * reported.
+ *
+ * @see <a href="https://jakarta.ee/specifications/cdi/3.0/jakarta-cdi-spec-3.0.html#typesafe_resolution">Typesafe resolution</a>
+ *
+ */
+public class InjectionPointDiagnosticsCollector extends AbstractDiagnosticsCollector {
+
+    public InjectionPointDiagnosticsCollector() {
+        super();
+    }
+
+    @Override
+    protected String getDiagnosticSource() {
+        return DIAGNOSTIC_SOURCE;
+    }
+
+    @Override
+    public void collectDiagnostics(PsiJavaFile unit, List<Diagnostic> diagnostics) {
+        if (unit == null)
+            return;
+
+        Module module = ModuleUtilCore.findModuleForPsiElement(unit);
+        if (module == null || !PsiTypeUtils.isOnClasspath(module, INJECT_FQ_NAME))
+            return;
+
+        List<CdiBeanGraph.InjectionPoint> injectionPoints = CdiBeanGraph.getInjectionPoints(unit);
+        if (injectionPoints.isEmpty())
+            return;
+
+        CdiBeanGraph graph = CdiBeanGraph.getInstance(unit.getProject());
+        for (CdiBeanGraph.InjectionPoint injectionPoint : injectionPoints) {
+            if (injectionPoint.isParameterized())
+                // the type arguments of the beans aren't compared
+                continue;
+            List<CdiBeanGraph.Bean> beans = graph.resolve(module, injectionPoint);
+            if (beans.isEmpty()) {
+                if (injectionPoint.isSourceDeclared()) {
+                    diagnostics.add(createDiagnostic(injectionPoint.getElement(), unit,
+                            "No bean is eligible for injection of type " + injectionPoint.getType() + ".",
+                            DIAGNOSTIC_CODE_UNSATISFIED_DEPENDENCY, null, DiagnosticSeverity.Warning));
+                }
+                continue;
+            }
+
+            // the alternatives enabled with @Priority are selected, the other alternatives are only used alone
+            List<CdiBeanGraph.Bean> candidates = beans.stream().filter(CdiBeanGraph.Bean::isPrioritized)
+                    .collect(Collectors.toList());
+            if (candidates.isEmpty()) {
+                candidates = beans.stream().filter(bean -> !bean.isAlternative()).collect(Collectors.toList());
+                if (candidates.isEmpty())
+                    candidates = beans;
+                if (candidates.size() > 1) {
+                    String names = candidates.stream().map(CdiBeanGraph.Bean::getName).sorted()
+                            .collect(Collectors.joining(", "));
+                    diagnostics.add(createDiagnostic(injectionPoint.getElement(), unit,
+                            "More than one bean is eligible for injection of type " + injectionPoint.getType()
+                                    + ": " + names + ".",
+                            DIAGNOSTIC_CODE_AMBIGUOUS_DEPENDENCY, null, DiagnosticSeverity.Error));
+                    continue;
+                }
+            } else if (candidates.size() > 1) {
+                // resolved by the highest priority
+                continue;
+            }
+
+            CdiBeanGraph.Bean bean = candidates.get(0);
+            if (bean.isNormalScoped() && !bean.isProxyable()) {
+                diagnostics.add(createDiagnostic(injectionPoint.getElement(), unit,
+                        "The bean " + bean.getName() + " eligible for injection has the normal scope @"
+                                + getSimpleName(bean.getScope())
+                                + " but its type can't be proxied: it must not be final, must have a non-private constructor with no parameters and must not have non-static final methods.",
+                        DIAGNOSTIC_CODE_UNPROXYABLE_DEPENDENCY, null, DiagnosticSeverity.Error));
+            }
+        }
+    }
+}
@@ -61,4 +61,36 @@ public class ManagedBeanConstants {
                     "jakarta.enterprise.context.ConversationScoped", "jakarta.enterprise.context.RequestScoped",
                     "jakarta.enterprise.context.SessionScoped", "jakarta.enterprise.context.NormalScope",
                     "jakarta.Interceptor", "jakarta.Decorator", "jakarta.enterprise.inject.Stereotype"));
-}
\ No newline at end of file
+
+    /* Bean graph Constants */
+    public static final String QUALIFIER_FQ_NAME = "jakarta.inject.Qualifier";
+    public static final String SCOPE_FQ_NAME = "jakarta.inject.Scope";
+    public static final String SINGLETON_FQ_NAME = "jakarta.inject.Singleton";
+    public static final String NAMED_FQ_NAME = "jakarta.inject.Named";
+    public static final String NONBINDING_FQ_NAME = "jakarta.enterprise.util.Nonbinding";
+    public static final String NORMAL_SCOPE_FQ_NAME = "jakarta.enterprise.context.NormalScope";
+    public static final String STEREOTYPE_FQ_NAME = "jakarta.enterprise.inject.Stereotype";
+    public static final String DEFAULT_FQ_NAME = "jakarta.enterprise.inject.Default";
+    public static final String ANY_FQ_NAME = "jakarta.enterprise.inject.Any";
+    public static final String ALTERNATIVE_FQ_NAME = "jakarta.enterprise.inject.Alternative";
+    public static final String TYPED_FQ_NAME = "jakarta.enterprise.inject.Typed";
+    public static final String VETOED_FQ_NAME = "jakarta.enterprise.inject.Vetoed";
+    public static final String PRIORITY_FQ_NAME = "jakarta.annotation.Priority";
+    // only in CDI 4.0, where an empty beans.xml means the annotated discovery mode
+    public static final String BUILD_COMPATIBLE_EXTENSION_FQ_NAME = "jakarta.enterprise.inject.build.compatible.spi.BuildCompatibleExtension";
+
+    public static final Set<String> NORMAL_SCOPE_FQ_NAMES = new HashSet<String>(
+            Arrays.asList("jakarta.enterprise.context.ApplicationScoped", "jakarta.enterprise.context.ConversationScoped",
+                    "jakarta.enterprise.context.RequestScoped", "jakarta.enterprise.context.SessionScoped"));
+
+    // beans provided by the container, resolved by programmatic lookup or built in
+    public static final Set<String> BUILT_IN_BEAN_TYPES = new HashSet<String>(
+            Arrays.asList("jakarta.enterprise.inject.Instance", "jakarta.inject.Provider",
+                    "jakarta.enterprise.event.Event", "jakarta.enterprise.inject.spi.InjectionPoint",
+                    "jakarta.enterprise.inject.spi.BeanManager", "jakarta.enterprise.inject.spi.Bean",
+                    "jakarta.enterprise.context.control.RequestContextController"));
+
+    public static final String DIAGNOSTIC_CODE_AMBIGUOUS_DEPENDENCY = "AmbiguousDependency";
+    public static final String DIAGNOSTIC_CODE_UNSATISFIED_DEPENDENCY = "UnsatisfiedDependency";
+    public static final String DIAGNOSTIC_CODE_UNPROXYABLE_DEPENDENCY = "UnproxyableDependency";
+}
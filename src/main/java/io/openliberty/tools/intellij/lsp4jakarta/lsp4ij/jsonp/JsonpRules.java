@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2022, 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Yijia Jing
+ *******************************************************************************/
+
+package io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.jsonp;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.intellij.psi.PsiExpression;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiMethodCallExpression;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JakartaRule;
+
+/**
+ * jakarta.json Diagnostics
+ *
+ * <li>Diagnostic 1: the String literal argument of Json.createPointer is neither an empty String nor a sequence of
+ * '/' prefixed tokens.</li>
+ */
+public class JsonpRules {
+
+    private static final Pattern JSON_POINTER = Pattern.compile(JsonpConstants.JSON_POINTER_REGEX);
+
+    public static final List<JakartaRule> RULES = List.of(
+            JakartaRule.onMethodCall(JsonpConstants.DIAGNOSTIC_SOURCE,
+                            JsonpConstants.JSON_FQ_NAME + "." + JsonpConstants.CREATE_POINTER)
+                    .when((call, trigger) -> {
+                        PsiExpression[] args = ((PsiMethodCallExpression) call).getArgumentList().getExpressions();
+                        return args.length == 1 && isInvalidArgument(args[0]);
+                    })
+                    .report(JsonpConstants.DIAGNOSTIC_CODE_CREATE_POINTER, JsonpConstants.CREATE_POINTER_ERROR_MESSAGE)
+                    // highlight the invalid argument
+                    .on((call, trigger) -> ((PsiMethodCallExpression) call).getArgumentList().getExpressions()[0])
+                    .build());
+
+    private JsonpRules() {
+    }
+
+    private static boolean isInvalidArgument(PsiExpression arg) {
+        if (arg instanceof PsiLiteralExpression) {
+            if (((PsiLiteralExpression) arg).getValue() instanceof String) {
+                String argValue = (String) ((PsiLiteralExpression) arg).getValue();
+                return !(argValue.isEmpty() || JSON_POINTER.matcher(argValue).matches());
+            }
+        }
+        return false;
+    }
+}
@@ -37,6 +37,7 @@ public class ServletConstants {
     public static final String WEB_SERVLET = "WebServlet";
     public static final String WEB_SERVLET_FQ_NAME = "jakarta.servlet.annotation.WebServlet";
     public static final String HTTP_SERVLET = "HttpServlet";
+    public static final String HTTP_SERVLET_FQ_NAME = "jakarta.servlet.http.HttpServlet";
 
     /* @WEBFilter */
     public static final String WEBFILTER = "WebFilter";
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2020, 2023 IBM Corporation, Pengyu Xiong, Reza Akhavan and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation, Pengyu Xiong, Reza Akhavan - initial API and implementation
+ *******************************************************************************/
+
+package io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.servlet;
+
+import static io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JakartaRule.ElementKind.TYPE;
+
+import java.util.List;
+
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.InheritanceUtil;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.AbstractDiagnosticsCollector;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.AnnotationUtil;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JakartaRule;
+
+/**
+ *
+ * jakarta.servlet Diagnostics
+ *
+ * <li>Diagnostic 1: Class annotated with @WebServlet does not extend the
+ * HttpServlet class.</li>
+ * <li>Diagnostic 2: @WebServlet missing 'urlPatterns' and 'value' attribute
+ * (one must be specified).</li>
+ * <li>Diagnostic 3: @WebServlet has both 'urlPatterns' and 'value' attributes
+ * specified.</li>
+ * <li>Diagnostic 4: Class annotated with @WebFilter does not implement the
+ * Filter interface.</li>
+ * <li>Diagnostic 5: @WebFilter missing 'urlPatterns', 'servletNames' and 'value'
+ * attribute (one must be specified).</li>
+ * <li>Diagnostic 6: @WebFilter has both 'urlPatterns' and 'value' attributes
+ * specified.</li>
+ * <li>Diagnostic 7: Class annotated with @WebListener does not implement one of
+ * the listener interfaces.</li>
+ *
+ * @see <a href="https://jakarta.ee/specifications/servlet/5.0/jakarta-servlet-spec-5.0.html#annotations-and-pluggability">Annotations and pluggability</a>
+ *
+ */
+public class ServletRules {
+
+    private static final String SOURCE = ServletConstants.DIAGNOSTIC_SOURCE;
+
+    private static final String[] FILTER_INTERFACES = { ServletConstants.FILTER_FQ_NAME };
+
+    private static final String[] LISTENER_INTERFACES = { ServletConstants.SERVLET_CONTEXT_LISTENER_FQ_NAME,
+            ServletConstants.SERVLET_CONTEXT_ATTRIBUTE_LISTENER_FQ_NAME,
+            ServletConstants.SERVLET_REQUEST_LISTENER_FQ_NAME,
+            ServletConstants.SERVLET_REQUEST_ATTRIBUTE_LISTENER_FQ_NAME,
+            ServletConstants.HTTP_SESSION_LISTENER_FQ_NAME,
+            ServletConstants.HTTP_SESSION_ATTRIBUTE_LISTENER_FQ_NAME,
+            ServletConstants.HTTP_SESSION_ID_LISTENER_FQ_NAME };
+
+    public static final List<JakartaRule> RULES = List.of(
+            // the super classes are compared by name, the HttpServlet class isn't looked up
+            JakartaRule.onAnnotation(SOURCE, ServletConstants.WEB_SERVLET_FQ_NAME, TYPE)
+                    .when((type, annotation) -> !InheritanceUtil.isInheritor((PsiClass) type,
+                            ServletConstants.HTTP_SERVLET_FQ_NAME))
+                    .report(ServletConstants.DIAGNOSTIC_CODE,
+                            "Annotated classes with @WebServlet must extend the HttpServlet class.")
+                    .on(JakartaRule.Target.ELEMENT)
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, ServletConstants.WEB_SERVLET_FQ_NAME, TYPE)
+                    .when((type, annotation) -> !hasAttribute(annotation, ServletConstants.URL_PATTERNS)
+                            && !hasAttribute(annotation, ServletConstants.VALUE))
+                    .report(ServletConstants.DIAGNOSTIC_CODE_MISSING_ATTRIBUTE,
+                            "The annotation @WebServlet must define the attribute 'urlPatterns' or 'value'.")
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, ServletConstants.WEB_SERVLET_FQ_NAME, TYPE)
+                    .when((type, annotation) -> hasAttribute(annotation, ServletConstants.URL_PATTERNS)
+                            && hasAttribute(annotation, ServletConstants.VALUE))
+                    .report(ServletConstants.DIAGNOSTIC_CODE_DUPLICATE_ATTRIBUTES,
+                            "The annotation @WebServlet cannot have both 'value' and 'urlPatterns' attributes specified at once.")
+                    .build(),
+
+            JakartaRule.onAnnotation(SOURCE, ServletConstants.WEBFILTER_FQ_NAME, TYPE)
+                    .when((type, annotation) -> !AbstractDiagnosticsCollector.doesImplementInterfaces((PsiClass) type,
+                            FILTER_INTERFACES))
+                    .report(ServletConstants.DIAGNOSTIC_CODE_FILTER,
+                            "Annotated classes with @WebFilter must implement the Filter interface.")
+                    .on(JakartaRule.Target.ELEMENT)
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, ServletConstants.WEBFILTER_FQ_NAME, TYPE)
+                    .when((type, annotation) -> !hasAttribute(annotation, ServletConstants.URL_PATTERNS)
+                            && !hasAttribute(annotation, ServletConstants.SERVLET_NAMES)
+                            && !hasAttribute(annotation, ServletConstants.VALUE))
+                    .report(ServletConstants.DIAGNOSTIC_CODE_FILTER_MISSING_ATTRIBUTE,
+                            "The annotation @WebFilter must define the attribute 'urlPatterns', 'servletNames' or 'value'.")
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, ServletConstants.WEBFILTER_FQ_NAME, TYPE)
+                    .when((type, annotation) -> hasAttribute(annotation, ServletConstants.URL_PATTERNS)
+                            && hasAttribute(annotation, ServletConstants.VALUE))
+                    .report(ServletConstants.DIAGNOSTIC_CODE_FILTER_DUPLICATE_ATTRIBUTES,
+                            "The annotation @WebFilter can not have both 'value' and 'urlPatterns' attributes specified at once.")
+                    .build(),
+
+            JakartaRule.onAnnotation(SOURCE, ServletConstants.WEB_LISTENER_FQ_NAME, TYPE)
+                    .when((type, annotation) -> !AbstractDiagnosticsCollector.doesImplementInterfaces((PsiClass) type,
+                            LISTENER_INTERFACES))
+                    .report(ServletConstants.DIAGNOSTIC_CODE_LISTENER,
+                            "Annotated classes with @WebListener must implement one or more of the following interfaces: ServletContextListener, ServletContextAttributeListener,"
+                                    + " ServletRequestListener, ServletRequestAttributeListener, HttpSessionListener, HttpSessionAttributeListener, or HttpSessionIdListener.")
+                    .on(JakartaRule.Target.ELEMENT)
+                    .build());
+
+    private ServletRules() {
+    }
+
+    private static boolean hasAttribute(PsiElement annotation, String attributeName) {
+        return AnnotationUtil.hasAttribute((PsiAnnotation) annotation, attributeName);
+    }
+}
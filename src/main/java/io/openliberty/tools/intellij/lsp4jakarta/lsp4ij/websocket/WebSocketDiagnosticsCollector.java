@@ -21,7 +21,6 @@ import java.util.stream.Stream;
 import com.intellij.psi.*;
 import com.intellij.psi.util.InheritanceUtil;
 import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.AbstractDiagnosticsCollector;
-import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JDTUtils;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 
@@ -65,8 +64,7 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
                 // OnMessage validation for WebSocket message formats
                 onMessageWSMessageFormats(type, diagnostics, unit);
 
-                // ServerEndpoint annotation diagnostics
-                serverEndpointErrorCheck(type, diagnostics, unit);
+                // ServerEndpoint annotation diagnostics are declared in WebSocketRules
             }
         }
     }
@@ -239,45 +237,6 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
         }
     }
 
-    /**
-     * Create an error diagnostic if a ServerEndpoint annotation's URI contains relative
-     * paths, missing a leading slash, or does not follow a valid level-1 template URI.
-     */
-
-    private void serverEndpointErrorCheck(PsiClass type, List<Diagnostic> diagnostics, PsiJavaFile unit) {
-        PsiAnnotation[] annotations = type.getAnnotations();
-        for (PsiAnnotation annotation : annotations) {
-            if (isMatchedJavaElement(type, annotation.getQualifiedName(),
-                    WebSocketConstants.SERVER_ENDPOINT_ANNOTATION)) {
-                for (PsiNameValuePair annotationMemberValuePair : annotation.getParameterList().getAttributes()) {
-                    String annoArgName = annotationMemberValuePair.getName();
-                    if (annoArgName == null || annoArgName.equals(WebSocketConstants.ANNOTATION_VALUE)) {
-                        String path = annotationMemberValuePair.getLiteralValue();
-                        if (!JDTUtils.hasLeadingSlash(path)) {
-                            diagnostics.add(createDiagnostic(annotation, unit,
-                                    WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT_NO_SLASH,
-                                    WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT, null, DiagnosticSeverity.Error));
-                        }
-                        if (hasRelativePathURIs(path)) {
-                            diagnostics.add(createDiagnostic(annotation, unit,
-                                    WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT_RELATIVE,
-                                    WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT, null, DiagnosticSeverity.Error));
-                        } else if (!JDTUtils.isValidLevel1URI(path)) {
-                            diagnostics.add(createDiagnostic(annotation, unit,
-                                    WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT_NOT_LEVEL1,
-                                    WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT, null, DiagnosticSeverity.Error));
-                        }
-                        if (hasDuplicateURIVariables(path)) {
-                            diagnostics.add(createDiagnostic(annotation, unit,
-                                    WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT_DUPLICATE_VAR,
-                                    WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT, null, DiagnosticSeverity.Error));
-                        }
-                    }
-                }
-            }
-        }
-    }
-
     /**
      * Finds a WebSocket EndPoint annotation and extracts all variable parameters in
      * the EndPoint URI
@@ -407,35 +366,4 @@ public class WebSocketDiagnosticsCollector extends AbstractDiagnosticsCollector
         String paramMessage = String.join("\n- ", methodParamOptTypes);
         return String.format(WebSocketConstants.PARAM_TYPE_DIAG_MSG, "@" + methodAnnotTarget, paramMessage);
     }
-
-    /**
-     * Check if a URI string contains any sequence with //, /./, or /../
-     *
-     * @param uriString ServerEndpoint URI
-     * @return if a URI has a relative path
-     */
-    private boolean hasRelativePathURIs(String uriString) {
-        return uriString.matches(WebSocketConstants.REGEX_RELATIVE_PATHS);
-    }
-
-    /**
-     * Check if a URI string has a duplicate variable
-     *
-     * @param uriString ServerEndpoint URI
-     * @return if a URI has duplicate variables
-     */
-    private boolean hasDuplicateURIVariables(String uriString) {
-        HashSet<String> variables = new HashSet<String>();
-        for (String segment : uriString.split(WebSocketConstants.URI_SEPARATOR)) {
-            if (segment.matches(WebSocketConstants.REGEX_URI_VARIABLE)) {
-                String variable = segment.substring(1, segment.length() - 1);
-                if (variables.contains(variable)) {
-                    return true;
-                } else {
-                    variables.add(variable);
-                }
-            }
-        }
-        return false;
-    }
 }
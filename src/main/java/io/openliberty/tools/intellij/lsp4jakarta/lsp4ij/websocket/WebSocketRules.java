@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2022, 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Giancarlo Pernudi Segura - initial API and implementation
+ *     Lidia Ataupillco Ramos
+ *     Aviral Saxena
+ *******************************************************************************/
+
+package io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.websocket;
+
+import static io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JakartaRule.ElementKind.TYPE;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiElement;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.AnnotationUtil;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JDTUtils;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.JakartaRule;
+
+/**
+ * ServerEndpoint annotation diagnostics: the URI must have a leading slash, must not contain relative paths, must
+ * follow a valid level-1 template URI and must not have duplicate variables.
+ */
+public class WebSocketRules {
+
+    private static final Pattern RELATIVE_PATHS = Pattern.compile(WebSocketConstants.REGEX_RELATIVE_PATHS);
+    private static final Pattern URI_VARIABLE = Pattern.compile(WebSocketConstants.REGEX_URI_VARIABLE);
+
+    private static final String SOURCE = WebSocketConstants.DIAGNOSTIC_SOURCE;
+
+    public static final List<JakartaRule> RULES = List.of(
+            JakartaRule.onAnnotation(SOURCE, WebSocketConstants.SERVER_ENDPOINT_ANNOTATION, TYPE)
+                    .when((type, annotation) -> {
+                        String path = getPath(annotation);
+                        return path != null && !JDTUtils.hasLeadingSlash(path);
+                    })
+                    .report(WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT,
+                            WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT_NO_SLASH)
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, WebSocketConstants.SERVER_ENDPOINT_ANNOTATION, TYPE)
+                    .when((type, annotation) -> {
+                        String path = getPath(annotation);
+                        return path != null && hasRelativePathURIs(path);
+                    })
+                    .report(WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT,
+                            WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT_RELATIVE)
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, WebSocketConstants.SERVER_ENDPOINT_ANNOTATION, TYPE)
+                    .when((type, annotation) -> {
+                        // a relative path is reported once
+                        String path = getPath(annotation);
+                        return path != null && !hasRelativePathURIs(path) && !JDTUtils.isValidLevel1URI(path);
+                    })
+                    .report(WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT,
+                            WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT_NOT_LEVEL1)
+                    .build(),
+            JakartaRule.onAnnotation(SOURCE, WebSocketConstants.SERVER_ENDPOINT_ANNOTATION, TYPE)
+                    .when((type, annotation) -> {
+                        String path = getPath(annotation);
+                        return path != null && hasDuplicateURIVariables(path);
+                    })
+                    .report(WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT,
+                            WebSocketConstants.DIAGNOSTIC_SERVER_ENDPOINT_DUPLICATE_VAR)
+                    .build());
+
+    private WebSocketRules() {
+    }
+
+    private static String getPath(PsiElement annotation) {
+        return AnnotationUtil.getAttributeLiteralValue((PsiAnnotation) annotation, WebSocketConstants.ANNOTATION_VALUE);
+    }
+
+    /**
+     * Check if a URI string contains any sequence with //, /./, or /../
+     *
+     * @param uriString ServerEndpoint URI
+     * @return if a URI has a relative path
+     */
+    private static boolean hasRelativePathURIs(String uriString) {
+        return RELATIVE_PATHS.matcher(uriString).matches();
+    }
+
+    /**
+     * Check if a URI string has a duplicate variable
+     *
+     * @param uriString ServerEndpoint URI
+     * @return if a URI has duplicate variables
+     */
+    private static boolean hasDuplicateURIVariables(String uriString) {
+        Set<String> variables = new HashSet<String>();
+        for (String segment : uriString.split(WebSocketConstants.URI_SEPARATOR)) {
+            if (URI_VARIABLE.matcher(segment).matches()) {
+                String variable = segment.substring(1, segment.length() - 1);
+                if (!variables.add(variable)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -83,6 +83,8 @@ public class MicroProfileLanguageClient extends LanguageClientImpl implements Mi
       event.setType(scope);
       event.setProjectURIs(uris);
       server.propertiesChanged(event);
+      // lsp4mp doesn't send workspace/codeLens/refresh, JAX-RS URL lenses depend on the sources and the config files
+      refreshCodeLenses();
     }
   }
 
@@ -7,56 +7,112 @@
  *
  * Contributors:
  * Red Hat, Inc. - initial API and implementation
+ * IBM Corporation - batch the editor events
  ******************************************************************************/
 package io.openliberty.tools.intellij.lsp4mp.lsp4ij;
 
-import com.intellij.openapi.components.ProjectComponent;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.fileEditor.FileEditorManager;
 import com.intellij.openapi.fileEditor.FileEditorManagerListener;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
-public class ConnectDocumentToLanguageServerSetupParticipant implements ProjectComponent, FileEditorManagerListener {
+/**
+ * Connects the documents to the language servers when their editor is opened and disconnects them when it's closed.
+ *
+ * The editor events are collected over a short window so that the bursts of a branch switch or of a refactoring
+ * don't hit the language servers one by one: an editor opened and closed in the same window (or closed and opened)
+ * cancels out, and only the net openings and closings are sent, the openings first so that a server used by a
+ * reopened document isn't stopped.
+ */
+public class ConnectDocumentToLanguageServerSetupParticipant implements FileEditorManagerListener {
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectDocumentToLanguageServerSetupParticipant.class);
 
-    private Project project;
+    private static final long BATCH_DELAY_MS = Long.getLong("open-liberty.intellij.lsp.editorEventsDelay", 200L);
+
+    private final Project project;
+
+    // true for an opened editor, false for a closed one, in the order of the events
+    private final Map<VirtualFile, Boolean> pendingEvents = new LinkedHashMap<>();
+
+    private Future<?> flush;
 
     public ConnectDocumentToLanguageServerSetupParticipant(Project project) {
         this.project = project;
     }
 
     @Override
-    public void projectOpened() {
-        project.getMessageBus().connect(project).subscribe(FileEditorManagerListener.FILE_EDITOR_MANAGER, this);
+    public void fileOpened(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
+        addEvent(file, true);
     }
 
     @Override
-    public void fileOpened(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
-        Document document = FileDocumentManager.getInstance().getDocument(file);
-        if (document != null) {
-            LanguageServiceAccessor.getInstance(source.getProject()).getLanguageServers(document, capabilities -> true);
+    public void fileClosed(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
+        addEvent(file, false);
+    }
+
+    private synchronized void addEvent(VirtualFile file, boolean opened) {
+        Boolean previous = pendingEvents.remove(file);
+        if (previous != null && previous != opened) {
+            // opened and closed in the same window, nothing changed for the language servers
+            return;
+        }
+        pendingEvents.put(file, opened);
+        if (flush == null) {
+            flush = AppExecutorUtil.getAppScheduledExecutorService().schedule(this::flush, BATCH_DELAY_MS,
+                    TimeUnit.MILLISECONDS);
         }
     }
 
-    @Override
-    public void fileClosed(@NotNull FileEditorManager source, @NotNull VirtualFile file) {
-        URI uri = LSPIJUtils.toUri(file);
-        if (file != null) {
-            try {
-                LanguageServiceAccessor.getInstance(source.getProject()).getLSWrappers(file, capabilities -> true).forEach(wrapper -> wrapper.disconnect(uri));
-            } catch (IOException e) {
-                LOGGER.warn(e.getLocalizedMessage(), e);
+    private void flush() {
+        List<VirtualFile> opened = new ArrayList<>();
+        List<VirtualFile> closed = new ArrayList<>();
+        synchronized (this) {
+            flush = null;
+            pendingEvents.forEach((file, open) -> (open ? opened : closed).add(file));
+            pendingEvents.clear();
+        }
+        if (project.isDisposed()) {
+            return;
+        }
+        LanguageServiceAccessor accessor = LanguageServiceAccessor.getInstance(project);
+        for (VirtualFile file : opened) {
+            Document document = file.isValid() ? ApplicationManager.getApplication().runReadAction(
+                    (Computable<Document>) () -> FileDocumentManager.getInstance().getDocument(file)) : null;
+            if (document != null) {
+                try {
+                    accessor.getLanguageServers(document, capabilities -> true);
+                } catch (Exception e) {
+                    LOGGER.warn(e.getLocalizedMessage(), e);
+                }
+            }
+        }
+        if (!closed.isEmpty()) {
+            // only the started servers can be connected to the documents, don't start new ones
+            List<LanguageServerWrapper> wrappers = accessor.getStartedServers();
+            for (VirtualFile file : closed) {
+                URI uri = LSPIJUtils.toUri(file);
+                for (LanguageServerWrapper wrapper : wrappers) {
+                    if (wrapper.isConnectedTo(uri)) {
+                        wrapper.disconnect(uri);
+                    }
+                }
             }
         }
-
     }
-
 }
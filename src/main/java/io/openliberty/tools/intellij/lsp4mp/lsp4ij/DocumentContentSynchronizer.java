@@ -29,11 +29,15 @@ import java.net.URI;
 import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 public class DocumentContentSynchronizer implements DocumentListener {
     private final static Logger LOGGER = LoggerFactory.getLogger(DocumentContentSynchronizer.class);
 
+    private static final int MAX_VERSION_STAMPS = 100;
+
     private final @Nonnull LanguageServerWrapper languageServerWrapper;
     private final @Nonnull Document document;
     private final @Nonnull URI fileUri;
@@ -41,8 +45,17 @@ public class DocumentContentSynchronizer implements DocumentListener {
 
     private int version = 0;
     private Deque<DidChangeTextDocumentParams> changeParamsQueue = new ArrayDeque<>();
+    // the modification stamps of the document after the changes of the queue
+    private final Deque<Long> changeStampsQueue = new ArrayDeque<>();
+    // the modification stamps of the document for the last versions sent to the language server
+    private final Map<Integer, Long> versionStamps = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Long> eldest) {
+            return size() > MAX_VERSION_STAMPS;
+        }
+    };
     private long modificationStamp;
-    final @Nonnull CompletableFuture<Void> didOpenFuture;
+    private volatile CompletableFuture<Void> didOpenFuture;
 
     public DocumentContentSynchronizer(@Nonnull LanguageServerWrapper languageServerWrapper,
                                        @Nonnull Document document,
@@ -53,6 +66,14 @@ public class DocumentContentSynchronizer implements DocumentListener {
         this.syncKind = syncKind != null ? syncKind : TextDocumentSyncKind.Full;
 
         this.document = document;
+    }
+
+    /**
+     * Sends the textDocument/didOpen notification, once the synchronizer has been registered by the wrapper.
+     *
+     * @return a future completed once the notification has been sent
+     */
+    CompletableFuture<Void> documentOpened() {
         // add a document buffer
         TextDocumentItem textDocument = new TextDocumentItem();
         textDocument.setUri(fileUri.toString());
@@ -73,8 +94,20 @@ public class DocumentContentSynchronizer implements DocumentListener {
 
         textDocument.setLanguageId(languageId);
         textDocument.setVersion(++version);
+        synchronized (versionStamps) {
+            versionStamps.put(version, document.getModificationStamp());
+        }
         didOpenFuture = languageServerWrapper.getInitializedServer()
                 .thenAcceptAsync(ls -> ls.getTextDocumentService().didOpen(new DidOpenTextDocumentParams(textDocument)));
+        return didOpenFuture;
+    }
+
+    /**
+     * @return a future completed once the textDocument/didOpen notification has been sent
+     */
+    CompletableFuture<Void> getDidOpenFuture() {
+        CompletableFuture<Void> future = didOpenFuture;
+        return future != null ? future : CompletableFuture.completedFuture(null);
     }
 
     @Override
@@ -83,6 +116,7 @@ public class DocumentContentSynchronizer implements DocumentListener {
         if (syncKind == TextDocumentSyncKind.Full) {
             createChangeEvent(event);
         }
+        changeStampsQueue.offerLast(event.getDocument().getModificationStamp());
 
         if (changeParamsQueue.peekFirst() != null) {
             if (ApplicationManager.getApplication().isUnitTestMode()) {
@@ -95,9 +129,15 @@ public class DocumentContentSynchronizer implements DocumentListener {
 
     private void sendDidChangeEvent() {
         final DidChangeTextDocumentParams changeParamsToSend = changeParamsQueue.removeFirst();
+        final Long stamp = changeStampsQueue.pollFirst();
 
         if (changeParamsToSend != null) {
             changeParamsToSend.getTextDocument().setVersion(++version);
+            if (stamp != null) {
+                synchronized (versionStamps) {
+                    versionStamps.put(version, stamp);
+                }
+            }
             // TODO: LS seems to receive these events in a different order *sometimes*
             languageServerWrapper.getInitializedServer()
                     .thenAcceptAsync(ls -> ls.getTextDocumentService().didChange(changeParamsToSend));
@@ -197,6 +237,16 @@ public class DocumentContentSynchronizer implements DocumentListener {
         return version;
     }
 
+    /**
+     * Returns the modification stamp of the document when the given version was sent to the language server, or -1
+     * if the version is unknown.
+     */
+    long getDocumentStamp(int version) {
+        synchronized (versionStamps) {
+            return versionStamps.getOrDefault(version, -1L);
+        }
+    }
+
     private void logDocument(String header, Document document) {
         LOGGER.warn(header + " text='" + document.getText());
         VirtualFile file = FileDocumentManager.getInstance().getFile(document);
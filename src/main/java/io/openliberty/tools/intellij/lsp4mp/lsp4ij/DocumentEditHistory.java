@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp.lsp4ij;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.util.Key;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Records the last edits of a document connected to the language servers, so that the positions of a response
+ * computed for a previous content of the document (identified by its modification stamp, see
+ * {@link LanguageServerWrapper#getDocumentStamp(java.net.URI, Integer)}) can be moved to the current content.
+ *
+ * A position before an edit is unchanged, a position after an edit is shifted, and a position inside a replaced or
+ * deleted text can't be mapped: the result is stale and must be dropped.
+ */
+public final class DocumentEditHistory implements DocumentListener {
+
+    private static final Key<DocumentEditHistory> KEY = Key.create("open-liberty.intellij.lsp4ij.editHistory");
+
+    private static final int MAX_EDITS = Integer.getInteger("open-liberty.intellij.lsp.editHistory", 1000);
+
+    /**
+     * An edit in the LSP coordinates of the content before the edit.
+     */
+    private static class Edit {
+        // the modification stamp of the document before the edit
+        private final long stamp;
+        private final int startLine;
+        private final int startCharacter;
+        private final int endLine;
+        private final int endCharacter;
+        // the line breaks of the new text and the length of its last line
+        private final int newLines;
+        private final int lastLineLength;
+
+        private Edit(long stamp, Position start, Position end, CharSequence newText) {
+            this.stamp = stamp;
+            this.startLine = start.getLine();
+            this.startCharacter = start.getCharacter();
+            this.endLine = end.getLine();
+            this.endCharacter = end.getCharacter();
+            int lines = 0;
+            int lastLineStart = 0;
+            for (int i = 0; i < newText.length(); i++) {
+                if (newText.charAt(i) == '\n') {
+                    lines++;
+                    lastLineStart = i + 1;
+                }
+            }
+            this.newLines = lines;
+            this.lastLineLength = newText.length() - lastLineStart;
+        }
+
+        private boolean isEmpty() {
+            return startLine == endLine && startCharacter == endCharacter;
+        }
+
+        @Nullable
+        private Position map(Position position) {
+            int line = position.getLine();
+            int character = position.getCharacter();
+            if (compare(line, character, startLine, startCharacter) <= 0) {
+                return position;
+            }
+            if (compare(line, character, endLine, endCharacter) < 0) {
+                // in the replaced text
+                return null;
+            }
+            if (line == endLine) {
+                int newCharacter = (newLines == 0 ? startCharacter : 0) + lastLineLength + character - endCharacter;
+                return new Position(startLine + newLines, newCharacter);
+            }
+            return new Position(line + newLines - (endLine - startLine), character);
+        }
+
+        private static int compare(int line1, int character1, int line2, int character2) {
+            return line1 != line2 ? Integer.compare(line1, line2) : Integer.compare(character1, character2);
+        }
+    }
+
+    private final Deque<Edit> edits = new ArrayDeque<>();
+
+    // the start and the end of the pending edit, computed before the change
+    private Position start;
+    private Position end;
+    private long stamp;
+
+    private DocumentEditHistory() {
+    }
+
+    /**
+     * Starts recording the edits of the given document, once.
+     */
+    static void install(@NotNull Document document) {
+        if (document.getUserData(KEY) != null) {
+            return;
+        }
+        synchronized (document) {
+            if (document.getUserData(KEY) == null) {
+                DocumentEditHistory history = new DocumentEditHistory();
+                document.putUserData(KEY, history);
+                document.addDocumentListener(history);
+            }
+        }
+    }
+
+    @Override
+    public void beforeDocumentChange(@NotNull DocumentEvent event) {
+        Document document = event.getDocument();
+        Position start = LSPIJUtils.toPosition(event.getOffset(), document);
+        Position end = LSPIJUtils.toPosition(event.getOffset() + event.getOldLength(), document);
+        synchronized (edits) {
+            this.start = start;
+            this.end = end;
+            this.stamp = document.getModificationStamp();
+        }
+    }
+
+    @Override
+    public void documentChanged(@NotNull DocumentEvent event) {
+        synchronized (edits) {
+            if (start == null) {
+                return;
+            }
+            Edit edit = new Edit(stamp, start, end, event.getNewFragment());
+            start = null;
+            end = null;
+            if (edit.isEmpty() && edit.newLines == 0 && edit.lastLineLength == 0) {
+                return;
+            }
+            edits.addLast(edit);
+            while (edits.size() > MAX_EDITS) {
+                edits.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Moves a position of the content of the document with the given modification stamp to the current content.
+     *
+     * @return the current position, or null if the text at the position has been edited or if the edits since the
+     * given stamp are unknown
+     */
+    @Nullable
+    public static Position toCurrentPosition(@NotNull Document document, long stamp, @NotNull Position position) {
+        if (stamp == document.getModificationStamp()) {
+            return position;
+        }
+        DocumentEditHistory history = document.getUserData(KEY);
+        return history != null ? history.map(stamp, new Position[]{position})[0] : null;
+    }
+
+    /**
+     * Moves a range of the content of the document with the given modification stamp to the current content.
+     *
+     * @return the current range, or null if the text at the start or the end of the range has been edited or if the
+     * edits since the given stamp are unknown
+     */
+    @Nullable
+    public static Range toCurrentRange(@NotNull Document document, long stamp, @NotNull Range range) {
+        if (stamp == document.getModificationStamp()) {
+            return range;
+        }
+        DocumentEditHistory history = document.getUserData(KEY);
+        if (history == null) {
+            return null;
+        }
+        Position[] positions = history.map(stamp, new Position[]{range.getStart(), range.getEnd()});
+        return positions[0] != null && positions[1] != null ? new Range(positions[0], positions[1]) : null;
+    }
+
+    private Position[] map(long stamp, Position[] positions) {
+        Position[] mapped = positions.clone();
+        synchronized (edits) {
+            // the stamp may appear several times after an undo, start from the last edit of this content
+            Edit first = null;
+            for (Iterator<Edit> it = edits.descendingIterator(); it.hasNext(); ) {
+                Edit edit = it.next();
+                if (edit.stamp == stamp) {
+                    first = edit;
+                    break;
+                }
+            }
+            if (first == null) {
+                return new Position[positions.length];
+            }
+            boolean started = false;
+            for (Edit edit : edits) {
+                started |= edit == first;
+                if (!started) {
+                    continue;
+                }
+                for (int i = 0; i < mapped.length; i++) {
+                    if (mapped[i] != null) {
+                        mapped[i] = edit.map(mapped[i]);
+                    }
+                }
+            }
+        }
+        return mapped;
+    }
+}
@@ -0,0 +1,329 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp.lsp4ij;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileContentChangeEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Implements the workspace/didChangeWatchedFiles registrations of a language server: the glob patterns of the
+ * registered file system watchers are compiled once, the changes of the local file system matching them are
+ * collected from the VFS events and sent in one workspace/didChangeWatchedFiles notification per short window.
+ */
+class FileSystemWatcherManager implements BulkFileListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSystemWatcherManager.class);
+
+    private static final long BATCH_DELAY_MS = Long.getLong("open-liberty.intellij.lsp.watchedFilesDelay", 200L);
+
+    // WatchKind
+    private static final int WATCH_CREATE = 1;
+    private static final int WATCH_CHANGE = 2;
+    private static final int WATCH_DELETE = 4;
+
+    private static class Watcher {
+        private final Pattern pattern;
+        private final int kind;
+
+        private Watcher(Pattern pattern, int kind) {
+            this.pattern = pattern;
+            this.kind = kind;
+        }
+
+        private boolean matches(String path, FileChangeType type) {
+            return (kind & toWatchKind(type)) != 0 && pattern.matcher(path).matches();
+        }
+    }
+
+    private final Consumer<DidChangeWatchedFilesParams> sender;
+
+    private final Map<String, List<Watcher>> registrations = new ConcurrentHashMap<>();
+
+    // changes not sent yet, in the order they happened
+    private final Map<String, FileChangeType> pendingChanges = new LinkedHashMap<>();
+
+    private Future<?> flush;
+
+    FileSystemWatcherManager(@NotNull Consumer<DidChangeWatchedFilesParams> sender) {
+        this.sender = sender;
+    }
+
+    /**
+     * Registers the file system watchers of the given registration options.
+     *
+     * @param id      the registration id
+     * @param options the DidChangeWatchedFilesRegistrationOptions as sent by the language server
+     */
+    void register(@NotNull String id, @Nullable Object options) {
+        List<Watcher> watchers = new ArrayList<>();
+        if (options instanceof JsonObject && ((JsonObject) options).has("watchers")) {
+            for (JsonElement element : ((JsonObject) options).getAsJsonArray("watchers")) {
+                Watcher watcher = element.isJsonObject() ? toWatcher(element.getAsJsonObject()) : null;
+                if (watcher != null) {
+                    watchers.add(watcher);
+                }
+            }
+        }
+        registrations.put(id, watchers);
+    }
+
+    void unregister(@NotNull String id) {
+        registrations.remove(id);
+    }
+
+    synchronized void clear() {
+        registrations.clear();
+        pendingChanges.clear();
+        if (flush != null) {
+            flush.cancel(false);
+            flush = null;
+        }
+    }
+
+    @Nullable
+    private static Watcher toWatcher(JsonObject watcher) {
+        JsonElement globPattern = watcher.get("globPattern");
+        String glob = null;
+        if (globPattern != null && globPattern.isJsonPrimitive()) {
+            glob = globPattern.getAsString();
+            if (!glob.startsWith("/") && !glob.startsWith("**")) {
+                glob = "**/" + glob;
+            }
+        } else if (globPattern != null && globPattern.isJsonObject()) {
+            // RelativePattern, the base is a workspace folder or an URI
+            JsonElement baseUri = globPattern.getAsJsonObject().get("baseUri");
+            JsonElement pattern = globPattern.getAsJsonObject().get("pattern");
+            if (baseUri != null && baseUri.isJsonObject()) {
+                baseUri = baseUri.getAsJsonObject().get("uri");
+            }
+            String basePath = baseUri != null && baseUri.isJsonPrimitive() ? toPath(baseUri.getAsString()) : null;
+            if (basePath != null && pattern != null && pattern.isJsonPrimitive()) {
+                glob = escapeGlob(basePath) + '/' + pattern.getAsString();
+            }
+        }
+        if (glob == null) {
+            return null;
+        }
+        JsonElement kind = watcher.get("kind");
+        int watchKind = kind != null && kind.isJsonPrimitive() ? kind.getAsInt() : WATCH_CREATE | WATCH_CHANGE | WATCH_DELETE;
+        return new Watcher(compileGlob(glob), watchKind);
+    }
+
+    @Nullable
+    private static String toPath(String uri) {
+        try {
+            return StringUtil.trimEnd(FileUtil.toSystemIndependentName(new File(new URI(uri)).getAbsolutePath()), '/');
+        } catch (Exception e) {
+            LOGGER.warn("Invalid base URI of file system watcher '" + uri + "'", e);
+            return null;
+        }
+    }
+
+    private static String escapeGlob(String path) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : path.toCharArray()) {
+            if ("*?{}[]".indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Compiles a glob pattern of the language server protocol (*, **, ?, {a,b}, [a-z], [!a-z]) matching the
+     * absolute paths with '/' separators.
+     */
+    static Pattern compileGlob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int groups = 0;
+        boolean inClass = false;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                } else if (c == '\\' || c == '[') {
+                    regex.append('\\');
+                }
+                regex.append(c);
+                continue;
+            }
+            switch (c) {
+                case '\\':
+                    if (i + 1 < glob.length()) {
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                    break;
+                case '*':
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                        i++;
+                        if (i + 1 < glob.length() && glob.charAt(i + 1) == '/') {
+                            // **/ matches zero or more directories
+                            i++;
+                            regex.append("(?:.*/)?");
+                        } else {
+                            regex.append(".*");
+                        }
+                    } else {
+                        regex.append("[^/]*");
+                    }
+                    break;
+                case '?':
+                    regex.append("[^/]");
+                    break;
+                case '[':
+                    inClass = true;
+                    regex.append('[');
+                    if (i + 1 < glob.length() && glob.charAt(i + 1) == '!') {
+                        i++;
+                        regex.append('^');
+                    }
+                    break;
+                case '{':
+                    groups++;
+                    regex.append("(?:");
+                    break;
+                case '}':
+                    if (groups > 0) {
+                        groups--;
+                        regex.append(')');
+                    } else {
+                        regex.append("\\}");
+                    }
+                    break;
+                case ',':
+                    regex.append(groups > 0 ? "|" : ",");
+                    break;
+                default:
+                    if ("().+^$|".indexOf(c) >= 0) {
+                        regex.append('\\');
+                    }
+                    regex.append(c);
+            }
+        }
+        if (inClass) {
+            regex.append(']');
+        }
+        for (; groups > 0; groups--) {
+            regex.append(')');
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static int toWatchKind(FileChangeType type) {
+        switch (type) {
+            case Created:
+                return WATCH_CREATE;
+            case Deleted:
+                return WATCH_DELETE;
+            default:
+                return WATCH_CHANGE;
+        }
+    }
+
+    @Override
+    public void after(@NotNull List<? extends VFileEvent> events) {
+        if (registrations.isEmpty()) {
+            return;
+        }
+        Collection<List<Watcher>> watchers = registrations.values();
+        for (VFileEvent event : events) {
+            if (!(event.getFileSystem() instanceof LocalFileSystem)) {
+                continue;
+            }
+            if (event instanceof VFileCreateEvent || event instanceof VFileCopyEvent) {
+                fileChanged(watchers, event.getPath(), FileChangeType.Created);
+            } else if (event instanceof VFileContentChangeEvent) {
+                fileChanged(watchers, event.getPath(), FileChangeType.Changed);
+            } else if (event instanceof VFileDeleteEvent) {
+                fileChanged(watchers, event.getPath(), FileChangeType.Deleted);
+            } else if (event instanceof VFileMoveEvent) {
+                fileChanged(watchers, ((VFileMoveEvent) event).getOldPath(), FileChangeType.Deleted);
+                fileChanged(watchers, ((VFileMoveEvent) event).getNewPath(), FileChangeType.Created);
+            } else if (event instanceof VFilePropertyChangeEvent && ((VFilePropertyChangeEvent) event).isRename()) {
+                fileChanged(watchers, ((VFilePropertyChangeEvent) event).getOldPath(), FileChangeType.Deleted);
+                fileChanged(watchers, ((VFilePropertyChangeEvent) event).getNewPath(), FileChangeType.Created);
+            }
+        }
+    }
+
+    private void fileChanged(Collection<List<Watcher>> watchers, String path, FileChangeType type) {
+        for (List<Watcher> registration : watchers) {
+            for (Watcher watcher : registration) {
+                if (watcher.matches(path, type)) {
+                    addChange(LSPIJUtils.toUri(new File(path)).toString(), type);
+                    return;
+                }
+            }
+        }
+    }
+
+    private synchronized void addChange(String uri, FileChangeType type) {
+        FileChangeType previous = pendingChanges.remove(uri);
+        if (previous == FileChangeType.Created && type == FileChangeType.Deleted) {
+            // the server never saw the file
+            return;
+        }
+        if (previous == FileChangeType.Created && type == FileChangeType.Changed) {
+            type = FileChangeType.Created;
+        } else if (previous == FileChangeType.Deleted && type == FileChangeType.Created) {
+            type = FileChangeType.Changed;
+        }
+        pendingChanges.put(uri, type);
+        if (flush == null) {
+            flush = AppExecutorUtil.getAppScheduledExecutorService().schedule(this::flush, BATCH_DELAY_MS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        List<FileEvent> changes = new ArrayList<>();
+        synchronized (this) {
+            flush = null;
+            pendingChanges.forEach((uri, type) -> changes.add(new FileEvent(uri, type)));
+            pendingChanges.clear();
+        }
+        if (!changes.isEmpty()) {
+            sender.accept(new DidChangeWatchedFilesParams(changes));
+        }
+    }
+}
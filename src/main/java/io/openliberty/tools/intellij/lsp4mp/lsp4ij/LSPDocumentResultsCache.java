@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp.lsp4ij;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.Pair;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the results of a document scoped request (textDocument/codeLens, textDocument/inlayHint) per document
+ * modification stamp so that highlighting passes which don't follow an edit don't hit the language servers.
+ *
+ * Requests which accept a range are split in chunks of lines: only the chunks covering the requested lines are
+ * requested, and each chunk is cached on its own so that scrolling back to a part of the document which has already
+ * been displayed doesn't send a new request. Once the document changes, the chunks which aren't requested anymore are
+ * dropped.
+ *
+ * When the document has changed, the previous results are returned immediately and a debounced request is sent
+ * for the new content. Once it completes, the file is re-highlighted if the results differ from the ones displayed.
+ * Meanwhile the previous results are moved through the edits since by the {@link Mapper}, the ones whose text has
+ * been edited being dropped.
+ * {@link #invalidate(Project)} is called when a server asks the client to refresh its results.
+ */
+public class LSPDocumentResultsCache<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LSPDocumentResultsCache.class);
+
+    private static final long DEBOUNCE_DELAY_MS = Long.getLong("open-liberty.intellij.lsp.debounceDelay", 300L);
+
+    private static final int CHUNK_LINES = Integer.getInteger("open-liberty.intellij.lsp.chunkLines", 100);
+
+    // the chunk of a request for the whole document
+    private static final int WHOLE_DOCUMENT = -1;
+
+    /**
+     * Requests the results of a document from the language servers.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        /**
+         * @param project  the project
+         * @param document the document
+         * @param range    the range of the document to request, or null for the whole document
+         * @return the results with the language server which returned them
+         */
+        CompletableFuture<List<Pair<T, LanguageServer>>> load(Project project, Document document, @Nullable Range range);
+    }
+
+    /**
+     * Moves a result computed for a previous content of the document to the current content.
+     */
+    @FunctionalInterface
+    public interface Mapper<T> {
+        /**
+         * @param result   the result
+         * @param document the document
+         * @param stamp    the modification stamp of the document the result was computed for
+         * @return the result for the current content, or null if it's stale
+         */
+        @Nullable
+        T map(T result, Document document, long stamp);
+    }
+
+    private final Key<Map<Integer, State<T>>> key;
+    private final Loader<T> loader;
+    private final Mapper<T> mapper;
+    private final AtomicLong generation = new AtomicLong();
+
+    private static class State<T> {
+        private long stamp = -1;
+        private long generation = -1;
+        private List<Pair<T, LanguageServer>> results = Collections.emptyList();
+        private long requestedStamp = -1;
+        private long requestedGeneration = -1;
+        private Future<?> request;
+        private long mappedStamp = -1;
+        private List<Pair<T, LanguageServer>> mapped;
+    }
+
+    public LSPDocumentResultsCache(@NotNull String name, @NotNull Loader<T> loader) {
+        this(name, loader, null);
+    }
+
+    public LSPDocumentResultsCache(@NotNull String name, @NotNull Loader<T> loader, @Nullable Mapper<T> mapper) {
+        this.key = Key.create("open-liberty.intellij.lsp4ij." + name);
+        this.loader = loader;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Returns the results for the current content of the document, or the last known ones while fresh results are
+     * being requested.
+     */
+    @NotNull
+    public List<Pair<T, LanguageServer>> get(@NotNull Project project, @NotNull Document document) {
+        Map<Integer, State<T>> states = getStates(document);
+        long stamp = document.getModificationStamp();
+        long currentGeneration = generation.get();
+        synchronized (states) {
+            return get(project, document, states, WHOLE_DOCUMENT, stamp, currentGeneration);
+        }
+    }
+
+    /**
+     * Returns the results of the chunks covering the given lines for the current content of the document, or the
+     * last known ones while fresh results are being requested. The results may be outside the given lines.
+     *
+     * @param firstLine the first line, inclusive
+     * @param lastLine  the last line, inclusive
+     */
+    @NotNull
+    public List<Pair<T, LanguageServer>> get(@NotNull Project project, @NotNull Document document, int firstLine,
+                                             int lastLine) {
+        Map<Integer, State<T>> states = getStates(document);
+        long stamp = document.getModificationStamp();
+        long currentGeneration = generation.get();
+        int firstChunk = Math.max(0, firstLine) / CHUNK_LINES;
+        int lastChunk = Math.max(firstLine, Math.min(lastLine, document.getLineCount() - 1)) / CHUNK_LINES;
+        List<Pair<T, LanguageServer>> results = new ArrayList<>();
+        synchronized (states) {
+            // the chunks which aren't displayed are only kept while the document doesn't change
+            states.entrySet().removeIf(entry -> {
+                int chunk = entry.getKey();
+                State<T> state = entry.getValue();
+                if ((chunk < firstChunk || chunk > lastChunk) && state.stamp != stamp
+                        && state.requestedStamp != stamp) {
+                    if (state.request != null) {
+                        state.request.cancel(true);
+                    }
+                    return true;
+                }
+                return false;
+            });
+            for (int chunk = firstChunk; chunk <= lastChunk; chunk++) {
+                results.addAll(get(project, document, states, chunk, stamp, currentGeneration));
+            }
+        }
+        return results;
+    }
+
+    private List<Pair<T, LanguageServer>> get(Project project, Document document, Map<Integer, State<T>> states,
+                                              int chunk, long stamp, long currentGeneration) {
+        State<T> state = states.computeIfAbsent(chunk, c -> new State<>());
+        if (state.stamp == stamp && state.generation == currentGeneration) {
+            return state.results;
+        }
+        List<Pair<T, LanguageServer>> results = getCurrentResults(document, state, stamp);
+        if (state.requestedStamp != stamp || state.requestedGeneration != currentGeneration) {
+            if (state.request != null) {
+                state.request.cancel(true);
+            }
+            state.requestedStamp = stamp;
+            state.requestedGeneration = currentGeneration;
+            // don't delay the first request, there's nothing to display meanwhile
+            long delay = state.stamp == -1 ? 0 : DEBOUNCE_DELAY_MS;
+            state.request = AppExecutorUtil.getAppScheduledExecutorService().schedule(
+                    () -> request(project, document, states, state, chunk, stamp, currentGeneration),
+                    delay, TimeUnit.MILLISECONDS);
+        }
+        return results;
+    }
+
+    private List<Pair<T, LanguageServer>> getCurrentResults(Document document, State<T> state, long stamp) {
+        if (mapper == null || state.stamp == -1 || state.stamp == stamp) {
+            return state.results;
+        }
+        if (state.mappedStamp != stamp) {
+            List<Pair<T, LanguageServer>> mapped = new ArrayList<>(state.results.size());
+            for (Pair<T, LanguageServer> result : state.results) {
+                T moved = mapper.map(result.getFirst(), document, state.stamp);
+                if (moved != null) {
+                    mapped.add(moved == result.getFirst() ? result : Pair.create(moved, result.getSecond()));
+                }
+            }
+            state.mapped = Collections.unmodifiableList(mapped);
+            state.mappedStamp = stamp;
+        }
+        return state.mapped;
+    }
+
+    /**
+     * Marks all the cached results as stale and re-highlights the open files of the project.
+     */
+    public void invalidate(@NotNull Project project) {
+        generation.incrementAndGet();
+        if (!project.isDisposed()) {
+            ApplicationManager.getApplication().invokeLater(() -> DaemonCodeAnalyzer.getInstance(project).restart(),
+                    project.getDisposed());
+        }
+    }
+
+    private Map<Integer, State<T>> getStates(Document document) {
+        Map<Integer, State<T>> states = document.getUserData(key);
+        if (states == null) {
+            synchronized (document) {
+                states = document.getUserData(key);
+                if (states == null) {
+                    states = new TreeMap<>();
+                    document.putUserData(key, states);
+                }
+            }
+        }
+        return states;
+    }
+
+    @Nullable
+    private static Range getRange(Document document, int chunk) {
+        if (chunk == WHOLE_DOCUMENT) {
+            return null;
+        }
+        return ReadAction.compute(() -> {
+            int lineCount = Math.max(1, document.getLineCount());
+            int startLine = Math.min(chunk * CHUNK_LINES, lineCount - 1);
+            int endLine = (chunk + 1) * CHUNK_LINES;
+            Position end = endLine < lineCount ? new Position(endLine, 0)
+                    : LSPIJUtils.toPosition(document.getTextLength(), document);
+            return new Range(new Position(startLine, 0), end);
+        });
+    }
+
+    private void request(Project project, Document document, Map<Integer, State<T>> states, State<T> state, int chunk,
+                         long stamp, long requestGeneration) {
+        if (project.isDisposed()) {
+            return;
+        }
+        CompletableFuture<List<Pair<T, LanguageServer>>> future = loader.load(project, document,
+                getRange(document, chunk));
+        synchronized (states) {
+            if (state.requestedStamp != stamp || state.requestedGeneration != requestGeneration) {
+                future.cancel(true);
+                return;
+            }
+            state.request = future;
+        }
+        future.whenComplete((results, error) -> {
+            boolean changed;
+            synchronized (states) {
+                if (state.requestedStamp != stamp || state.requestedGeneration != requestGeneration) {
+                    return;
+                }
+                state.request = null;
+                if (error != null) {
+                    // let the next highlighting pass retry
+                    state.requestedStamp = -1;
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        // the language server is slow, see LanguageServerHealth
+                        LOGGER.debug(cause.getLocalizedMessage());
+                    } else if (!(cause instanceof CancellationException)) {
+                        LOGGER.warn(error.getLocalizedMessage(), cause);
+                    }
+                    return;
+                }
+                List<Pair<T, LanguageServer>> fresh = Collections.unmodifiableList(results);
+                changed = !fresh.equals(state.results);
+                state.results = fresh;
+                state.stamp = stamp;
+                state.mappedStamp = -1;
+                state.mapped = null;
+                state.generation = requestGeneration;
+            }
+            if (changed) {
+                restart(project, document);
+            }
+        });
+    }
+
+    /**
+     * Returns true if the given position is in the given range, the end of the range being excluded so that a
+     * result at the boundary of two chunks is only kept once.
+     */
+    public static boolean isInRange(@NotNull Position position, @NotNull Range range) {
+        Position start = range.getStart();
+        Position end = range.getEnd();
+        if (position.getLine() < start.getLine() || (position.getLine() == start.getLine()
+                && position.getCharacter() < start.getCharacter())) {
+            return false;
+        }
+        return position.getLine() < end.getLine() || (position.getLine() == end.getLine()
+                && position.getCharacter() < end.getCharacter());
+    }
+
+    private static void restart(Project project, Document document) {
+        ApplicationManager.getApplication().invokeLater(() -> {
+            PsiFile file = PsiDocumentManager.getInstance(project).getPsiFile(document);
+            if (file != null) {
+                DaemonCodeAnalyzer.getInstance(project).restart(file);
+            }
+        }, project.getDisposed());
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp.lsp4ij;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.event.VisibleAreaEvent;
+import com.intellij.openapi.editor.event.VisibleAreaListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the lines displayed by an editor, so that the inlay hints and the code lenses are only requested and
+ * displayed for the visible part of the document plus a margin. When the editor is scrolled out of the lines
+ * collected by the last highlighting pass, the file is highlighted again to collect the newly visible lines.
+ */
+public class LSPEditorViewport implements VisibleAreaListener {
+
+    private static final int MARGIN_LINES = Integer.getInteger("open-liberty.intellij.lsp.viewportMargin", 50);
+
+    // lines assumed to be visible until the editor has been laid out
+    private static final int DEFAULT_VISIBLE_LINES = 100;
+
+    private static final long SCROLL_DELAY_MS = 200L;
+
+    private static final Key<LSPEditorViewport> KEY = Key.create("open-liberty.intellij.lsp4ij.viewport");
+
+    /**
+     * A range of lines, both inclusive.
+     */
+    public static class LineRange {
+        private final int first;
+        private final int last;
+
+        private LineRange(int first, int last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        public int getFirst() {
+            return first;
+        }
+
+        public int getLast() {
+            return last;
+        }
+
+        public boolean contains(int line) {
+            return line >= first && line <= last;
+        }
+    }
+
+    private final Editor editor;
+
+    private volatile LineRange visible;
+
+    private volatile LineRange collected;
+
+    // accessed in the EDT
+    private Future<?> restart;
+
+    private LSPEditorViewport(Editor editor) {
+        this.editor = editor;
+    }
+
+    /**
+     * Returns the lines of the editor for which results are displayed, the visible ones plus a margin, and records
+     * them as the lines collected by the current highlighting pass. Must be called in a read action.
+     */
+    @NotNull
+    public static LineRange getLinesToCollect(@NotNull Editor editor) {
+        LSPEditorViewport viewport = editor.getUserData(KEY);
+        if (viewport == null) {
+            synchronized (editor) {
+                viewport = editor.getUserData(KEY);
+                if (viewport == null) {
+                    viewport = new LSPEditorViewport(editor);
+                    editor.putUserData(KEY, viewport);
+                    LSPEditorViewport listener = viewport;
+                    ApplicationManager.getApplication().invokeLater(() -> {
+                        if (!editor.isDisposed()) {
+                            editor.getScrollingModel().addVisibleAreaListener(listener);
+                            listener.update();
+                        }
+                    });
+                }
+            }
+        }
+        LineRange visible = viewport.visible;
+        if (visible == null) {
+            int caretLine = editor.getCaretModel().getLogicalPosition().line;
+            visible = new LineRange(Math.max(0, caretLine - DEFAULT_VISIBLE_LINES / 2), caretLine + DEFAULT_VISIBLE_LINES / 2);
+        }
+        LineRange lines = new LineRange(Math.max(0, visible.first - MARGIN_LINES), visible.last + MARGIN_LINES);
+        viewport.collected = lines;
+        return lines;
+    }
+
+    @Override
+    public void visibleAreaChanged(@NotNull VisibleAreaEvent e) {
+        update();
+    }
+
+    private void update() {
+        Rectangle area = editor.getScrollingModel().getVisibleArea();
+        if (area.height <= 0) {
+            return;
+        }
+        int first = editor.xyToLogicalPosition(area.getLocation()).line;
+        int last = editor.xyToLogicalPosition(new Point(area.x, area.y + area.height)).line;
+        visible = new LineRange(first, last);
+        LineRange lines = collected;
+        boolean pending = restart != null && !restart.isDone();
+        if (pending || (lines != null && (!lines.contains(first) || !lines.contains(last)))) {
+            // highlight again once, when the scrolling settles
+            collected = null;
+            if (pending) {
+                restart.cancel(false);
+            }
+            restart = AppExecutorUtil.getAppScheduledExecutorService().schedule(this::restart, SCROLL_DELAY_MS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void restart() {
+        Project project = editor.getProject();
+        if (project == null) {
+            return;
+        }
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (editor.isDisposed()) {
+                return;
+            }
+            PsiFile file = PsiDocumentManager.getInstance(project).getPsiFile(editor.getDocument());
+            if (file != null) {
+                DaemonCodeAnalyzer.getInstance(project).restart(file);
+            }
+        }, project.getDisposed());
+    }
+}
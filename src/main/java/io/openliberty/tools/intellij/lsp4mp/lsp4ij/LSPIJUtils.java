@@ -14,6 +14,7 @@ import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectManager;
 import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VfsUtil;
@@ -47,6 +48,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -121,6 +123,19 @@ public class LSPIJUtils {
         return lineStartOffset + start.getCharacter();
     }
 
+    /**
+     * Same as {@link #toOffset(Position, Document)} but returns -1 if the line doesn't exist in the document, which
+     * happens when the position was computed for a previous version of the document. The offset is clamped to the
+     * end of the line.
+     */
+    public static int toOffsetIfValid(Position position, Document document) {
+        if (position == null || position.getLine() < 0 || position.getLine() >= document.getLineCount()) {
+            return -1;
+        }
+        int lineStartOffset = document.getLineStartOffset(position.getLine());
+        return Math.min(lineStartOffset + Math.max(position.getCharacter(), 0), document.getLineEndOffset(position.getLine()));
+    }
+
     public static Position toPosition(int offset, Document document) {
         int line = document.getLineNumber(offset);
         int lineStart = document.getLineStartOffset(line);
@@ -212,34 +227,37 @@ public class LSPIJUtils {
     }
 
     private static void applyWorkspaceEdit(Document document, List<TextEdit> edits) {
+        // the ranges of all the edits refer to the document before any of them is applied, track them with range
+        // markers so that applying an edit doesn't shift the following ones
+        List<Pair<RangeMarker, String>> markers = new ArrayList<>(edits.size());
         for(TextEdit edit : edits) {
             if (edit.getRange() != null) {
-                String text = edit.getNewText();
                 // compute start and end char offsets of the new Edit text
                 int start = toOffset(edit.getRange().getStart(), document);
                 int end;
                 try {
                     end = toOffset(edit.getRange().getEnd(), document); // get endoffset of new edit from current document, out of bounds if new text doc has more lines
                 } catch (IndexOutOfBoundsException e) { // likely trying to get end of document
-                    end = -1;
+                    end = document.getTextLength();
                 }
-                if (StringUtils.isEmpty(text)) {
-                    document.deleteString(start, end);
+                markers.add(Pair.create(document.createRangeMarker(start, Math.max(start, end)), edit.getNewText()));
+            }
+        }
+        for (Pair<RangeMarker, String> marker : markers) {
+            int start = marker.getFirst().getStartOffset();
+            int end = marker.getFirst().getEndOffset();
+            String text = marker.getSecond();
+            if (StringUtils.isEmpty(text)) {
+                document.deleteString(start, end);
+            } else {
+                text = text.replaceAll("\r", ""); // removes carriage return
+                if (end - start <= 0) {
+                    document.insertString(start, text);
                 } else {
-                    text = text.replaceAll("\r", ""); // removes carriage return
-                    if (end >= 0) {
-                        if (end - start <= 0) {
-                            document.insertString(start, text);
-                        } else {
-                            document.replaceString(start, end, text);
-                        }
-                    } else if (start == 0) {
-                        document.setText(text);
-                    } else if (start > 0) {
-                        document.insertString(start, text);
-                    }
+                    document.replaceString(start, end, text);
                 }
             }
+            marker.getFirst().dispose();
         }
     }
 
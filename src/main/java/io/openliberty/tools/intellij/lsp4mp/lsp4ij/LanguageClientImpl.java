@@ -1,9 +1,10 @@
 package io.openliberty.tools.intellij.lsp4mp.lsp4ij;
 
-import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.Project;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.codelens.LSPInlayProvider;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.diagnostics.LSPDiagnosticsToMarkers;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.inlayhint.LSPInlayHintInlayProvider;
 import org.eclipse.lsp4j.ApplyWorkspaceEditParams;
 import org.eclipse.lsp4j.ApplyWorkspaceEditResponse;
 import org.eclipse.lsp4j.MessageActionItem;
@@ -38,7 +39,7 @@ public class LanguageClientImpl implements LanguageClient {
     public final void connect(LanguageServer server, LanguageServerWrapper wrapper) {
         this.server = server;
         this.wrapper = wrapper;
-        this.diagnosticHandler = new LSPDiagnosticsToMarkers(wrapper.serverDefinition.id);
+        this.diagnosticHandler = new LSPDiagnosticsToMarkers(wrapper);
     }
 
     protected final LanguageServer getLanguageServer() {
@@ -74,12 +75,7 @@ public class LanguageClientImpl implements LanguageClient {
 
     @Override
     public final CompletableFuture<ApplyWorkspaceEditResponse> applyEdit(ApplyWorkspaceEditParams params) {
-        CompletableFuture<ApplyWorkspaceEditResponse> future = new CompletableFuture<>();
-        ApplicationManager.getApplication().executeOnPooledThread(() -> {
-            LSPIJUtils.applyWorkspaceEdit(params.getEdit());
-            future.complete(new ApplyWorkspaceEditResponse(true));
-        });
-        return future;
+        return WorkspaceEditApplier.apply(project, params.getEdit(), params.getLabel(), wrapper);
     }
 
     @Override
@@ -92,6 +88,16 @@ public class LanguageClientImpl implements LanguageClient {
         return CompletableFuture.runAsync(() -> wrapper.unregisterCapability(params));
     }
 
+    @Override
+    public CompletableFuture<Void> refreshCodeLenses() {
+        return CompletableFuture.runAsync(() -> LSPInlayProvider.refresh(project));
+    }
+
+    @Override
+    public CompletableFuture<Void> refreshInlayHints() {
+        return CompletableFuture.runAsync(() -> LSPInlayHintInlayProvider.refresh(project));
+    }
+
     @Override
     public CompletableFuture<List<WorkspaceFolder>> workspaceFolders() {
         List<WorkspaceFolder> res = new ArrayList<>(wrapper.allWatchedProjects.size());
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp.lsp4ij;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Tracks the latency of the requests sent to a language server and derives the deadline of the next requests of each
+ * method from it: once enough responses have been received, a request times out after a multiple of the 95th
+ * percentile of the recent latencies of its method, bounded around the default timeout of the method.
+ *
+ * It's also a circuit breaker: after a few consecutive timeouts the server is considered unresponsive and the
+ * non-essential features (hover, highlights, code lenses, inlay hints, quick fixes) skip it for a cool-down period,
+ * doubled each time the server fails again. Once the cool-down has elapsed the requests are sent again, and the
+ * first response closes the circuit.
+ */
+public class LanguageServerHealth {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LanguageServerHealth.class);
+
+    public static final String HOVER = "textDocument/hover";
+    public static final String DEFINITION = "textDocument/definition";
+    public static final String COMPLETION = "textDocument/completion";
+    public static final String CODE_ACTION = "textDocument/codeAction";
+    public static final String CODE_LENS = "textDocument/codeLens";
+    public static final String INLAY_HINT = "textDocument/inlayHint";
+    public static final String DOCUMENT_HIGHLIGHT = "textDocument/documentHighlight";
+    public static final String SHUTDOWN = "shutdown";
+
+    private static final Map<String, Long> DEFAULT_TIMEOUTS_MS = Map.of(
+            HOVER, 5_000L,
+            DEFINITION, 1_000L,
+            COMPLETION, 10_000L,
+            CODE_ACTION, 10_000L,
+            CODE_LENS, 10_000L,
+            INLAY_HINT, 10_000L,
+            DOCUMENT_HIGHLIGHT, 2_000L,
+            SHUTDOWN, 5_000L);
+    private static final long DEFAULT_TIMEOUT_MS = 10_000L;
+
+    private static final int WINDOW_SIZE = 64;
+    private static final int MIN_SAMPLES = 5;
+    private static final int LATENCY_FACTOR = 3;
+
+    private static final int FAILURE_THRESHOLD = Integer.getInteger("open-liberty.intellij.lsp.failureThreshold", 3);
+    private static final long COOL_DOWN_MS = Long.getLong("open-liberty.intellij.lsp.coolDown", 30_000L);
+    private static final long MAX_COOL_DOWN_MS = 5 * 60_000L;
+
+    public enum State {
+        /**
+         * The server responds, all the requests are sent.
+         */
+        CLOSED,
+        /**
+         * The server is unresponsive, the non-essential requests aren't sent.
+         */
+        OPEN,
+        /**
+         * The cool-down has elapsed, the requests are sent again until the server responds or times out.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * The last latencies of a method.
+     */
+    private static class Window {
+        private final long[] samples = new long[WINDOW_SIZE];
+        private int count;
+        private int next;
+
+        private void add(long latency) {
+            samples[next] = latency;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+        }
+
+        private long getPercentile(int percentile) {
+            if (count == 0) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            return sorted[Math.min(count - 1, (count * percentile) / 100)];
+        }
+    }
+
+    private final String serverId;
+
+    private final Map<String, Window> windows = new HashMap<>();
+    private final Window all = new Window();
+
+    private State state = State.CLOSED;
+    private int consecutiveTimeouts;
+    private long coolDown = COOL_DOWN_MS;
+    private long openUntil;
+
+    LanguageServerHealth(@NotNull String serverId) {
+        this.serverId = serverId;
+    }
+
+    /**
+     * Returns the deadline of the next request of the given method.
+     *
+     * @param method the LSP method
+     * @return the timeout in milliseconds
+     */
+    public synchronized long getTimeout(@NotNull String method) {
+        long defaultTimeout = DEFAULT_TIMEOUTS_MS.getOrDefault(method, DEFAULT_TIMEOUT_MS);
+        Window window = windows.get(method);
+        if (window == null || window.count < MIN_SAMPLES) {
+            return defaultTimeout;
+        }
+        long timeout = window.getPercentile(95) * LATENCY_FACTOR;
+        return Math.max(defaultTimeout / 4, Math.min(timeout, defaultTimeout * 2));
+    }
+
+    /**
+     * Returns false while the circuit is open, the non-essential features don't send their requests to the server.
+     */
+    public synchronized boolean isAvailable() {
+        if (state == State.OPEN && System.currentTimeMillis() >= openUntil) {
+            state = State.HALF_OPEN;
+            LOGGER.info("Retrying language server '" + serverId + "' after " + coolDown + "ms");
+        }
+        return state != State.OPEN;
+    }
+
+    public synchronized State getState() {
+        isAvailable();
+        return state;
+    }
+
+    /**
+     * Returns the milliseconds before the requests are sent again to the server, 0 if the circuit isn't open.
+     */
+    public synchronized long getRetryDelay() {
+        return state == State.OPEN ? Math.max(0, openUntil - System.currentTimeMillis()) : 0;
+    }
+
+    /**
+     * Returns the given percentile of the recent latencies of all the methods, or -1 if no response has been received.
+     */
+    public synchronized long getLatencyPercentile(int percentile) {
+        return all.getPercentile(percentile);
+    }
+
+    /**
+     * Tracks the given request: its latency is recorded and it's cancelled once the deadline of its method has
+     * elapsed.
+     *
+     * @param method  the LSP method
+     * @param request the request sent to the server
+     * @return the result of the request, completed with a {@link TimeoutException} if the server doesn't respond in
+     * time, cancelling it cancels the request
+     */
+    public <T> CompletableFuture<T> track(@NotNull String method, @NotNull CompletableFuture<T> request) {
+        long timeout = getTimeout(method);
+        long start = System.currentTimeMillis();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ScheduledFuture<?> timer = AppExecutorUtil.getAppScheduledExecutorService().schedule(() -> {
+            if (result.completeExceptionally(new TimeoutException(method + " request to '" + serverId
+                    + "' timed out after " + timeout + "ms"))) {
+                request.cancel(true);
+                timedOut(method);
+            }
+        }, timeout, TimeUnit.MILLISECONDS);
+        request.whenComplete((value, error) -> {
+            timer.cancel(false);
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            if (!(cause instanceof CancellationException)) {
+                // an error response is a response too
+                responded(method, System.currentTimeMillis() - start);
+            }
+            if (error == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private synchronized void responded(String method, long latency) {
+        windows.computeIfAbsent(method, m -> new Window()).add(latency);
+        all.add(latency);
+        consecutiveTimeouts = 0;
+        if (state != State.CLOSED) {
+            LOGGER.info("Language server '" + serverId + "' is responsive again");
+            state = State.CLOSED;
+            coolDown = COOL_DOWN_MS;
+        }
+    }
+
+    private synchronized void timedOut(String method) {
+        consecutiveTimeouts++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveTimeouts >= FAILURE_THRESHOLD)) {
+            if (state == State.HALF_OPEN) {
+                coolDown = Math.min(coolDown * 2, MAX_COOL_DOWN_MS);
+            }
+            state = State.OPEN;
+            openUntil = System.currentTimeMillis() + coolDown;
+            LOGGER.warn("Language server '" + serverId + "' didn't respond to " + consecutiveTimeouts
+                    + " requests (last: " + method + "), skipping it for " + coolDown + "ms");
+        }
+    }
+
+    /**
+     * Forgets the state of the server, called when it's stopped.
+     */
+    synchronized void reset() {
+        windows.clear();
+        Arrays.fill(all.samples, 0);
+        all.count = 0;
+        all.next = 0;
+        state = State.CLOSED;
+        consecutiveTimeouts = 0;
+        coolDown = COOL_DOWN_MS;
+    }
+}
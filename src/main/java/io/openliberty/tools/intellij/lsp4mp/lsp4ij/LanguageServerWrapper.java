@@ -27,6 +27,8 @@ import com.intellij.openapi.module.Module;
 import com.intellij.openapi.project.ModuleListener;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.messages.MessageBusConnection;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.server.StreamConnectionProvider;
 import org.eclipse.lsp4j.ClientCapabilities;
@@ -37,10 +39,13 @@ import org.eclipse.lsp4j.CodeActionKindCapabilities;
 import org.eclipse.lsp4j.CodeActionLiteralSupportCapabilities;
 import org.eclipse.lsp4j.CodeActionOptions;
 import org.eclipse.lsp4j.CodeLensCapabilities;
+import org.eclipse.lsp4j.CodeLensWorkspaceCapabilities;
 import org.eclipse.lsp4j.ColorProviderCapabilities;
 import org.eclipse.lsp4j.CompletionCapabilities;
 import org.eclipse.lsp4j.CompletionItemCapabilities;
 import org.eclipse.lsp4j.DefinitionCapabilities;
+import org.eclipse.lsp4j.DidChangeWatchedFilesCapabilities;
+import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
 import org.eclipse.lsp4j.DidChangeWorkspaceFoldersParams;
 import org.eclipse.lsp4j.DocumentFormattingOptions;
 import org.eclipse.lsp4j.DocumentHighlightCapabilities;
@@ -54,6 +59,7 @@ import org.eclipse.lsp4j.FormattingCapabilities;
 import org.eclipse.lsp4j.HoverCapabilities;
 import org.eclipse.lsp4j.InitializeParams;
 import org.eclipse.lsp4j.InitializedParams;
+import org.eclipse.lsp4j.InlayHintWorkspaceCapabilities;
 import org.eclipse.lsp4j.MarkupKind;
 import org.eclipse.lsp4j.RangeFormattingCapabilities;
 import org.eclipse.lsp4j.ReferencesCapabilities;
@@ -105,18 +111,24 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.UnaryOperator;
 
 public class LanguageServerWrapper {
     private static final Logger LOGGER = LoggerFactory.getLogger(LanguageServerWrapper.class);//$NON-NLS-1$
     private static final String CLIENT_NAME = "IntelliJ";
+    private static final long STOP_DELAY_MS = Long.getLong("open-liberty.intellij.lsp.stopDelay", 3000L);
+    // a wrapper just created or used is not evicted, its caller connects its documents after the lookup
+    private static final long EVICTION_GRACE_MS = Long.getLong("open-liberty.intellij.lsp.evictionGrace", 10000L);
 
     class Listener implements DocumentListener, FileDocumentManagerListener {
         @Override
@@ -141,8 +153,19 @@ public class LanguageServerWrapper {
     }
 
     private Listener fileBufferListener = new Listener();
+    private final FileSystemWatcherManager fileSystemWatchers = new FileSystemWatcherManager(this::didChangeWatchedFiles);
+
+    private final LanguageServerHealth health;
     private MessageBusConnection messageBusConnection = null;
 
+    /*
+     * Threading model: the connected documents, the watched projects and the dynamic registrations are concurrent
+     * structures, read and updated without locking the wrapper, so that documents can be connected and disconnected
+     * from any thread at the same time. The lifecycle of the server (start, stop) and the workspace folders
+     * notifications are serialized by the wrapper monitor; the lifecycle fields are volatile so that the started
+     * server can be read without taking it.
+     */
+
     @Nonnull
     public final LanguageServersRegistry.LanguageServerDefinition serverDefinition;
     @Nullable
@@ -150,23 +173,36 @@ public class LanguageServerWrapper {
     @Nonnull
     protected final Set<Module> allWatchedProjects;
     @Nonnull
-    protected Map<URI, DocumentContentSynchronizer> connectedDocuments;
+    protected final Map<URI, DocumentContentSynchronizer> connectedDocuments;
     @Nullable
     protected final URI initialPath;
 
-    protected StreamConnectionProvider lspStreamProvider;
-    private Future<?> launcherFuture;
-    private CompletableFuture<Void> initializeFuture;
-    private LanguageServer languageServer;
-    private ServerCapabilities serverCapabilities;
+    protected volatile StreamConnectionProvider lspStreamProvider;
+    private volatile Future<?> launcherFuture;
+    private volatile CompletableFuture<Void> initializeFuture;
+    private volatile LanguageServer languageServer;
+    private volatile ServerCapabilities serverCapabilities;
     private AtomicBoolean stopping = new AtomicBoolean(false);
 
     /**
      * Map containing unregistration handlers for dynamic capability registrations.
      */
-    private @Nonnull Map<String, Runnable> dynamicRegistrations = new HashMap<>();
+    private final @Nonnull Map<String, Runnable> dynamicRegistrations = new ConcurrentHashMap<>();
     private boolean initiallySupportsWorkspaceFolders = false;
 
+    /**
+     * Watched projects not yet announced to the language server with a workspace/didChangeWorkspaceFolders
+     * notification because the server was not initialized when they were added.
+     */
+    private final Set<Module> pendingWorkspaceFolders = new HashSet<>();
+    // unwatches the removed modules, subscribed with the first watched project
+    private MessageBusConnection modulesConnection = null;
+    private volatile long lastUsed = System.currentTimeMillis();
+    // the connections started and not completed yet, the documents are only registered once the server is initialized
+    private final AtomicInteger pendingConnections = new AtomicInteger();
+    // the deferred stop scheduled when the last document is disconnected, cancelled when a document connects
+    private volatile ScheduledFuture<?> stopTask = null;
+
     /* Backwards compatible constructor */
     public LanguageServerWrapper(@Nonnull Module project, @Nonnull LanguageServersRegistry.LanguageServerDefinition serverDefinition) {
         this(project, serverDefinition, null);
@@ -181,9 +217,10 @@ public class LanguageServerWrapper {
                                   @Nullable URI initialPath) {
         this.initialProject = project;
         this.initialPath = initialPath;
-        this.allWatchedProjects = new HashSet<>();
+        this.allWatchedProjects = ConcurrentHashMap.newKeySet();
         this.serverDefinition = serverDefinition;
-        this.connectedDocuments = new HashMap<>();
+        this.health = new LanguageServerHealth(serverDefinition.id);
+        this.connectedDocuments = new ConcurrentHashMap<>();
         this.launcherFuture = null;
         this.initializeFuture = null;
     }
@@ -200,7 +237,17 @@ public class LanguageServerWrapper {
      *
      * @throws IOException
      */
-    public synchronized void start() throws IOException {
+    public void start() throws IOException {
+        if (this.languageServer != null && isActive()) {
+            // already started, don't wait for the monitor
+            return;
+        }
+        synchronized (this) {
+            startServer();
+        }
+    }
+
+    private synchronized void startServer() throws IOException {
         Map<URI, Document> filesToReconnect = new HashMap<>();
         if (this.languageServer != null) { // already been started
             if (isActive()) {
@@ -213,6 +260,13 @@ public class LanguageServerWrapper {
             }
         }
         if (this.initializeFuture == null) {
+            // watched projects have to be announced again to the new language server process, except the initial
+            // project which is the root of the initialize request
+            for (Module watchedProject : this.allWatchedProjects) {
+                if (!watchedProject.equals(this.initialProject)) {
+                    this.pendingWorkspaceFolders.add(watchedProject);
+                }
+            }
 
             ExecutorService executorService = Executors.newCachedThreadPool();
             final InitializeParams initParams = new InitializeParams();
@@ -267,6 +321,9 @@ public class LanguageServerWrapper {
                 workspaceClientCapabilities.setExecuteCommand(new ExecuteCommandCapabilities(Boolean.TRUE));
                 workspaceClientCapabilities.setSymbol(new SymbolCapabilities(Boolean.TRUE));
                 workspaceClientCapabilities.setWorkspaceFolders(Boolean.TRUE);
+                workspaceClientCapabilities.setCodeLens(new CodeLensWorkspaceCapabilities(Boolean.TRUE));
+                workspaceClientCapabilities.setInlayHint(new InlayHintWorkspaceCapabilities(Boolean.TRUE));
+                workspaceClientCapabilities.setDidChangeWatchedFiles(new DidChangeWatchedFilesCapabilities(Boolean.TRUE));
                 WorkspaceEditCapabilities editCapabilities = new WorkspaceEditCapabilities();
                 editCapabilities.setDocumentChanges(Boolean.TRUE);
                 editCapabilities.setResourceOperations(Arrays.asList(ResourceOperationKind.Create,
@@ -327,6 +384,7 @@ public class LanguageServerWrapper {
             }).thenAccept(res -> {
                 serverCapabilities = res.getCapabilities();
                 this.initiallySupportsWorkspaceFolders = supportsWorkspaceFolders(serverCapabilities);
+                invalidateRouting();
             }).thenRun(() -> {
                 this.languageServer.initialized(new InitializedParams());
             }).thenRun(() -> {
@@ -335,6 +393,7 @@ public class LanguageServerWrapper {
                     if (this.initialProject != null) {
                         watchProject(this.initialProject, true);
                     }
+                    announcePendingWorkspaceFolders();
                     for (Map.Entry<URI, Document> fileToReconnect : toReconnect.entrySet()) {
                         try {
                             connect(fileToReconnect.getKey(), fileToReconnect.getValue());
@@ -352,6 +411,17 @@ public class LanguageServerWrapper {
             EditorFactory.getInstance().getEventMulticaster().addDocumentListener(fileBufferListener);
             messageBusConnection = ApplicationManager.getApplication().getMessageBus().connect();
             messageBusConnection.subscribe(AppTopics.FILE_DOCUMENT_SYNC, fileBufferListener);
+            messageBusConnection.subscribe(VirtualFileManager.VFS_CHANGES, fileSystemWatchers);
+            invalidateRouting();
+        }
+    }
+
+    /**
+     * Notifies the {@link LanguageServiceAccessor} that the file to server routing may have changed.
+     */
+    private void invalidateRouting() {
+        if (this.initialProject != null && !this.initialProject.isDisposed()) {
+            LanguageServiceAccessor.getInstance(this.initialProject.getProject()).invalidateRoutingCache();
         }
     }
 
@@ -402,6 +472,13 @@ public class LanguageServerWrapper {
         }
     }
 
+    /**
+     * @return the latency statistics and the circuit breaker of the language server
+     */
+    public LanguageServerHealth getHealth() {
+        return health;
+    }
+
     /**
      * @return whether the underlying connection to language server is still active
      */
@@ -429,6 +506,8 @@ public class LanguageServerWrapper {
 
         this.serverCapabilities = null;
         this.dynamicRegistrations.clear();
+        this.fileSystemWatchers.clear();
+        this.health.reset();
 
         final Future<?> serverFuture = this.launcherFuture;
         final StreamConnectionProvider provider = this.lspStreamProvider;
@@ -438,7 +517,7 @@ public class LanguageServerWrapper {
             if (languageServerInstance != null) {
                 CompletableFuture<Object> shutdown = languageServerInstance.shutdown();
                 try {
-                    shutdown.get(5, TimeUnit.SECONDS);
+                    shutdown.get(health.getTimeout(LanguageServerHealth.SHUTDOWN), TimeUnit.MILLISECONDS);
                 } catch (InterruptedException ex) {
                     Thread.currentThread().interrupt();
                 } catch (Exception e) {
@@ -465,8 +544,8 @@ public class LanguageServerWrapper {
         this.launcherFuture = null;
         this.lspStreamProvider = null;
 
-        while (!this.connectedDocuments.isEmpty()) {
-            disconnect(this.connectedDocuments.keySet().iterator().next());
+        for (URI uri : this.connectedDocuments.keySet()) {
+            disconnect(uri);
         }
         this.languageServer = null;
 
@@ -474,6 +553,7 @@ public class LanguageServerWrapper {
         if (messageBusConnection != null) {
             messageBusConnection.disconnect();
         }
+        invalidateRouting();
     }
 
     /**
@@ -507,11 +587,20 @@ public class LanguageServerWrapper {
         return null;
     }
 
-    protected synchronized void watchProject(Module project, boolean isInitializationRootProject) {
+    protected void watchProject(Module project, boolean isInitializationRootProject) {
         if (this.allWatchedProjects.contains(project)) {
             return;
         }
-        if (isInitializationRootProject && !this.allWatchedProjects.isEmpty()) {
+        synchronized (this) {
+            watchNewProject(project, isInitializationRootProject);
+        }
+    }
+
+    private synchronized void watchNewProject(Module project, boolean isInitializationRootProject) {
+        if (this.allWatchedProjects.contains(project)) {
+            return;
+        }
+        if (isInitializationRootProject && !project.equals(this.initialProject)) {
             return; // there can be only one root project
         }
         if (!isInitializationRootProject && !supportsWorkspaceFolderCapability()) {
@@ -519,21 +608,45 @@ public class LanguageServerWrapper {
             // instance
             return;
         }
+        addWatchedProject(project);
+    }
+
+    /**
+     * Shares this language server with the given project, even if the server does not support workspace folders.
+     * Used to multiplex several modules onto one language server process.
+     *
+     * @param project the project to share this language server with
+     */
+    synchronized void shareWith(@Nonnull Module project) {
+        if (!this.allWatchedProjects.contains(project)) {
+            addWatchedProject(project);
+        }
+    }
+
+    private synchronized void addWatchedProject(@Nonnull Module project) {
         this.allWatchedProjects.add(project);
-        project.getProject().getMessageBus().connect(project.getProject()).subscribe(ProjectTopics.MODULES, new ModuleListener() {
-            @Override
-            public void moduleRemoved(@NotNull Project project, @NotNull Module module) {
-                unwatchProject(module);
-            }
-            //TODO: should we handle module rename
-        });
+        if (this.modulesConnection == null) {
+            this.modulesConnection = project.getProject().getMessageBus().connect(project.getProject());
+            this.modulesConnection.subscribe(ProjectTopics.MODULES, new ModuleListener() {
+                @Override
+                public void moduleRemoved(@NotNull Project project, @NotNull Module module) {
+                    if (allWatchedProjects.contains(module)) {
+                        unwatchProject(module);
+                    }
+                }
+                //TODO: should we handle module rename
+            });
+        }
         /*project.getWorkspace().addResourceChangeListener(event -> {
             if (project.equals(event.getResource()) && (event.getDelta().getKind() == IResourceDelta.MOVED_FROM
                     || event.getDelta().getKind() == IResourceDelta.REMOVED)) {
                 unwatchProject(project);
             }
         }, IResourceChangeEvent.POST_CHANGE);*/
-        if (supportsWorkspaceFolderCapability()) {
+        if (this.serverCapabilities == null) {
+            // server not initialized yet, the project is announced once it is
+            this.pendingWorkspaceFolders.add(project);
+        } else if (supportsWorkspaceFolderCapability()) {
             WorkspaceFoldersChangeEvent event = new WorkspaceFoldersChangeEvent();
             event.getAdded().add(LSPIJUtils.toWorkspaceFolder(project));
             DidChangeWorkspaceFoldersParams params = new DidChangeWorkspaceFoldersParams();
@@ -542,8 +655,20 @@ public class LanguageServerWrapper {
         }
     }
 
+    private synchronized void announcePendingWorkspaceFolders() {
+        if (!this.pendingWorkspaceFolders.isEmpty() && supportsWorkspaceFolderCapability() && this.languageServer != null) {
+            WorkspaceFoldersChangeEvent event = new WorkspaceFoldersChangeEvent();
+            this.pendingWorkspaceFolders.forEach(project -> event.getAdded().add(LSPIJUtils.toWorkspaceFolder(project)));
+            DidChangeWorkspaceFoldersParams params = new DidChangeWorkspaceFoldersParams();
+            params.setEvent(event);
+            this.languageServer.getWorkspaceService().didChangeWorkspaceFolders(params);
+        }
+        this.pendingWorkspaceFolders.clear();
+    }
+
     private synchronized void unwatchProject(@Nonnull Module project) {
         this.allWatchedProjects.remove(project);
+        this.pendingWorkspaceFolders.remove(project);
         // TODO? disconnect resources?
         if (supportsWorkspaceFolderCapability()) {
             WorkspaceFoldersChangeEvent event = new WorkspaceFoldersChangeEvent();
@@ -575,18 +700,9 @@ public class LanguageServerWrapper {
      * @since 0.6
      */
     private boolean supportsWorkspaceFolderCapability() {
-        if (this.initializeFuture != null) {
-            try {
-                this.initializeFuture.get(1, TimeUnit.SECONDS);
-            } catch (TimeoutException e) {
-                LOGGER.warn("Could not get if the workspace folder capability is supported due to timeout after 1 second", e); //$NON-NLS-1$
-            } catch (InterruptedException e) {
-                LOGGER.warn(e.getLocalizedMessage(), e);
-                Thread.currentThread().interrupt();
-            } catch (ExecutionException e) {
-                LOGGER.warn(e.getLocalizedMessage(), e);
-            }
-        }
+        // don't wait for the initialization, this is called on the server lookup path. While the server is
+        // initializing the capability is unknown and reported as unsupported; the routing cache of the
+        // LanguageServiceAccessor is invalidated once the capabilities are received.
         return initiallySupportsWorkspaceFolders || supportsWorkspaceFolders(serverCapabilities);
     }
 
@@ -597,7 +713,23 @@ public class LanguageServerWrapper {
      * @noreference internal so far
      */
     private CompletableFuture<LanguageServer> connect(@Nonnull URI absolutePath, Document document) throws IOException {
+        this.pendingConnections.incrementAndGet();
+        CompletableFuture<LanguageServer> connection = null;
+        try {
+            connection = doConnect(absolutePath, document);
+            return connection;
+        } finally {
+            if (connection != null) {
+                connection.whenComplete((ls, e) -> this.pendingConnections.decrementAndGet());
+            } else {
+                this.pendingConnections.decrementAndGet();
+            }
+        }
+    }
+
+    private CompletableFuture<LanguageServer> doConnect(@Nonnull URI absolutePath, Document document) throws IOException {
         final URI thePath = absolutePath; // should be useless
+        this.lastUsed = System.currentTimeMillis();
 
         VirtualFile file = FileDocumentManager.getInstance().getFile(document);
         if (file != null && file.exists()) {
@@ -607,10 +739,8 @@ public class LanguageServerWrapper {
         if (this.connectedDocuments.containsKey(thePath)) {
             return CompletableFuture.completedFuture(languageServer);
         }
+        cancelStopTask();
         start();
-        if (this.initializeFuture == null) {
-            return null;
-        }
         if (document == null) {
             VirtualFile docFile = LSPIJUtils.findResourceFor(thePath);
             document = LSPIJUtils.getDocument(docFile);
@@ -619,36 +749,95 @@ public class LanguageServerWrapper {
             return null;
         }
         final Document theDocument = document;
-        return initializeFuture.thenComposeAsync(theVoid -> {
-            synchronized (connectedDocuments) {
-                if (this.connectedDocuments.containsKey(thePath)) {
-                    return CompletableFuture.completedFuture(null);
+        final CompletableFuture<Void> initialized = this.initializeFuture;
+        if (initialized == null) {
+            return null;
+        }
+        return initialized.thenComposeAsync(theVoid -> {
+            DocumentContentSynchronizer existing = this.connectedDocuments.get(thePath);
+            if (existing != null) {
+                return existing.getDidOpenFuture();
+            }
+            ServerCapabilities capabilities = this.serverCapabilities;
+            Either<TextDocumentSyncKind, TextDocumentSyncOptions> syncOptions = capabilities == null ? null
+                    : capabilities.getTextDocumentSync();
+            TextDocumentSyncKind syncKind = null;
+            if (syncOptions != null) {
+                if (syncOptions.isRight()) {
+                    syncKind = syncOptions.getRight().getChange();
+                } else if (syncOptions.isLeft()) {
+                    syncKind = syncOptions.getLeft();
                 }
-                Either<TextDocumentSyncKind, TextDocumentSyncOptions> syncOptions = initializeFuture == null ? null
-                        : this.serverCapabilities.getTextDocumentSync();
-                TextDocumentSyncKind syncKind = null;
-                if (syncOptions != null) {
-                    if (syncOptions.isRight()) {
-                        syncKind = syncOptions.getRight().getChange();
-                    } else if (syncOptions.isLeft()) {
-                        syncKind = syncOptions.getLeft();
+            }
+            DocumentContentSynchronizer listener = new DocumentContentSynchronizer(this, theDocument, syncKind);
+            synchronized (this) {
+                if (this.initializeFuture == initialized) {
+                    // only the first concurrent connection of the document registers its synchronizer and opens it.
+                    // Registered under the monitor, a stop either happens before and is detected above, or after and
+                    // disconnects the document.
+                    existing = this.connectedDocuments.putIfAbsent(thePath, listener);
+                    if (existing != null) {
+                        return existing.getDidOpenFuture();
                     }
+                    DocumentEditHistory.install(theDocument);
+                    theDocument.addDocumentListener(listener);
+                    return listener.documentOpened();
                 }
-                DocumentContentSynchronizer listener = new DocumentContentSynchronizer(this, theDocument, syncKind);
-                theDocument.addDocumentListener(listener);
-                LanguageServerWrapper.this.connectedDocuments.put(thePath, listener);
-                return listener.didOpenFuture;
             }
+            // the server has been stopped since the connection started, e.g. by stopIfUnused: connect the document
+            // to the restarted server
+            return reconnect(thePath, theDocument);
         }).thenApply(theVoid -> languageServer);
     }
 
+    private CompletableFuture<Void> reconnect(URI path, Document document) {
+        try {
+            CompletableFuture<LanguageServer> connection = connect(path, document);
+            return connection != null ? connection.thenApply(ls -> null) : CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     public void disconnect(URI path) {
-        DocumentContentSynchronizer documentListener = this.connectedDocuments.remove(path);
+        DocumentContentSynchronizer documentListener = path != null ? this.connectedDocuments.remove(path) : null;
         if (documentListener != null) {
             documentListener.getDocument().removeDocumentListener(documentListener);
             documentListener.documentClosed();
         }
-        if (this.connectedDocuments.isEmpty()) {
+        if (this.connectedDocuments.isEmpty() && this.initializeFuture != null) {
+            scheduleStopTask();
+        }
+    }
+
+    private synchronized void scheduleStopTask() {
+        if (this.stopTask == null) {
+            // wait for the editors closed and opened again by a branch switch or a refactoring
+            this.stopTask = AppExecutorUtil.getAppScheduledExecutorService().schedule(this::stopIfUnused,
+                    STOP_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancelStopTask() {
+        if (this.stopTask == null) {
+            // nothing scheduled, don't wait for the monitor
+            return;
+        }
+        synchronized (this) {
+            if (this.stopTask != null) {
+                this.stopTask.cancel(false);
+                this.stopTask = null;
+            }
+        }
+    }
+
+    /**
+     * Stops the server if no document is connected anymore. The documents are registered under the monitor by
+     * {@link #connect(URI, Document)}, which connects again a document whose server was stopped in the meantime.
+     */
+    private synchronized void stopIfUnused() {
+        this.stopTask = null;
+        if (this.connectedDocuments.isEmpty() && this.initializeFuture != null) {
             stop();
         }
     }
@@ -669,13 +858,53 @@ public class LanguageServerWrapper {
         }
     }
 
+    /**
+     * @return true if at least one document is connected to this language server
+     */
+    public boolean hasConnectedDocuments() {
+        return !this.connectedDocuments.isEmpty();
+    }
+
+    /**
+     * @return true if documents are connected or being connected, if the server is initializing, or if it was created or
+     * used in the last {@link #EVICTION_GRACE_MS} milliseconds. A wrapper in use must not be evicted.
+     */
+    public boolean isInUse() {
+        return !this.connectedDocuments.isEmpty() || this.pendingConnections.get() > 0 || isInitializing()
+                || System.currentTimeMillis() - this.lastUsed < EVICTION_GRACE_MS;
+    }
+
+    /**
+     * @return the time in milliseconds when a document was last connected to this language server
+     */
+    public long getLastUsed() {
+        return this.lastUsed;
+    }
+
+    /**
+     * @return the projects served by this language server
+     */
+    @Nonnull
+    public Set<Module> getWatchedProjects() {
+        return Collections.unmodifiableSet(this.allWatchedProjects);
+    }
+
+    /**
+     * @return the handle of the language server process, or null if the server is not running in a process
+     */
+    @Nullable
+    public ProcessHandle getProcessHandle() {
+        StreamConnectionProvider provider = this.lspStreamProvider;
+        return provider != null ? provider.getProcessHandle() : null;
+    }
+
     /**
      * checks if the wrapper is already connected to the document at the given path
      *
      * @noreference test only
      */
     public boolean isConnectedTo(URI location) {
-        return connectedDocuments.containsKey(location);
+        return location != null && connectedDocuments.containsKey(location);
     }
 
     /**
@@ -792,6 +1021,9 @@ public class LanguageServerWrapper {
                         addRegistration(reg, () -> unregisterCommands(newCommands));
                         registerCommands(newCommands);
                     }
+                } else if ("workspace/didChangeWatchedFiles".equals(reg.getMethod())) { //$NON-NLS-1$
+                    fileSystemWatchers.register(reg.getId(), reg.getRegisterOptions());
+                    addRegistration(reg, () -> fileSystemWatchers.unregister(reg.getId()));
                 } else if ("textDocument/formatting".equals(reg.getMethod())) { //$NON-NLS-1$
                     final Either<Boolean, DocumentFormattingOptions> documentFormattingProvider  = serverCapabilities.getDocumentFormattingProvider();
                     if (documentFormattingProvider == null || documentFormattingProvider.isLeft()) {
@@ -819,12 +1051,20 @@ public class LanguageServerWrapper {
         });
     }
 
+    /**
+     * Sends the changes of the files matching the file system watchers registered by the language server.
+     */
+    private void didChangeWatchedFiles(DidChangeWatchedFilesParams params) {
+        final LanguageServer server = this.languageServer;
+        if (server != null && this.serverCapabilities != null && isActive()) {
+            server.getWorkspaceService().didChangeWatchedFiles(params);
+        }
+    }
+
     private void addRegistration(@Nonnull Registration reg, @Nonnull Runnable unregistrationHandler) {
         String regId = reg.getId();
-        synchronized (dynamicRegistrations) {
-            assert !dynamicRegistrations.containsKey(regId):"Registration id is not unique"; //$NON-NLS-1$
-            dynamicRegistrations.put(regId, unregistrationHandler);
-        }
+        Runnable previous = dynamicRegistrations.putIfAbsent(regId, unregistrationHandler);
+        assert previous == null:"Registration id is not unique"; //$NON-NLS-1$
     }
 
     synchronized void setWorkspaceFoldersEnablement(boolean enable) {
@@ -864,12 +1104,7 @@ public class LanguageServerWrapper {
 
     void unregisterCapability(UnregistrationParams params) {
         params.getUnregisterations().forEach(reg -> {
-            String id = reg.getId();
-            Runnable unregistrator;
-            synchronized (dynamicRegistrations) {
-                unregistrator = dynamicRegistrations.get(id);
-                dynamicRegistrations.remove(id);
-            }
+            Runnable unregistrator = dynamicRegistrations.remove(reg.getId());
             if (unregistrator != null) {
                 unregistrator.run();
             }
@@ -897,6 +1132,22 @@ public class LanguageServerWrapper {
         return -1;
     }
 
+    /**
+     * Returns the modification stamp of the document when the given version was sent to the language server, to move
+     * the positions of a response computed for this version with {@link DocumentEditHistory}.
+     *
+     * @param uri     the URI of the document
+     * @param version the version of the document, or null for the last version sent to the language server
+     * @return the modification stamp, or -1 if the document isn't connected or if the version is unknown
+     */
+    public long getDocumentStamp(@Nullable URI uri, @Nullable Integer version) {
+        DocumentContentSynchronizer synchronizer = uri != null ? connectedDocuments.get(uri) : null;
+        if (synchronizer == null) {
+            return -1;
+        }
+        return synchronizer.getDocumentStamp(version != null ? version : synchronizer.getVersion());
+    }
+
     public boolean canOperate(@Nonnull Document document) {
         if (this.isConnectedTo(LSPIJUtils.toUri(document))) {
             return true;
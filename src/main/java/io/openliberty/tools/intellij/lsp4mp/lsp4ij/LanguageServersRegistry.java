@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 public class LanguageServersRegistry {
@@ -35,6 +36,7 @@ public class LanguageServersRegistry {
         public final boolean isSingleton;
         public final @Nonnull Map<Language, String> languageIdMappings;
         public final Map<Language, String> languageFilePatternMappings;
+        private final Map<Language, PathMatcher> languageFilePatternMatchers;
 
         public LanguageServerDefinition(@Nonnull String id, @Nonnull String label, boolean isSingleton) {
             this.id = id;
@@ -42,15 +44,28 @@ public class LanguageServersRegistry {
             this.isSingleton = isSingleton;
             this.languageIdMappings = new ConcurrentHashMap<>();
             this.languageFilePatternMappings = new ConcurrentHashMap<>();
+            this.languageFilePatternMatchers = new ConcurrentHashMap<>();
         }
 
         public void registerAssociation(@Nonnull Language language, @Nonnull String languageId, String filePattern) {
             this.languageIdMappings.put(language, languageId);
             if (filePattern != null) {
                 this.languageFilePatternMappings.put(language, filePattern);
+                // compile the glob once, it is evaluated on every server lookup
+                this.languageFilePatternMatchers.put(language, FileSystems.getDefault().getPathMatcher("glob:" + filePattern));
             }
         }
 
+        /**
+         * @param language the language of the file
+         * @param path the file path
+         * @return true if no file pattern is registered for the given language or if the path matches it
+         */
+        public boolean matchesFilePattern(@Nonnull Language language, @Nonnull Path path) {
+            PathMatcher matcher = languageFilePatternMatchers.get(language);
+            return matcher == null || matcher.matches(path);
+        }
+
         public abstract StreamConnectionProvider createConnectionProvider();
 
         public LanguageClientImpl createLanguageClient(Project project) {
@@ -118,7 +133,12 @@ public class LanguageServersRegistry {
         return INSTANCE;
     }
 
-    private List<ContentTypeToLanguageServerDefinition> connections = new ArrayList<>();
+    private List<ContentTypeToLanguageServerDefinition> connections = new CopyOnWriteArrayList<>();
+
+    /**
+     * Routing table from a language to the mappings of its language servers, rebuilt lazily after each registry change.
+     */
+    private final Map<Language, List<ContentTypeToLanguageServerDefinition>> providersByLanguage = new ConcurrentHashMap<>();
 
     private LanguageServersRegistry() {
         initialize();
@@ -159,9 +179,9 @@ public class LanguageServersRegistry {
      * This does <strong>not</strong> include the one that match transitively as per content-type hierarchy
      */
     List<ContentTypeToLanguageServerDefinition> findProviderFor(final @NonNull Language contentType) {
-        return connections.stream()
-                .filter(entry -> contentType.isKindOf(entry.getKey()))
-                .collect(Collectors.toList());
+        return providersByLanguage.computeIfAbsent(contentType, language -> connections.stream()
+                .filter(entry -> language.isKindOf(entry.getKey()))
+                .collect(Collectors.toUnmodifiableList()));
     }
 
 
@@ -172,6 +192,7 @@ public class LanguageServersRegistry {
         }
 
         connections.add(new ContentTypeToLanguageServerDefinition(language, serverDefinition));
+        providersByLanguage.clear();
     }
 
     public List<ContentTypeToLanguageServerDefinition> getContentTypeToLSPExtensions() {
@@ -226,30 +247,30 @@ public class LanguageServersRegistry {
         return getAvailableLSFor(document, project).contains(serverDefinition);
     }
 
+    /**
+     * @param file
+     * @return whether a language server is defined for the language and the path of the file
+     */
+    public boolean hasLanguageServer(@Nonnull VirtualFile file, Project project) {
+        return !getAvailableLSFor(file, project).isEmpty();
+    }
+
     private Set<LanguageServerDefinition> getAvailableLSFor(Document document, Project project) {
         VirtualFile file = FileDocumentManager.getInstance().getFile(document);
         return getAvailableLSFor(file, project);
     }
 
-    private Set<LanguageServerDefinition> getAvailableLSFor(VirtualFile file, Project project) {
+    Set<LanguageServerDefinition> getAvailableLSFor(VirtualFile file, Project project) {
         Language language = LSPIJUtils.getFileLanguage(file, project);
         Set<LanguageServerDefinition> res = new HashSet<>();
         if (language != null) {
-            for (ContentTypeToLanguageServerDefinition mapping : this.connections) {
-                if (language.isKindOf(mapping.getKey())) {
-                    LanguageServerDefinition lsDef = mapping.getValue();
-                    if (!lsDef.languageFilePatternMappings.isEmpty() && lsDef.languageFilePatternMappings.containsKey(language)) {
-                        // check if document matches file pattern
-                        Path path = Paths.get(file.getPath());
-                        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + lsDef.languageFilePatternMappings.get(language));
-                        if (matcher.matches(path)) {
-                            LOGGER.trace("Available language server: " + mapping.getValue().id + " for file: " + file);
-                            res.add(mapping.getValue());
-                        }
-                    } else {
-                        LOGGER.trace("Available language server: " + mapping.getValue().id + " for file: " + file);
-                        res.add(mapping.getValue());
-                    }
+            Path path = Paths.get(file.getPath());
+            for (ContentTypeToLanguageServerDefinition mapping : findProviderFor(language)) {
+                LanguageServerDefinition lsDef = mapping.getValue();
+                // check if document matches file pattern
+                if (lsDef.matchesFilePattern(language, path)) {
+                    LOGGER.trace("Available language server: " + lsDef.id + " for file: " + file);
+                    res.add(lsDef);
                 }
             }
         }
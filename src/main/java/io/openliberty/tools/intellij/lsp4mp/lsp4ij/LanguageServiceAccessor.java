@@ -18,13 +18,14 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.net.URI;
-import java.nio.file.FileSystems;
 import java.nio.file.Path;
-import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -36,6 +37,12 @@ import java.util.stream.Collectors;
  */
 public class LanguageServiceAccessor {
     private static final Logger LOGGER = LoggerFactory.getLogger(LanguageServiceAccessor.class);
+
+    /**
+     * Maximum number of language server processes started for a language server definition which doesn't support
+     * workspace folders. Once reached, modules are multiplexed onto the existing processes.
+     */
+    private static final int MAX_SERVERS_PER_DEFINITION = Integer.getInteger("open-liberty.intellij.lsp.maxServersPerDefinition", 2);
     private final Project project;
 
     public static LanguageServiceAccessor getInstance(@NotNull Project project) {
@@ -46,9 +53,16 @@ public class LanguageServiceAccessor {
         this.project = project;
     }
 
-    private Set<LanguageServerWrapper> startedServers = new HashSet<>();
+    // copy-on-write so that lookups can iterate without holding the lock, mutations are still done under synchronized (startedServers)
+    private Set<LanguageServerWrapper> startedServers = new CopyOnWriteArraySet<>();
     private Map<StreamConnectionProvider, LanguageServersRegistry.LanguageServerDefinition> providersToLSDefinitions = new HashMap<>();
 
+    /**
+     * Cache of the language server wrappers operating on a document, invalidated when a server is started or stopped.
+     */
+    private final Map<URI, List<LanguageServerWrapper>> routingCache = new ConcurrentHashMap<>();
+    private final AtomicLong routingGeneration = new AtomicLong();
+
     /**
      * This is meant for test code to clear state that might have leaked from other
      * tests. It isn't meant to be used in production code.
@@ -57,9 +71,75 @@ public class LanguageServiceAccessor {
         synchronized (startedServers) {
             startedServers.forEach(LanguageServerWrapper::stop);
             startedServers.clear();
+            invalidateRoutingCache();
         }
     }
 
+    /**
+     * Invalidates the cached routing of documents to language servers. Called when a language server is
+     * registered, started or stopped.
+     */
+    void invalidateRoutingCache() {
+        routingGeneration.incrementAndGet();
+        routingCache.clear();
+    }
+
+    private void addStartedServer(LanguageServerWrapper wrapper) {
+        if (startedServers.add(wrapper)) {
+            invalidateRoutingCache();
+        }
+    }
+
+    /**
+     * Returns a language server wrapper for the given module and server definition. A new wrapper is created while the
+     * number of wrappers for the definition is below {@link #MAX_SERVERS_PER_DEFINITION}. Above it, the least recently
+     * used wrapper which is not {@link LanguageServerWrapper#isInUse() in use} is evicted, or if all wrappers are in
+     * use, the module is shared with the wrapper serving the fewest modules. Must be called while holding the lock on {@code startedServers}. The evicted
+     * wrapper is only removed, the caller stops it after releasing the lock since stopping blocks on the shutdown.
+     *
+     * @param module the module
+     * @param serverDefinition the language server definition
+     * @param evicted receives the evicted wrapper to stop
+     * @return a new or a shared language server wrapper
+     */
+    @Nonnull
+    private LanguageServerWrapper createOrShareWrapper(@Nonnull Module module,
+                                                       @Nonnull LanguageServersRegistry.LanguageServerDefinition serverDefinition,
+                                                       @Nonnull List<LanguageServerWrapper> evicted) {
+        List<LanguageServerWrapper> pool = startedServers.stream()
+                .filter(wrapper -> wrapper.serverDefinition.equals(serverDefinition))
+                .collect(Collectors.toList());
+        if (pool.size() >= MAX_SERVERS_PER_DEFINITION) {
+            Optional<LanguageServerWrapper> idle = pool.stream()
+                    .filter(wrapper -> !wrapper.isInUse())
+                    .min(Comparator.comparingLong(LanguageServerWrapper::getLastUsed));
+            if (idle.isPresent()) {
+                LOGGER.info("Evicting language server '" + serverDefinition.id + "' to start one for module " + module.getName());
+                startedServers.remove(idle.get());
+                evicted.add(idle.get());
+                invalidateRoutingCache();
+            } else {
+                LanguageServerWrapper shared = pool.stream()
+                        .min(Comparator.comparingInt(wrapper -> wrapper.getWatchedProjects().size()))
+                        .get();
+                shared.shareWith(module);
+                invalidateRoutingCache();
+                return shared;
+            }
+        }
+        LanguageServerWrapper wrapper = new LanguageServerWrapper(module, serverDefinition);
+        addStartedServer(wrapper);
+        return wrapper;
+    }
+
+    /**
+     * @return a snapshot of the language server wrappers started for this project
+     */
+    @Nonnull
+    public List<LanguageServerWrapper> getStartedServers() {
+        return List.copyOf(startedServers);
+    }
+
 
     /**
      * A bean storing association of a Document/File with a language server.
@@ -326,7 +406,6 @@ public class LanguageServiceAccessor {
 
     @Nonnull
     private Collection<LanguageServerWrapper> getLSWrappers(@Nonnull Document document) {
-        LinkedHashSet<LanguageServerWrapper> res = new LinkedHashSet<>();
         VirtualFile file = LSPIJUtils.getFile(document);
         URI uri = LSPIJUtils.toUri(document);
         if (uri == null) {
@@ -334,22 +413,41 @@ public class LanguageServiceAccessor {
         }
         URI path = uri;
 
+        List<LanguageServerWrapper> cached = routingCache.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = routingGeneration.get();
+        Collection<LanguageServerWrapper> res = computeLSWrappers(document, file, path);
+        if (!res.isEmpty()) {
+            List<LanguageServerWrapper> routing = List.copyOf(res);
+            routingCache.put(path, routing);
+            if (routingGeneration.get() != generation) {
+                // a server was started or stopped while computing the routing
+                routingCache.remove(path, routing);
+            }
+            return routing;
+        }
+        return res;
+    }
+
+    @Nonnull
+    private Collection<LanguageServerWrapper> computeLSWrappers(@Nonnull Document document, @Nonnull VirtualFile file, @Nonnull URI path) {
+        LinkedHashSet<LanguageServerWrapper> res = new LinkedHashSet<>();
+
         // look for running language servers via content-type
         Queue<Language> contentTypes = new LinkedList<>();
         Set<Language> processedContentTypes = new HashSet<>();
         contentTypes.add(LSPIJUtils.getDocumentLanguage(document, project));
+        Set<LanguageServersRegistry.LanguageServerDefinition> availableDefinitions = LanguageServersRegistry.getInstance().getAvailableLSFor(file, project);
+        final Module fileProject = LSPIJUtils.getProject(file);
+        Path filePath = Paths.get(file.getPath());
+        List<LanguageServerWrapper> evicted = new ArrayList<>();
 
         synchronized (startedServers) {
             // already started compatible servers that fit request
             res.addAll(startedServers.stream()
-                    .filter(wrapper -> {
-                        try {
-                            return wrapper.isConnectedTo(path) || LanguageServersRegistry.getInstance().matches(document, wrapper.serverDefinition, project);
-                        } catch (Exception e) {
-                            LOGGER.warn(e.getLocalizedMessage(), e);
-                            return false;
-                        }
-                    })
+                    .filter(wrapper -> wrapper.isConnectedTo(path) || availableDefinitions.contains(wrapper.serverDefinition))
                     .filter(wrapper -> wrapper.canOperate(document))
                     .collect(Collectors.toList()));
             while (!contentTypes.isEmpty()) {
@@ -372,31 +470,16 @@ public class LanguageServiceAccessor {
                         // we already checked a compatible LS with this definition
                         continue;
                     }
-                    final Module fileProject = file != null ? LSPIJUtils.getProject(file) : null;
-                    if (fileProject != null) {
-                        boolean patternMappingsEmpty = serverDefinition.languageFilePatternMappings.isEmpty();
-                        if (!patternMappingsEmpty && serverDefinition.languageFilePatternMappings.containsKey(contentType)) {
-                            // check if document matches file pattern
-                            Path filePath = Paths.get(file.getPath());
-                            final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + serverDefinition.languageFilePatternMappings.get(contentType));
-                            if (matcher.matches(filePath)) {
-                                // only start language server if the language and file pattern matches the language server definition
-                                LanguageServerWrapper wrapper = new LanguageServerWrapper(fileProject, serverDefinition);
-                                startedServers.add(wrapper);
-                                res.add(wrapper);
-                            }
-                        } else if (patternMappingsEmpty || !serverDefinition.languageFilePatternMappings.containsKey(contentType)) {
-                            // no file patterns to filter language servers on, or none applicable for this language
-                            LanguageServerWrapper wrapper = new LanguageServerWrapper(fileProject, serverDefinition);
-                            startedServers.add(wrapper);
-                            res.add(wrapper);
-                        }
+                    // only start language server if the language and file pattern (if any) matches the language server definition
+                    if (fileProject != null && serverDefinition.matchesFilePattern(contentType, filePath)) {
+                        res.add(createOrShareWrapper(fileProject, serverDefinition, evicted));
                     }
                 }
                 processedContentTypes.add(contentType);
             }
-            return res;
         }
+        evicted.forEach(LanguageServerWrapper::stop);
+        return res;
     }
 
     /**
@@ -422,6 +505,7 @@ public class LanguageServiceAccessor {
     private LanguageServerWrapper getLSWrapperForConnection(@Nonnull Module project,
                                                                    @Nonnull LanguageServersRegistry.LanguageServerDefinition serverDefinition, @Nullable URI initialPath) throws IOException {
         LanguageServerWrapper wrapper = null;
+        List<LanguageServerWrapper> evicted = new ArrayList<>();
 
         synchronized (startedServers) {
             for (LanguageServerWrapper startedWrapper : getStartedLSWrappers(project)) {
@@ -431,13 +515,14 @@ public class LanguageServiceAccessor {
                 }
             }
             if (wrapper == null) {
-                wrapper = project != null ? new LanguageServerWrapper(project, serverDefinition) :
+                wrapper = project != null ? createOrShareWrapper(project, serverDefinition, evicted) :
                         new LanguageServerWrapper(serverDefinition, initialPath);
                 wrapper.start();
             }
 
-            startedServers.add(wrapper);
+            addStartedServer(wrapper);
         }
+        evicted.forEach(LanguageServerWrapper::stop);
         return wrapper;
     }
 
@@ -456,7 +541,7 @@ public class LanguageServiceAccessor {
                 wrapper.start();
             }
 
-            startedServers.add(wrapper);
+            addStartedServer(wrapper);
         }
         return wrapper;
     }
@@ -490,13 +575,17 @@ public class LanguageServiceAccessor {
      */
     public Collection<LanguageServerWrapper> getMatchingStartedWrappers(@Nonnull VirtualFile file,
                                                                                 @Nullable Predicate<ServerCapabilities> request) {
-        synchronized (startedServers) {
-            return startedServers.stream().filter(wrapper -> wrapper.isConnectedTo(LSPIJUtils.toUri(file))
-                    || (LanguageServersRegistry.getInstance().matches(file, wrapper.serverDefinition, project)
-                    && wrapper.canOperate(LSPIJUtils.getProject(file)))).filter(wrapper -> request == null
-                    || (wrapper.getServerCapabilities() == null || request.test(wrapper.getServerCapabilities())))
-                    .collect(Collectors.toList());
+        if (startedServers.isEmpty()) {
+            return Collections.emptyList();
         }
+        URI fileUri = LSPIJUtils.toUri(file);
+        Module fileProject = LSPIJUtils.getProject(file);
+        Set<LanguageServersRegistry.LanguageServerDefinition> availableDefinitions = LanguageServersRegistry.getInstance().getAvailableLSFor(file, project);
+        return startedServers.stream().filter(wrapper -> wrapper.isConnectedTo(fileUri)
+                || (availableDefinitions.contains(wrapper.serverDefinition)
+                && wrapper.canOperate(fileProject))).filter(wrapper -> request == null
+                || (wrapper.getServerCapabilities() == null || request.test(wrapper.getServerCapabilities())))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -588,13 +677,29 @@ public class LanguageServiceAccessor {
     @Nonnull
     public CompletableFuture<List<LanguageServer>> getLanguageServers(@Nonnull Document document,
                                                                              Predicate<ServerCapabilities> filter) {
+        return getLanguageServers(document, filter, true);
+    }
+
+    /**
+     * Gets a list of language servers. Will start language servers if they are not already running on the corresponding document.
+     *
+     * @param document
+     * @param filter
+     * @param essential false if the language servers which don't respond (see {@link LanguageServerHealth}) must be skipped
+     * @return
+     */
+    @Nonnull
+    public CompletableFuture<List<LanguageServer>> getLanguageServers(@Nonnull Document document,
+                                                                      Predicate<ServerCapabilities> filter,
+                                                                      boolean essential) {
         URI uri = LSPIJUtils.toUri(document);
         if (uri == null) {
             return CompletableFuture.completedFuture(Collections.emptyList());
         }
         final List<LanguageServer> res = Collections.synchronizedList(new ArrayList<>());
         try {
-            return CompletableFuture.allOf(getLSWrappers(document).stream().map(wrapper ->
+            return CompletableFuture.allOf(getLSWrappers(document).stream()
+                    .filter(wrapper -> essential || wrapper.getHealth().isAvailable()).map(wrapper ->
                     wrapper.getInitializedServer().thenComposeAsync(server -> {
                         if (server != null && (filter == null || filter.test(wrapper.getServerCapabilities()))) {
                             try {
@@ -615,6 +720,27 @@ public class LanguageServiceAccessor {
         return CompletableFuture.completedFuture(Collections.emptyList());
     }
 
+    /**
+     * Tracks a request sent to the given language server, see {@link LanguageServerHealth#track(String, CompletableFuture)}.
+     */
+    public <T> CompletableFuture<T> track(LanguageServer languageServer, String method, CompletableFuture<T> request) {
+        Optional<LanguageServerWrapper> wrapper = startedServers.stream()
+                .filter(started -> started.getServer() == languageServer).findFirst();
+        return wrapper.isPresent() ? wrapper.get().getHealth().track(method, request) : request;
+    }
+
+    /**
+     * Returns the modification stamp of the document for the last version sent to the given language server, the
+     * content a response of the server refers to, see {@link DocumentEditHistory}.
+     */
+    public long getDocumentStamp(LanguageServer languageServer, Document document) {
+        URI uri = LSPIJUtils.toUri(document);
+        Optional<LanguageServerWrapper> wrapper = startedServers.stream()
+                .filter(started -> started.getServer() == languageServer).findFirst();
+        long stamp = wrapper.isPresent() ? wrapper.get().getDocumentStamp(uri, null) : -1;
+        return stamp != -1 ? stamp : document.getModificationStamp();
+    }
+
     public boolean checkCapability(LanguageServer languageServer, Predicate<ServerCapabilities> condition) {
         return startedServers.stream().filter(wrapper -> wrapper.isActive() && wrapper.getServer() == languageServer)
                 .anyMatch(wrapper -> condition.test(wrapper.getServerCapabilities()));
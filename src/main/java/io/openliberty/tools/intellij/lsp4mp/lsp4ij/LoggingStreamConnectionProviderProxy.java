@@ -139,6 +139,11 @@ public class LoggingStreamConnectionProviderProxy implements StreamConnectionPro
         provider.stop();
     }
 
+    @Override
+    public @Nullable ProcessHandle getProcessHandle() {
+        return provider.getProcessHandle();
+    }
+
     @Override
     public InputStream forwardCopyTo(InputStream input, OutputStream output) {
         return provider.forwardCopyTo(input, output);
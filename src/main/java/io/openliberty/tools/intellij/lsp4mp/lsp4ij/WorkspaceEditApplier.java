@@ -0,0 +1,506 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp.lsp4ij;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.CommandProcessor;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.RangeMarker;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import org.eclipse.lsp4j.ApplyWorkspaceEditResponse;
+import org.eclipse.lsp4j.CreateFile;
+import org.eclipse.lsp4j.DeleteFile;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.RenameFile;
+import org.eclipse.lsp4j.ResourceOperation;
+import org.eclipse.lsp4j.TextDocumentEdit;
+import org.eclipse.lsp4j.TextEdit;
+import org.eclipse.lsp4j.WorkspaceEdit;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Applies a workspace edit in the EDT without blocking it: the text edits of a document are applied in reverse offset
+ * order in chunks of write commands, the EDT processing the user events between two chunks. The edits are tracked by
+ * range markers, so a document modified between two chunks doesn't shift them.
+ *
+ * Before anything is applied, the versions of the {@link TextDocumentEdit}s are checked against the versions of the
+ * documents synchronized with the language server, a version of 0 or below being unversioned. All the write commands
+ * of an edit share the same group, so the edit is undone as one command. When a change fails, or when the returned
+ * future is cancelled, the changes applied so far are undone (failure handling "undo"), except the deletion of a
+ * directory.
+ */
+public class WorkspaceEditApplier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkspaceEditApplier.class);
+
+    private static final int CHUNK_SIZE = Integer.getInteger("open-liberty.intellij.lsp.editChunkSize", 200);
+
+    private static class EditFailure extends Exception {
+        private final int change;
+
+        private EditFailure(int change, String message) {
+            super(message);
+            this.change = change;
+        }
+    }
+
+    /**
+     * A change of the edit, text edits of a document or a resource operation.
+     */
+    private static class Change {
+        private final int index;
+        private final String uri;
+        private final Integer version;
+        private final List<TextEdit> edits;
+        private final ResourceOperation operation;
+
+        private Change(int index, String uri, Integer version, List<TextEdit> edits, ResourceOperation operation) {
+            this.index = index;
+            this.uri = uri;
+            this.version = version;
+            this.edits = edits;
+            this.operation = operation;
+        }
+    }
+
+    private static class PendingEdit {
+        private final RangeMarker marker;
+        private final String text;
+
+        private PendingEdit(RangeMarker marker, String text) {
+            this.marker = marker;
+            this.text = text;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Undo {
+        void undo() throws IOException;
+
+        default void dispose() {
+        }
+    }
+
+    private final Project project;
+    private final String label;
+    private final LanguageServerWrapper wrapper;
+    private final List<Change> changes = new ArrayList<>();
+    private final boolean global;
+    private final String groupId;
+    private final CompletableFuture<ApplyWorkspaceEditResponse> result = new CompletableFuture<>();
+
+    // accessed in the EDT
+    private final List<Undo> journal = new ArrayList<>();
+    private int current;
+    private Document document;
+    private List<PendingEdit> pending;
+    private int next;
+
+    private WorkspaceEditApplier(Project project, WorkspaceEdit edit, String label, LanguageServerWrapper wrapper) {
+        this.project = project;
+        this.label = label != null ? label : "Apply Workspace Edit";
+        this.wrapper = wrapper;
+        this.groupId = "open-liberty.intellij.lsp4ij.applyEdit@" + System.identityHashCode(this);
+        if (edit.getDocumentChanges() != null) {
+            List<Either<TextDocumentEdit, ResourceOperation>> documentChanges = edit.getDocumentChanges();
+            for (int i = 0; i < documentChanges.size(); i++) {
+                Either<TextDocumentEdit, ResourceOperation> change = documentChanges.get(i);
+                if (change.isLeft()) {
+                    TextDocumentEdit textDocumentEdit = change.getLeft();
+                    changes.add(new Change(i, textDocumentEdit.getTextDocument().getUri(),
+                            textDocumentEdit.getTextDocument().getVersion(), textDocumentEdit.getEdits(), null));
+                } else if (change.isRight()) {
+                    changes.add(new Change(i, null, null, null, change.getRight()));
+                }
+            }
+        } else if (edit.getChanges() != null) {
+            int i = 0;
+            for (Map.Entry<String, List<TextEdit>> change : edit.getChanges().entrySet()) {
+                changes.add(new Change(i++, change.getKey(), null, change.getValue(), null));
+            }
+        }
+        Set<String> uris = new HashSet<>();
+        for (Change change : changes) {
+            uris.add(change.uri != null ? change.uri : String.valueOf(change.index));
+        }
+        this.global = uris.size() > 1;
+    }
+
+    /**
+     * Applies the given workspace edit.
+     *
+     * @param project the project
+     * @param edit    the workspace edit
+     * @param label   the name of the undoable command, or null
+     * @param wrapper the language server which computed the edit, used to check the versions of the documents, or null
+     * @return the result of the edit, cancelling it stops the edit and undoes the changes applied so far
+     */
+    public static CompletableFuture<ApplyWorkspaceEditResponse> apply(@NotNull Project project,
+                                                                      @NotNull WorkspaceEdit edit,
+                                                                      @Nullable String label,
+                                                                      @Nullable LanguageServerWrapper wrapper) {
+        WorkspaceEditApplier applier = new WorkspaceEditApplier(project, edit, label, wrapper);
+        ApplicationManager.getApplication().invokeLater(applier::start);
+        return applier.result;
+    }
+
+    private void start() {
+        if (isStopped()) {
+            return;
+        }
+        // the pending document changes are sent to the language servers once the documents are committed
+        PsiDocumentManager.getInstance(project).commitAllDocuments();
+        if (wrapper != null) {
+            for (Change change : changes) {
+                if (change.version == null || change.version <= 0) {
+                    // the Java quick fixes send the version 0, an opened document is at version 1 or above
+                    continue;
+                }
+                VirtualFile file = LSPIJUtils.findResourceFor(change.uri);
+                int version = file != null ? wrapper.getVersion(file) : -1;
+                if (version != -1 && version != change.version) {
+                    complete(change.index, "The version " + change.version + " of " + change.uri
+                            + " doesn't match the current version " + version);
+                    return;
+                }
+            }
+        }
+        step();
+    }
+
+    private void step() {
+        if (isStopped()) {
+            return;
+        }
+        try {
+            WriteCommandAction.writeCommandAction(project)
+                    .withName(label)
+                    .withGroupId(groupId)
+                    .run(this::applyChunk);
+        } catch (EditFailure e) {
+            rollback();
+            complete(e.change, e.getMessage());
+            return;
+        }
+        if (current < changes.size()) {
+            ApplicationManager.getApplication().invokeLater(this::step);
+        } else {
+            complete(-1, null);
+        }
+    }
+
+    private boolean isStopped() {
+        if (project.isDisposed()) {
+            disposePending();
+            result.complete(toResponse(current < changes.size() ? changes.get(current).index : -1,
+                    "The project is closed"));
+            return true;
+        }
+        if (result.isDone()) {
+            // cancelled
+            rollback();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Applies up to {@link #CHUNK_SIZE} text edits and resource operations.
+     */
+    private void applyChunk() throws EditFailure {
+        if (global) {
+            CommandProcessor.getInstance().markCurrentCommandAsGlobal(project);
+        }
+        int budget = CHUNK_SIZE;
+        while (budget > 0 && current < changes.size()) {
+            Change change = changes.get(current);
+            if (change.operation != null) {
+                apply(change);
+                budget--;
+                current++;
+                continue;
+            }
+            if (pending == null) {
+                prepare(change);
+            }
+            while (budget > 0 && next < pending.size()) {
+                apply(change, pending.get(next++));
+                budget--;
+            }
+            if (next >= pending.size()) {
+                pending = null;
+                document = null;
+                current++;
+            }
+        }
+    }
+
+    private void prepare(Change change) throws EditFailure {
+        VirtualFile file = LSPIJUtils.findResourceFor(change.uri);
+        Document document = file != null ? FileDocumentManager.getInstance().getDocument(file) : null;
+        if (document == null) {
+            throw new EditFailure(change.index, "Cannot find the document " + change.uri);
+        }
+        if (!document.isWritable()) {
+            throw new EditFailure(change.index, "The document " + change.uri + " is read-only");
+        }
+        // the edits refer to the document before any of them is applied, apply them from the end so that an edit
+        // doesn't shift the following ones, the inserts at the same offset in their order
+        List<Integer> order = new ArrayList<>(change.edits.size());
+        List<int[]> offsets = new ArrayList<>(change.edits.size());
+        for (int i = 0; i < change.edits.size(); i++) {
+            TextEdit edit = change.edits.get(i);
+            int start = toOffset(edit.getRange().getStart(), document);
+            int end = toOffset(edit.getRange().getEnd(), document);
+            if (start < 0 || end < 0) {
+                throw new EditFailure(change.index, "Invalid range " + edit.getRange() + " in " + change.uri);
+            }
+            order.add(i);
+            offsets.add(new int[]{start, Math.max(start, end)});
+        }
+        order.sort(Comparator.<Integer>comparingInt(i -> offsets.get(i)[0]).thenComparingInt(i -> i).reversed());
+        List<PendingEdit> edits = new ArrayList<>(order.size());
+        for (int i : order) {
+            int[] range = offsets.get(i);
+            String text = change.edits.get(i).getNewText();
+            edits.add(new PendingEdit(document.createRangeMarker(range[0], range[1]),
+                    text != null ? StringUtil.convertLineSeparators(text) : ""));
+        }
+        this.document = document;
+        this.pending = edits;
+        this.next = 0;
+    }
+
+    private static int toOffset(Position position, Document document) {
+        if (position != null && position.getLine() >= document.getLineCount() && position.getCharacter() >= 0) {
+            return document.getTextLength();
+        }
+        return LSPIJUtils.toOffsetIfValid(position, document);
+    }
+
+    private void apply(Change change, PendingEdit edit) throws EditFailure {
+        RangeMarker marker = edit.marker;
+        if (!marker.isValid()) {
+            throw new EditFailure(change.index, "The document " + change.uri + " has been modified while the edit was applied");
+        }
+        replace(document, marker.getStartOffset(), marker.getEndOffset(), edit.text);
+        marker.dispose();
+    }
+
+    private void replace(Document document, int start, int end, String text) {
+        String previous = document.getText(new TextRange(start, end));
+        document.replaceString(start, end, text);
+        RangeMarker applied = document.createRangeMarker(start, start + text.length());
+        journal.add(new Undo() {
+            @Override
+            public void undo() {
+                if (applied.isValid()) {
+                    document.replaceString(applied.getStartOffset(), applied.getEndOffset(), previous);
+                }
+            }
+
+            @Override
+            public void dispose() {
+                applied.dispose();
+            }
+        });
+    }
+
+    private void apply(Change change) throws EditFailure {
+        try {
+            if (change.operation instanceof CreateFile) {
+                create(change.index, (CreateFile) change.operation);
+            } else if (change.operation instanceof DeleteFile) {
+                delete(change.index, (DeleteFile) change.operation);
+            } else if (change.operation instanceof RenameFile) {
+                rename(change.index, (RenameFile) change.operation);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn(e.getLocalizedMessage(), e);
+            throw new EditFailure(change.index, e.getLocalizedMessage());
+        }
+    }
+
+    private void create(int index, CreateFile operation) throws EditFailure, IOException {
+        File ioFile = new File(URI.create(operation.getUri()));
+        VirtualFile existing = LocalFileSystem.getInstance().findFileByIoFile(ioFile);
+        if (existing != null) {
+            if (operation.getOptions() != null && Boolean.TRUE.equals(operation.getOptions().getOverwrite())) {
+                Document document = FileDocumentManager.getInstance().getDocument(existing);
+                if (document == null) {
+                    throw new EditFailure(index, "Cannot overwrite " + operation.getUri());
+                }
+                replace(document, 0, document.getTextLength(), "");
+            } else if (operation.getOptions() == null || !Boolean.TRUE.equals(operation.getOptions().getIgnoreIfExists())) {
+                throw new EditFailure(index, "The file " + operation.getUri() + " already exists");
+            }
+            return;
+        }
+        VirtualFile parent = VfsUtil.createDirectories(ioFile.getParent());
+        VirtualFile created = parent.createChildData(this, ioFile.getName());
+        journal.add(() -> {
+            if (created.isValid()) {
+                created.delete(this);
+            }
+        });
+    }
+
+    private void delete(int index, DeleteFile operation) throws EditFailure, IOException {
+        VirtualFile file = LocalFileSystem.getInstance().findFileByIoFile(new File(URI.create(operation.getUri())));
+        if (file == null) {
+            if (operation.getOptions() == null || !Boolean.TRUE.equals(operation.getOptions().getIgnoreIfNotExists())) {
+                throw new EditFailure(index, "The file " + operation.getUri() + " doesn't exist");
+            }
+            return;
+        }
+        if (file.isDirectory() && file.getChildren().length > 0
+                && (operation.getOptions() == null || !Boolean.TRUE.equals(operation.getOptions().getRecursive()))) {
+            throw new EditFailure(index, "The directory " + operation.getUri() + " isn't empty");
+        }
+        delete(file);
+    }
+
+    private void delete(VirtualFile file) throws IOException {
+        VirtualFile parent = file.getParent();
+        String name = file.getName();
+        // keep the unsaved changes in the content restored by the undo
+        Document document = file.isDirectory() ? null : FileDocumentManager.getInstance().getCachedDocument(file);
+        if (document != null) {
+            FileDocumentManager.getInstance().saveDocument(document);
+        }
+        byte[] content = file.isDirectory() ? null : file.contentsToByteArray();
+        file.delete(this);
+        if (content != null && parent != null) {
+            journal.add(() -> {
+                if (parent.isValid() && parent.findChild(name) == null) {
+                    parent.createChildData(this, name).setBinaryContent(content);
+                }
+            });
+        }
+    }
+
+    private void rename(int index, RenameFile operation) throws EditFailure, IOException {
+        VirtualFile file = LocalFileSystem.getInstance().findFileByIoFile(new File(URI.create(operation.getOldUri())));
+        if (file == null) {
+            throw new EditFailure(index, "The file " + operation.getOldUri() + " doesn't exist");
+        }
+        File target = new File(URI.create(operation.getNewUri()));
+        VirtualFile existing = LocalFileSystem.getInstance().findFileByIoFile(target);
+        if (existing != null) {
+            if (operation.getOptions() != null && Boolean.TRUE.equals(operation.getOptions().getOverwrite())) {
+                delete(existing);
+            } else if (operation.getOptions() != null && Boolean.TRUE.equals(operation.getOptions().getIgnoreIfExists())) {
+                return;
+            } else {
+                throw new EditFailure(index, "The file " + operation.getNewUri() + " already exists");
+            }
+        }
+        VirtualFile oldParent = file.getParent();
+        String oldName = file.getName();
+        VirtualFile newParent = VfsUtil.createDirectories(target.getParent());
+        if (!newParent.equals(oldParent)) {
+            file.move(this, newParent);
+        }
+        if (!oldName.equals(target.getName())) {
+            file.rename(this, target.getName());
+        }
+        journal.add(() -> {
+            if (!file.isValid()) {
+                return;
+            }
+            if (!oldName.equals(file.getName())) {
+                file.rename(this, oldName);
+            }
+            if (!oldParent.equals(file.getParent())) {
+                file.move(this, oldParent);
+            }
+        });
+    }
+
+    /**
+     * Undoes the changes applied so far, in the reverse order.
+     */
+    private void rollback() {
+        disposePending();
+        if (journal.isEmpty()) {
+            return;
+        }
+        List<Undo> undos = new ArrayList<>(journal);
+        journal.clear();
+        WriteCommandAction.writeCommandAction(project)
+                .withName(label)
+                .withGroupId(groupId)
+                .run(() -> {
+                    if (global) {
+                        CommandProcessor.getInstance().markCurrentCommandAsGlobal(project);
+                    }
+                    for (int i = undos.size() - 1; i >= 0; i--) {
+                        try {
+                            undos.get(i).undo();
+                        } catch (IOException e) {
+                            LOGGER.warn(e.getLocalizedMessage(), e);
+                        } finally {
+                            undos.get(i).dispose();
+                        }
+                    }
+                });
+    }
+
+    private void disposePending() {
+        if (pending != null) {
+            for (int i = next; i < pending.size(); i++) {
+                pending.get(i).marker.dispose();
+            }
+            pending = null;
+            document = null;
+        }
+    }
+
+    private void complete(int failedChange, String failureReason) {
+        disposePending();
+        journal.forEach(Undo::dispose);
+        journal.clear();
+        if (failureReason != null) {
+            LOGGER.warn("Cannot apply workspace edit '" + label + "': " + failureReason);
+        }
+        result.complete(toResponse(failedChange, failureReason));
+    }
+
+    private static ApplyWorkspaceEditResponse toResponse(int failedChange, String failureReason) {
+        ApplyWorkspaceEditResponse response = new ApplyWorkspaceEditResponse(failureReason == null);
+        if (failureReason != null) {
+            response.setFailureReason(failureReason);
+            response.setFailedChange(failedChange);
+        }
+        return response;
+    }
+}
@@ -29,6 +29,7 @@ import com.intellij.openapi.vfs.VirtualFile;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServersRegistry;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServiceAccessor;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.WorkspaceEditApplier;
 import org.eclipse.lsp4j.Command;
 import org.eclipse.lsp4j.ExecuteCommandOptions;
 import org.eclipse.lsp4j.ExecuteCommandParams;
@@ -91,7 +92,8 @@ public class CommandExecutor {
         // tentative fallback
         if (command.getArguments() != null) {
             WorkspaceEdit edit = createWorkspaceEdit(command.getArguments(), document);
-            LSPIJUtils.applyWorkspaceEdit(edit);
+            // the heuristic edit has no document versions to check against a language server
+            WorkspaceEditApplier.apply(project, edit, command.getTitle(), null);
         }
     }
 
@@ -8,6 +8,7 @@
  * Contributors:
  * Red Hat, Inc. - initial API and implementation
  * IBM Corporation - changes to ensure information used is not out-of-date
+ * IBM Corporation - adaptive timeouts, skip the unresponsive language servers
  ******************************************************************************/
 package io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.codeactions;
 
@@ -23,6 +24,7 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.util.PsiUtilCore;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerHealth;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerWrapper;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServiceAccessor;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.diagnostics.LSPDiagnosticsToMarkers;
@@ -127,8 +129,12 @@ public class LSPCodeActionAnnotator extends ExternalAnnotator<LSPCodeActionAnnot
 
     private Info doAnnotateStep(Info collectedInfo) {
         Collection<CompletableFuture<?>> futures = new ArrayList<>();
+        long timeout = 0;
         for(Map.Entry<LanguageServerWrapper, Collection<ItemInfo>> entry : collectedInfo.itemInfos.entrySet()) {
-            if (supportsCodeAction(entry.getKey())) {
+            LanguageServerHealth health = entry.getKey().getHealth();
+            // the quick fixes of an unresponsive server are skipped until it recovers
+            if (health.isAvailable() && supportsCodeAction(entry.getKey())) {
+                timeout = Math.max(timeout, health.getTimeout(LanguageServerHealth.CODE_ACTION));
                 for(ItemInfo itemInfo : entry.getValue()) {
                     Diagnostic diagnostic = (Diagnostic) itemInfo.highlighter.getErrorStripeTooltip();
                     CodeActionContext context = new CodeActionContext(Collections.singletonList(diagnostic));
@@ -137,7 +143,7 @@ public class LSPCodeActionAnnotator extends ExternalAnnotator<LSPCodeActionAnnot
                     params.setTextDocument(new TextDocumentIdentifier(LSPIJUtils.toUri(collectedInfo.file).toString()));
                     params.setRange(diagnostic.getRange());
                     CompletableFuture<List<Either<Command, CodeAction>>> codeAction = entry.getKey().getInitializedServer().thenComposeAsync(server -> {
-                        return server.getTextDocumentService().codeAction(params);
+                        return health.track(LanguageServerHealth.CODE_ACTION, server.getTextDocumentService().codeAction(params));
                     });
                     futures.add(codeAction);
                     codeAction.thenAcceptAsync(actions -> {
@@ -147,7 +153,8 @@ public class LSPCodeActionAnnotator extends ExternalAnnotator<LSPCodeActionAnnot
             }
         }
         try {
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get(10, TimeUnit.SECONDS);
+            // the requests are bounded by their deadline, the margin covers the initialization of the servers
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get(timeout + 1_000L, TimeUnit.MILLISECONDS);
         } catch (InterruptedException | ExecutionException | TimeoutException e) {
             LOGGER.log(Level.WARNING, e, e::getLocalizedMessage);
         }
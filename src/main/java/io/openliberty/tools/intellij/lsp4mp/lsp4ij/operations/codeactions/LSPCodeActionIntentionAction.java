@@ -7,6 +7,7 @@
  *
  * Contributors:
  * Red Hat, Inc. - initial API and implementation
+ * IBM Corporation - apply the edit with the workspace edit engine
  ******************************************************************************/
 package io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.codeactions;
 
@@ -17,8 +18,8 @@ import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiFile;
 import com.intellij.util.IncorrectOperationException;
-import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerWrapper;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.WorkspaceEditApplier;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionOptions;
 import org.eclipse.lsp4j.Command;
@@ -79,9 +80,9 @@ public class LSPCodeActionIntentionAction implements IntentionAction {
         if (fcodeAction != null) {
             if (isCodeActionResolveSupported() && fcodeAction.getEdit() == null) {
                 // Unresolved code action "edit" property. Resolve it.
-                finfo.getInitializedServer().thenComposeAsync(ls -> ls.getTextDocumentService().resolveCodeAction(fcodeAction)).thenAccept(this::apply);
+                finfo.getInitializedServer().thenComposeAsync(ls -> ls.getTextDocumentService().resolveCodeAction(fcodeAction)).thenAccept(codeAction -> apply(project, codeAction));
             } else {
-                apply(fcodeAction);
+                apply(project, fcodeAction);
             }
         } else if (fcommand != null) {
             executeCommand(fcommand);
@@ -90,12 +91,17 @@ public class LSPCodeActionIntentionAction implements IntentionAction {
         }
     }
 
-    private void apply(CodeAction codeaction) {
+    private void apply(Project project, CodeAction codeaction) {
         if (codeaction != null) {
             if (codeaction.getEdit() != null) {
-                LSPIJUtils.applyWorkspaceEdit(codeaction.getEdit(), codeaction.getTitle());
-            }
-            if (codeaction.getCommand() != null) {
+                // the command is executed once the edit has been applied
+                WorkspaceEditApplier.apply(project, codeaction.getEdit(), codeaction.getTitle(), finfo)
+                        .thenAccept(response -> {
+                            if (response.isApplied() && codeaction.getCommand() != null) {
+                                executeCommand(codeaction.getCommand());
+                            }
+                        });
+            } else if (codeaction.getCommand() != null) {
                 executeCommand(codeaction.getCommand());
             }
         }
@@ -117,6 +123,7 @@ public class LSPCodeActionIntentionAction implements IntentionAction {
 
     @Override
     public boolean startInWriteAction() {
-        return true;
+        // the edit is applied in its own write commands
+        return false;
     }
 }
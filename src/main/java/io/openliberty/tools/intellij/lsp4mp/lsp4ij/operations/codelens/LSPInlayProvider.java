@@ -32,6 +32,7 @@ import com.intellij.openapi.actionSystem.DataContext;
 import com.intellij.openapi.actionSystem.DataKey;
 import com.intellij.openapi.actionSystem.Presentation;
 import com.intellij.openapi.actionSystem.impl.SimpleDataContext;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
@@ -40,11 +41,16 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.ui.layout.LCFlags;
 import com.intellij.ui.layout.LayoutKt;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.DocumentEditHistory;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPDocumentResultsCache;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPEditorViewport;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerHealth;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServiceAccessor;
 import org.eclipse.lsp4j.CodeLens;
 import org.eclipse.lsp4j.CodeLensParams;
 import org.eclipse.lsp4j.Command;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.jetbrains.annotations.NotNull;
@@ -56,13 +62,11 @@ import javax.swing.JComponent;
 import java.awt.Component;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class LSPInlayProvider implements InlayHintsProvider<NoSettings> {
@@ -71,6 +75,9 @@ public class LSPInlayProvider implements InlayHintsProvider<NoSettings> {
     public static final DataKey<Command> LSP_COMMAND = DataKey.create("open-liberty.intellij.lsp4ij.command");
     private static final long TIMEOUT = 5L;
 
+    private static final LSPDocumentResultsCache<CodeLens> CACHE = new LSPDocumentResultsCache<>("codeLens",
+            LSPInlayProvider::getCodeLenses, LSPInlayProvider::moveTo);
+
     private SettingsKey<NoSettings> key = new SettingsKey<>("LSP.hints");
 
     @Override
@@ -121,46 +128,69 @@ public class LSPInlayProvider implements InlayHintsProvider<NoSettings> {
     public InlayHintsCollector getCollectorFor(@NotNull PsiFile psiFile, @NotNull Editor editor, @NotNull NoSettings o, @NotNull InlayHintsSink inlayHintsSink) {return new FactoryInlayHintsCollector(editor) {
             @Override
             public boolean collect(@NotNull PsiElement psiElement, @NotNull Editor editor, @NotNull InlayHintsSink inlayHintsSink) {
-                try {
-                    URI docURI = LSPIJUtils.toUri(editor.getDocument());
-                    if (docURI != null) {
-                        CodeLensParams param = new CodeLensParams(new TextDocumentIdentifier(docURI.toString()));
-                        BlockingDeque<Pair<CodeLens, LanguageServer>> pairs = new LinkedBlockingDeque<>();
-                        List<Pair<Integer,Pair<CodeLens, LanguageServer>>> codelenses = new ArrayList<>();
-                        CompletableFuture<Void> future = LanguageServiceAccessor.getInstance(psiElement.getProject())
-                                .getLanguageServers(editor.getDocument(), capabilities -> capabilities.getCodeLensProvider() != null)
-                                .thenComposeAsync(languageServers -> CompletableFuture.allOf(languageServers.stream()
-                                        .map(languageServer -> languageServer.getTextDocumentService().codeLens(param)
-                                                .thenAcceptAsync(codeLenses -> {
-                                                    // textDocument/codeLens may return null
-                                                    if (codeLenses != null) {
-                                                        codeLenses.stream().filter(Objects::nonNull)
-                                                                .forEach(codeLens -> pairs.add(new Pair(codeLens, languageServer)));
-                                                    }
-                                                }))
-                                        .toArray(CompletableFuture[]::new)));
-                        while (!future.isDone() || !pairs.isEmpty()) {
-                            ProgressManager.checkCanceled();
-                            Pair<CodeLens, LanguageServer> pair = pairs.poll(25, TimeUnit.MILLISECONDS);
-                            if (pair != null) {
-                                int offset = LSPIJUtils.toOffset(pair.getFirst().getRange().getStart(), editor.getDocument());
-                                codelenses.add(Pair.create(offset, pair));
-                            }
+                Document document = editor.getDocument();
+                if (LSPIJUtils.toUri(document) != null) {
+                    // textDocument/codeLens has no range, only the lenses of the visible lines are displayed
+                    LSPEditorViewport.LineRange lines = LSPEditorViewport.getLinesToCollect(editor);
+                    List<Pair<Integer,Pair<CodeLens, LanguageServer>>> codelenses = new ArrayList<>();
+                    for (Pair<CodeLens, LanguageServer> pair : CACHE.get(psiElement.getProject(), document)) {
+                        ProgressManager.checkCanceled();
+                        int offset = LSPIJUtils.toOffsetIfValid(pair.getFirst().getRange().getStart(), document);
+                        if (offset >= 0 && lines.contains(document.getLineNumber(offset))) {
+                            codelenses.add(Pair.create(offset, pair));
                         }
-                        Map<Integer, List<Pair<Integer,Pair<CodeLens, LanguageServer>>>> elements = codelenses.stream().collect(Collectors.groupingBy(p -> p.first));
-                        elements.forEach((offset,list) -> inlayHintsSink.addBlockElement(offset, true,
-                                true, 0, toPresentation(editor, offset, list, getFactory())));
-                        //inlayHintsSink.addBlockElement(offset, true, true, 0, toPresentation(editor, offset, pair.getSecond(), getFactory(), pair.getFirst()));
                     }
-                } catch (InterruptedException e) {
-                    LOGGER.warn(e.getLocalizedMessage(), e);
-                    Thread.currentThread().interrupt();
+                    Map<Integer, List<Pair<Integer,Pair<CodeLens, LanguageServer>>>> elements = codelenses.stream().collect(Collectors.groupingBy(p -> p.first));
+                    elements.forEach((offset,list) -> inlayHintsSink.addBlockElement(offset, true,
+                            true, 0, toPresentation(editor, offset, list, getFactory())));
                 }
                 return false;
             }
         };
     }
 
+    /**
+     * Invalidates the cached code lenses, called when a language server sends workspace/codeLens/refresh.
+     */
+    public static void refresh(Project project) {
+        CACHE.invalidate(project);
+    }
+
+    @Nullable
+    private static CodeLens moveTo(CodeLens codeLens, Document document, long stamp) {
+        Range range = DocumentEditHistory.toCurrentRange(document, stamp, codeLens.getRange());
+        if (range == null || range == codeLens.getRange()) {
+            return range != null ? codeLens : null;
+        }
+        return new CodeLens(range, codeLens.getCommand(), codeLens.getData());
+    }
+
+    private static CompletableFuture<List<Pair<CodeLens, LanguageServer>>> getCodeLenses(Project project, Document document,
+                                                                                      @Nullable Range range) {
+        URI docURI = LSPIJUtils.toUri(document);
+        if (docURI == null) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        CodeLensParams param = new CodeLensParams(new TextDocumentIdentifier(docURI.toString()));
+        List<Pair<CodeLens, LanguageServer>> pairs = Collections.synchronizedList(new ArrayList<>());
+        LanguageServiceAccessor accessor = LanguageServiceAccessor.getInstance(project);
+        // the unresponsive servers are skipped, a server which doesn't respond in time fails the request and the
+        // previous results are kept
+        return accessor.getLanguageServers(document, capabilities -> capabilities.getCodeLensProvider() != null, false)
+                .thenComposeAsync(languageServers -> CompletableFuture.allOf(languageServers.stream()
+                        .map(languageServer -> accessor.track(languageServer, LanguageServerHealth.CODE_LENS,
+                                        languageServer.getTextDocumentService().codeLens(param))
+                                .thenAcceptAsync(codeLenses -> {
+                                    // textDocument/codeLens may return null
+                                    if (codeLenses != null) {
+                                        codeLenses.stream().filter(Objects::nonNull)
+                                                .forEach(codeLens -> pairs.add(Pair.create(codeLens, languageServer)));
+                                    }
+                                }))
+                        .toArray(CompletableFuture[]::new)))
+                .thenApply(unused -> new ArrayList<>(pairs));
+    }
+
     private InlayPresentation toPresentation(Editor editor, int offset,
                                              List<Pair<Integer, Pair<CodeLens, LanguageServer>>> elements,
                                              PresentationFactory factory) {
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.completion;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.TextRange;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
+import org.eclipse.lsp4j.Position;
+
+/**
+ * Snapshot of the line where completion was invoked, up to the completion offset. It's shared by all the proposals
+ * of a completion request so that computing their prefix and filter doesn't read the document for each item.
+ */
+public class CompletionPrefix {
+    private final int completionOffset;
+    private final int lineNumber;
+    private final int lineStartOffset;
+    private final String lineText;
+
+    public CompletionPrefix(int completionOffset, Document document) {
+        this.completionOffset = completionOffset;
+        this.lineNumber = document.getLineNumber(completionOffset);
+        this.lineStartOffset = document.getLineStartOffset(lineNumber);
+        this.lineText = document.getCharsSequence().subSequence(lineStartOffset, completionOffset).toString();
+    }
+
+    public int getCompletionOffset() {
+        return completionOffset;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * @return the text of the line from its start to the completion offset
+     */
+    public String getLineText() {
+        return lineText;
+    }
+
+    public Position getPosition() {
+        return new Position(lineNumber, completionOffset - lineStartOffset);
+    }
+
+    /**
+     * Converts a position to an offset, only reading the document if the position isn't on the completion line.
+     */
+    public int toOffset(Position position, Document document) {
+        if (position.getLine() == lineNumber) {
+            return lineStartOffset + position.getCharacter();
+        }
+        return LSPIJUtils.toOffset(position, document);
+    }
+
+    /**
+     * Returns the text between the given offset and the completion offset.
+     */
+    public String getTextBefore(int startOffset, Document document) {
+        if (startOffset >= lineStartOffset && startOffset <= completionOffset) {
+            return lineText.substring(startOffset - lineStartOffset);
+        }
+        return document.getText(new TextRange(startOffset, completionOffset));
+    }
+}
@@ -38,6 +38,20 @@ public final class CompletionProposalTools {
 		}
 		int prefixToCursorLength = cursorOffset - completionInsertionOffset;
 		String prefixToCursor = document.getText(new TextRange(completionInsertionOffset, completionInsertionOffset + prefixToCursorLength));
+		return getFilterFromPrefix(prefixToCursor, completionItemFilter);
+	}
+
+	/**
+	 * Same as {@link #getFilterFromDocument(Document, int, String, int)} when the
+	 * text between the completion insertion offset and the cursor is already known
+	 *
+	 * @param prefixToCursor
+	 * @param completionItemFilter
+	 * @return The longest prefix to the current cursor position that is found
+	 *         within the completion's filter regardless of character spacing
+	 */
+	public static String getFilterFromPrefix(String prefixToCursor, String completionItemFilter) {
+		int prefixToCursorLength = prefixToCursor.length();
 		int i;
 		for (i = 0; i < prefixToCursor.length(); i++) {
 			if (!isSubstringFoundOrderedInString(
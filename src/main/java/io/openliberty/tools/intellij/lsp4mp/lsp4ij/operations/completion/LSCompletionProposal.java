@@ -13,7 +13,6 @@ package io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.completion;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.event.DocumentEvent;
-import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.services.LanguageServer;
 import org.slf4j.Logger;
@@ -22,8 +21,9 @@ import org.slf4j.LoggerFactory;
 public class LSCompletionProposal extends LSIncompleteCompletionProposal {
     private static final Logger LOGGER = LoggerFactory.getLogger(LSCompletionProposal.class);
 
-    public LSCompletionProposal(Editor editor, int offset, CompletionItem item, LanguageServer languageServer) {
-        super(editor, offset, item, languageServer);
+    public LSCompletionProposal(Editor editor, int offset, CompletionPrefix completionPrefix, CompletionItem item,
+                                LanguageServer languageServer) {
+        super(editor, offset, completionPrefix, item, languageServer);
     }
 
     @Override
@@ -40,9 +40,9 @@ public class LSCompletionProposal extends LSIncompleteCompletionProposal {
                 return CompletionProposalTools.isSubstringFoundOrderedInString(documentFilter, getFilterString());
             } else if (item.getTextEdit() != null) {
                 if (item.getTextEdit().isLeft()) {
-                    return offset == LSPIJUtils.toOffset(item.getTextEdit().getLeft().getRange().getStart(), document);
+                    return offset == completionPrefix.toOffset(item.getTextEdit().getLeft().getRange().getStart(), document);
                 } else {
-                    return offset == LSPIJUtils.toOffset(item.getTextEdit().getRight().getInsert().getStart(), document);
+                    return offset == completionPrefix.toOffset(item.getTextEdit().getRight().getInsert().getStart(), document);
                 }
             }
         } catch (IndexOutOfBoundsException e) {
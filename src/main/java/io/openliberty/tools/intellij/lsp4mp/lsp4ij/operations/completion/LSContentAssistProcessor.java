@@ -7,6 +7,7 @@
  *
  * Contributors:
  * Red Hat, Inc. - initial API and implementation
+ * IBM Corporation - adaptive timeouts
  ******************************************************************************/
 package io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.completion;
 
@@ -21,8 +22,10 @@ import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.Pair;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerHealth;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServiceAccessor;
 import org.eclipse.lsp4j.CompletionItem;
 import org.eclipse.lsp4j.CompletionList;
@@ -34,6 +37,7 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -46,12 +50,68 @@ import java.util.stream.Collectors;
 public class LSContentAssistProcessor extends CompletionContributor {
     private static final Logger LOGGER = LoggerFactory.getLogger(LSContentAssistProcessor.class);
 
+    private static final Key<CompletionSession> SESSION_KEY = Key.create("open-liberty.intellij.lsp4ij.completionSession");
+
+    /**
+     * The complete results of the last completion request for a document. They are filtered locally while the user
+     * keeps typing on the same line instead of being requested again.
+     */
+    private static class CompletionSession {
+        private final int offset;
+        private final CompletionPrefix prefix;
+        private final int textLength;
+        private final long modificationStamp;
+        private final List<Pair<CompletionList, LanguageServer>> results;
+
+        private CompletionSession(int offset, CompletionPrefix prefix, Document document,
+                                  List<Pair<CompletionList, LanguageServer>> results) {
+            this.offset = offset;
+            this.prefix = prefix;
+            this.textLength = document.getTextLength();
+            this.modificationStamp = document.getModificationStamp();
+            this.results = results;
+        }
+
+        private boolean isReusableFor(Document document, CompletionPrefix current) {
+            if (current.getLineNumber() != prefix.getLineNumber() || !current.getLineText().startsWith(prefix.getLineText())) {
+                return false;
+            }
+            String typed = current.getLineText().substring(prefix.getLineText().length());
+            if (typed.isEmpty()) {
+                return document.getModificationStamp() == modificationStamp;
+            }
+            // the only change since the request must be the characters typed at the completion offset
+            if (document.getTextLength() - textLength != typed.length()) {
+                return false;
+            }
+            for (int i = 0; i < typed.length(); i++) {
+                char c = typed.charAt(i);
+                if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     @Override
     public void fillCompletionVariants(@NotNull CompletionParameters parameters, @NotNull CompletionResultSet result) {
         Document document = parameters.getEditor().getDocument();
         Editor editor = parameters.getEditor();
         Project project = parameters.getOriginalFile().getProject();
         int offset = parameters.getOffset();
+        CompletionPrefix prefix = new CompletionPrefix(offset, document);
+        CompletionSession session = document.getUserData(SESSION_KEY);
+        if (session != null && session.isReusableFor(document, prefix)) {
+            for (Pair<CompletionList, LanguageServer> pair : session.results) {
+                ProgressManager.checkCanceled();
+                result.addAllElements(toProposals(project, editor, document, session.offset, prefix,
+                        Either.forRight(pair.getFirst()), pair.getSecond()));
+            }
+            super.fillCompletionVariants(parameters, result);
+            return;
+        }
+        clearSession(document);
         CompletableFuture<List<LanguageServer>> completionLanguageServersFuture = initiateLanguageServers(project, document);
         CompletionParams param;
         try {
@@ -62,19 +122,32 @@ public class LSContentAssistProcessor extends CompletionContributor {
              */
             param = LSPIJUtils.toCompletionParams(LSPIJUtils.toUri(document), offset, document);
             BlockingDeque<Pair<Either<List<CompletionItem>, CompletionList>, LanguageServer>> proposals = new LinkedBlockingDeque<>();
+            LanguageServiceAccessor accessor = LanguageServiceAccessor.getInstance(project);
+            // a server which doesn't respond in time completes the future exceptionally, the session isn't reused
             CompletableFuture<Void> future = completionLanguageServersFuture
                     .thenComposeAsync(languageServers -> CompletableFuture.allOf(languageServers.stream()
-                            .map(languageServer -> languageServer.getTextDocumentService().completion(param)
+                            .map(languageServer -> accessor.track(languageServer, LanguageServerHealth.COMPLETION,
+                                            languageServer.getTextDocumentService().completion(param))
                                     .thenAcceptAsync(completion -> proposals.add(new Pair<>(completion, languageServer))))
                             .toArray(CompletableFuture[]::new)));
+            List<Pair<CompletionList, LanguageServer>> completeResults = new ArrayList<>();
+            boolean complete = true;
             while (!future.isDone() || !proposals.isEmpty()) {
                 ProgressManager.checkCanceled();
                 Pair<Either<List<CompletionItem>, CompletionList>, LanguageServer> pair = proposals.poll(25, TimeUnit.MILLISECONDS);
                 if (pair != null) {
-                    result.addAllElements(toProposals(project, editor, document, offset, pair.getFirst(),
+                    result.addAllElements(toProposals(project, editor, document, offset, prefix, pair.getFirst(),
                             pair.getSecond()));
+                    CompletionList list = toCompletionList(pair.getFirst());
+                    if (list.isIncomplete()) {
+                        complete = false;
+                    } else {
+                        completeResults.add(Pair.create(list, pair.getSecond()));
+                    }
                 }
-
+            }
+            if (complete && !future.isCompletedExceptionally()) {
+                document.putUserData(SESSION_KEY, new CompletionSession(offset, prefix, document, completeResults));
             }
         } catch (RuntimeException | InterruptedException e) {
             if (e instanceof ProcessCanceledException) {
@@ -88,15 +161,27 @@ public class LSContentAssistProcessor extends CompletionContributor {
         super.fillCompletionVariants(parameters, result);
     }
 
+    static void clearSession(Document document) {
+        document.putUserData(SESSION_KEY, null);
+    }
+
+    private static CompletionList toCompletionList(Either<List<CompletionItem>, CompletionList> completion) {
+        if (completion == null) {
+            return new CompletionList(false, Collections.emptyList());
+        }
+        return completion.isLeft() ? new CompletionList(false, completion.getLeft()) : completion.getRight();
+    }
+
     private Collection<? extends LookupElement> toProposals(Project project, Editor editor, Document document,
-                                                            int offset, Either<List<CompletionItem>,
-            CompletionList> completion, LanguageServer languageServer) {
+                                                            int offset, CompletionPrefix prefix,
+                                                            Either<List<CompletionItem>, CompletionList> completion,
+                                                            LanguageServer languageServer) {
         if (completion != null) {
             List<CompletionItem> items = completion.isLeft()?completion.getLeft():completion.getRight().getItems();
             boolean isIncomplete = completion.isLeft()?false:completion.getRight().isIncomplete();
             // Added check for when completion item kind is null, needed for Liberty LS integration
-            return items.stream().map(item -> createLookupItem(project, editor, offset, item, isIncomplete, languageServer)).
-                    filter(item -> item.validate(document, offset, null)).
+            return items.stream().map(item -> createLookupItem(project, editor, offset, prefix, item, isIncomplete, languageServer)).
+                    filter(item -> item.validate(document, prefix.getCompletionOffset(), null)).
                     map(item -> PrioritizedLookupElement.withGrouping(item, item.getItem().getKind() != null ? item.getItem().getKind().getValue() : 0)).
                     collect(Collectors.toList());
         }
@@ -104,10 +189,10 @@ public class LSContentAssistProcessor extends CompletionContributor {
     }
 
     private LSIncompleteCompletionProposal createLookupItem(Project project, Editor editor, int offset,
-                                                            CompletionItem item, boolean isIncomplete,
-                                                            LanguageServer languageServer) {
-        return isIncomplete?new LSIncompleteCompletionProposal(editor, offset, item, languageServer):
-                new LSCompletionProposal(editor, offset, item, languageServer);
+                                                            CompletionPrefix prefix, CompletionItem item,
+                                                            boolean isIncomplete, LanguageServer languageServer) {
+        return isIncomplete?new LSIncompleteCompletionProposal(editor, offset, prefix, item, languageServer):
+                new LSCompletionProposal(editor, offset, prefix, item, languageServer);
     }
 
 
@@ -69,20 +69,27 @@ public class LSIncompleteCompletionProposal extends LookupElement {
     protected       int currentOffset;
     protected       int bestOffset;
     protected final Editor editor;
+    protected final CompletionPrefix completionPrefix;
     private Integer rankCategory;
     private Integer rankScore;
     private String documentFilter;
     private String documentFilterAddition = ""; //$NON-NLS-1$
     protected final LanguageServer languageServer;
 
-    public LSIncompleteCompletionProposal(Editor editor, int offset, CompletionItem item, LanguageServer languageServer) {
+    /**
+     * @param offset the offset the completion item was computed for, it's before the completion offset when the item
+     *               is reused from a previous request
+     * @param completionPrefix the line of the current completion offset
+     */
+    public LSIncompleteCompletionProposal(Editor editor, int offset, CompletionPrefix completionPrefix,
+                                          CompletionItem item, LanguageServer languageServer) {
         this.item = item;
         this.editor = editor;
         this.languageServer = languageServer;
+        this.completionPrefix = completionPrefix;
         this.initialOffset = offset;
-        this.currentOffset = offset;
-        this.bestOffset = getPrefixCompletionStart(editor.getDocument(), offset);
-        //this.bestOffset = offset;
+        this.currentOffset = completionPrefix.getCompletionOffset();
+        this.bestOffset = getPrefixCompletionStart(editor.getDocument(), completionPrefix);
         putUserData(CodeCompletionHandlerBase.DIRECT_INSERTION, true);
     }
 
@@ -116,8 +123,13 @@ public class LSIncompleteCompletionProposal extends LookupElement {
         if (documentFilter != null) {
             return documentFilter + documentFilterAddition;
         }
-        documentFilter = CompletionProposalTools.getFilterFromDocument(editor.getDocument(), currentOffset,
-                getFilterString(), bestOffset);
+        if (currentOffset == completionPrefix.getCompletionOffset()) {
+            documentFilter = bestOffset >= currentOffset ? "" : CompletionProposalTools.getFilterFromPrefix( //$NON-NLS-1$
+                    completionPrefix.getTextBefore(bestOffset, editor.getDocument()), getFilterString());
+        } else {
+            documentFilter = CompletionProposalTools.getFilterFromDocument(editor.getDocument(), currentOffset,
+                    getFilterString(), bestOffset);
+        }
         documentFilterAddition = ""; //$NON-NLS-1$
         return documentFilter;
     }
@@ -139,29 +151,30 @@ public class LSIncompleteCompletionProposal extends LookupElement {
         return insertText;
     }
 
-    public int getPrefixCompletionStart(Document document, int completionOffset) {
+    public int getPrefixCompletionStart(Document document, CompletionPrefix completionPrefix) {
         Either<TextEdit, InsertReplaceEdit> textEdit = this.item.getTextEdit();
         if (textEdit != null) {
             if (textEdit.isLeft()) {
                 try {
-                    return LSPIJUtils.toOffset(this.item.getTextEdit().getLeft().getRange().getStart(), document);
+                    return completionPrefix.toOffset(this.item.getTextEdit().getLeft().getRange().getStart(), document);
                 } catch (RuntimeException e) {
                     LOGGER.warn(e.getLocalizedMessage(), e);
                 }
             } else {
                 try {
-                    return LSPIJUtils.toOffset(this.item.getTextEdit().getRight().getInsert().getStart(), document);
+                    return completionPrefix.toOffset(this.item.getTextEdit().getRight().getInsert().getStart(), document);
                 } catch (RuntimeException e) {
                     LOGGER.warn(e.getLocalizedMessage(), e);
                 }
             }
         }
         String insertText = getInsertText();
+        int completionOffset = completionPrefix.getCompletionOffset();
         try {
-            int startOffset = Math.max(0, completionOffset - insertText.length());
-            int endOffset = Math.min(startOffset + insertText.length(), completionOffset);
-            String subDoc = document.getText(new TextRange(startOffset, endOffset));
-            for (int i = 0; i < insertText.length() && i < completionOffset; i++) {
+            // the prefix of the insert text can only be found on the completion line
+            String lineText = completionPrefix.getLineText();
+            String subDoc = lineText.substring(Math.max(0, lineText.length() - insertText.length()));
+            for (int i = 0; i < subDoc.length(); i++) {
                 String tentativeCommonString = subDoc.substring(i);
                 if (insertText.startsWith(tentativeCommonString)) {
                     return completionOffset - tentativeCommonString.length();
@@ -243,7 +256,7 @@ public class LSIncompleteCompletionProposal extends LookupElement {
                 int commonSize = 0;
                 while (commonSize < insertText.length() - shift
                         && document.getTextLength() > offset + commonSize
-                        && document.getText().charAt(this.bestOffset + shift + commonSize) == insertText.charAt(commonSize + shift)) {
+                        && document.getCharsSequence().charAt(this.bestOffset + shift + commonSize) == insertText.charAt(commonSize + shift)) {
                     commonSize++;
                 }
                 textEdit.getRange().getEnd().setCharacter(textEdit.getRange().getEnd().getCharacter() + commonSize);
@@ -419,6 +432,8 @@ public class LSIncompleteCompletionProposal extends LookupElement {
 
     @Override
     public void handleInsert(@NotNull InsertionContext context) {
+        // the text edit of the item is updated when applied, it can't be reused by the next completion
+        LSContentAssistProcessor.clearSession(context.getDocument());
         apply(context.getDocument(), context.getCompletionChar(), 0, context.getOffset(CompletionInitializationContext.SELECTION_END_OFFSET));
     }
 
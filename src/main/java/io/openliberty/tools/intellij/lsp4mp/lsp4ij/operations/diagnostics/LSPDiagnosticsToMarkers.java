@@ -11,10 +11,13 @@ import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.UserDataHolderBase;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiManager;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.DocumentEditHistory;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerWrapper;
 import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.DiagnosticSeverity;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +26,7 @@ import javax.annotation.Nonnull;
 import java.awt.*;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,40 +38,56 @@ public class LSPDiagnosticsToMarkers implements Consumer<PublishDiagnosticsParam
     private static final Key<Map<String, RangeHighlighter[]>> LSP_MARKER_KEY_PREFIX = Key.create(LSPDiagnosticsToMarkers.class.getName() + ".markers");
 
     private final String languageServerId;
+    private final LanguageServerWrapper wrapper;
 
     public LSPDiagnosticsToMarkers(@Nonnull String serverId) {
         this.languageServerId = serverId;
+        this.wrapper = null;
     }
+
+    public LSPDiagnosticsToMarkers(@Nonnull LanguageServerWrapper wrapper) {
+        this.languageServerId = wrapper.serverDefinition.id;
+        this.wrapper = wrapper;
+    }
+
     @Override
     public void accept(PublishDiagnosticsParams publishDiagnosticsParams) {
+        VirtualFile file = null;
+        try {
+            file = LSPIJUtils.findResourceFor(new URI(publishDiagnosticsParams.getUri()));
+        } catch (URISyntaxException e) {
+            LOGGER.warn(e.getLocalizedMessage(), e);
+        }
+        if (file == null) {
+            return;
+        }
+        // the content the diagnostics refer to, the version they were computed for or else the last version sent
+        long stamp = wrapper != null ? wrapper.getDocumentStamp(LSPIJUtils.toUri(file), publishDiagnosticsParams.getVersion()) : -1;
+        VirtualFile theFile = file;
         ApplicationManager.getApplication().invokeLater(() -> {
-            VirtualFile file = null;
-            try {
-                file = LSPIJUtils.findResourceFor(new URI(publishDiagnosticsParams.getUri()));
-            } catch (URISyntaxException e) {
-                LOGGER.warn(e.getLocalizedMessage(), e);
-            }
-            if (file != null) {
-                Document document = FileDocumentManager.getInstance().getDocument(file);
-                if (document != null) {
-                    Editor[] editors  = LSPIJUtils.editorsForFile(file, document);
-                    for(Editor editor : editors) {
-                        cleanMarkers(editor);
-                        createMarkers(editor, document, publishDiagnosticsParams.getDiagnostics());
-                    }
+            Document document = FileDocumentManager.getInstance().getDocument(theFile);
+            if (document != null) {
+                Editor[] editors  = LSPIJUtils.editorsForFile(theFile, document);
+                for(Editor editor : editors) {
+                    cleanMarkers(editor);
+                    createMarkers(editor, document, publishDiagnosticsParams.getDiagnostics(), stamp);
                 }
             }
         });
     }
 
-    private void createMarkers(Editor editor, Document document, List<Diagnostic> diagnostics) {
-        RangeHighlighter[] rangeHighlighters = new RangeHighlighter[diagnostics.size()];
-        int index = 0;
+    private void createMarkers(Editor editor, Document document, List<Diagnostic> diagnostics, long stamp) {
+        List<RangeHighlighter> rangeHighlighters = new ArrayList<>(diagnostics.size());
         for(Diagnostic diagnostic : diagnostics) {
-            int startOffset = LSPIJUtils.toOffset(diagnostic.getRange().getStart(), document);
-            int endOffset = LSPIJUtils.toOffset(diagnostic.getRange().getEnd(), document);
-            if (endOffset > document.getLineEndOffset(document.getLineCount() - 1)) {
-                endOffset = document.getLineEndOffset(document.getLineCount() - 1);
+            // the diagnostics of a previous content are moved through the edits since, or dropped if their text has been edited
+            Range range = stamp != -1 ? DocumentEditHistory.toCurrentRange(document, stamp, diagnostic.getRange()) : diagnostic.getRange();
+            int startOffset = range != null ? LSPIJUtils.toOffsetIfValid(range.getStart(), document) : -1;
+            int endOffset = range != null ? LSPIJUtils.toOffsetIfValid(range.getEnd(), document) : -1;
+            if (range != null && endOffset == -1 && range.getEnd().getLine() >= document.getLineCount()) {
+                endOffset = document.getTextLength();
+            }
+            if (startOffset == -1 || endOffset < startOffset) {
+                continue;
             }
             int layer = getLayer(diagnostic.getSeverity());
             EffectType effectType = getEffectType(diagnostic.getSeverity());
@@ -75,17 +95,30 @@ public class LSPDiagnosticsToMarkers implements Consumer<PublishDiagnosticsParam
             RangeHighlighter rangeHighlighter = editor.getMarkupModel().addRangeHighlighter(startOffset, endOffset, layer,
                     new TextAttributes(editor.getColorsScheme().getDefaultForeground(), editor.getColorsScheme().getDefaultBackground(), color, effectType, Font.PLAIN),
                     HighlighterTargetArea.EXACT_RANGE);
-            rangeHighlighter.setErrorStripeTooltip(diagnostic);
-            rangeHighlighters[index++] = rangeHighlighter;
+            rangeHighlighter.setErrorStripeTooltip(range == diagnostic.getRange() ? diagnostic : moveTo(diagnostic, range));
+            rangeHighlighters.add(rangeHighlighter);
         }
         Map<String, RangeHighlighter[]> allMarkers = getAllMarkers(editor);
-        allMarkers.put(languageServerId, rangeHighlighters);
+        allMarkers.put(languageServerId, rangeHighlighters.toArray(new RangeHighlighter[0]));
         // forces re-highlighting/refreshes inspections for the current file to fix https://github.com/OpenLiberty/liberty-tools-intellij/issues/85
         // triggers io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.diagnostics.LSPLocalInspectionTool#checkFile()
         Project project = editor.getProject();
         DaemonCodeAnalyzer.getInstance(project).restart(PsiManager.getInstance(project).findFile(FileDocumentManager.getInstance().getFile(document)));
     }
 
+    /**
+     * Returns a copy of the diagnostic with the given range, used by the code actions requested for the current content.
+     */
+    private static Diagnostic moveTo(Diagnostic diagnostic, Range range) {
+        Diagnostic moved = new Diagnostic(range, diagnostic.getMessage(), diagnostic.getSeverity(), diagnostic.getSource());
+        moved.setCode(diagnostic.getCode());
+        moved.setCodeDescription(diagnostic.getCodeDescription());
+        moved.setTags(diagnostic.getTags());
+        moved.setRelatedInformation(diagnostic.getRelatedInformation());
+        moved.setData(diagnostic.getData());
+        return moved;
+    }
+
     @NotNull
     private Map<String, RangeHighlighter[]> getAllMarkers(Editor editor) {
         if (editor instanceof UserDataHolderBase) {
@@ -7,6 +7,7 @@
  *
  * Contributors:
  * Red Hat, Inc. - initial API and implementation
+ * IBM Corporation - adaptive timeouts, skip the unresponsive language servers
  ******************************************************************************/
 package io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.highlight;
 
@@ -16,9 +17,12 @@ import com.intellij.codeInsight.highlighting.HighlightUsagesHandlerFactory;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.util.Pair;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.DocumentEditHistory;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerHealth;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServiceAccessor;
 import org.eclipse.lsp4j.DocumentHighlight;
 import org.eclipse.lsp4j.DocumentHighlightParams;
@@ -61,23 +65,32 @@ public class LSPHighlightUsagesHandlerFactory implements HighlightUsagesHandlerF
             ProgressManager.checkCanceled();
             TextDocumentIdentifier identifier = new TextDocumentIdentifier(uri.toString());
             DocumentHighlightParams params = new DocumentHighlightParams(identifier, position);
-            BlockingDeque<DocumentHighlight> highlights = new LinkedBlockingDeque<>();
-            CompletableFuture<Void> future = LanguageServiceAccessor.getInstance(editor.getProject()).getLanguageServers(document,
-                            capabilities -> LSPIJUtils.hasCapability(capabilities.getDocumentHighlightProvider()))
-                    .thenAcceptAsync(languageServers ->
+            // the highlights with the modification stamp of the content the server computed them for
+            BlockingDeque<Pair<DocumentHighlight, Long>> highlights = new LinkedBlockingDeque<>();
+            LanguageServiceAccessor accessor = LanguageServiceAccessor.getInstance(editor.getProject());
+            CompletableFuture<Void> future = accessor.getLanguageServers(document,
+                            capabilities -> LSPIJUtils.hasCapability(capabilities.getDocumentHighlightProvider()), false)
+                    .thenComposeAsync(languageServers ->
                             CompletableFuture.allOf(languageServers.stream()
-                                    .map(languageServer -> languageServer.getTextDocumentService().documentHighlight(params))
-                                    .map(request -> request.thenAcceptAsync(result -> {
-                                        if (result != null) {
-                                            result.forEach(hightlight -> highlights.add(hightlight));
-                                        }
-                                    })).toArray(CompletableFuture[]::new)));
+                                    .map(languageServer -> {
+                                        long stamp = accessor.getDocumentStamp(languageServer, document);
+                                        return accessor.track(languageServer, LanguageServerHealth.DOCUMENT_HIGHLIGHT,
+                                                        languageServer.getTextDocumentService().documentHighlight(params))
+                                                .thenAcceptAsync(result -> {
+                                                    if (result != null) {
+                                                        result.forEach(hightlight -> highlights.add(Pair.create(hightlight, stamp)));
+                                                    }
+                                                });
+                                    }).toArray(CompletableFuture[]::new)));
             while (!future.isDone() || !highlights.isEmpty()) {
                 ProgressManager.checkCanceled();
-                DocumentHighlight highlight = highlights.poll(25, TimeUnit.MILLISECONDS);
+                Pair<DocumentHighlight, Long> highlight = highlights.poll(25, TimeUnit.MILLISECONDS);
                 if (highlight != null) {
-                    int highlightOffset = LSPIJUtils.toOffset(highlight.getRange().getStart(), document);
-                    PsiElement element = file.findElementAt(highlightOffset);
+                    // drop the highlights of a text edited since the request
+                    Position start = DocumentEditHistory.toCurrentPosition(document, highlight.getSecond(),
+                            highlight.getFirst().getRange().getStart());
+                    int highlightOffset = start != null ? LSPIJUtils.toOffsetIfValid(start, document) : -1;
+                    PsiElement element = highlightOffset >= 0 ? file.findElementAt(highlightOffset) : null;
                     if (element != null) {
                         elements.add(element);
                     }
@@ -7,6 +7,7 @@
  *
  * Contributors:
  * Red Hat, Inc. - initial API and implementation
+ * IBM Corporation - adaptive timeouts, drop the hovers of a previous content
  ******************************************************************************/
 package io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.hover;
 
@@ -24,6 +25,8 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerHealth;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerWrapper;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServiceAccessor;
 import com.vladsch.flexmark.html.HtmlRenderer;
 import com.vladsch.flexmark.parser.Parser;
@@ -63,6 +66,7 @@ public class LSPTextHover extends DocumentationProviderEx implements ExternalDoc
 
     private PsiElement lastElement;
     private int        lastOffset = -1;
+    private long       lastStamp = -1;
     private CompletableFuture<List<Hover>> request,lspRequest;
 
     public LSPTextHover() {
@@ -155,7 +159,8 @@ public class LSPTextHover extends DocumentationProviderEx implements ExternalDoc
         if (editor != null) {
             initiateHoverRequest(elem, editor);
             try {
-                String result = request.get(5, TimeUnit.SECONDS).stream()
+                // the request of each server is bounded by its own deadline
+                String result = request.get(getTimeout(elem), TimeUnit.MILLISECONDS).stream()
                         .filter(Objects::nonNull)
                         .map(LSPTextHover::getHoverString)
                         .filter(Objects::nonNull)
@@ -219,20 +224,28 @@ public class LSPTextHover extends DocumentationProviderEx implements ExternalDoc
         PsiDocumentManager manager = PsiDocumentManager.getInstance(element.getProject());
         final Document document = manager.getDocument(element.getContainingFile());
         this.request = getCursorOffset(editor).thenComposeAsync(offset -> {
-            if (offset != -1 && (this.lspRequest == null || !element.equals(this.lastElement) || offset != this.lastOffset)) {
+            // the hover of a previous content of the document is stale
+            long stamp = document.getModificationStamp();
+            if (offset != -1 && (this.lspRequest == null || !element.equals(this.lastElement) || offset != this.lastOffset
+                    || stamp != this.lastStamp)) {
                 ApplicationManager.getApplication().runReadAction(() -> { // make sure no writes to the project are underway
                     this.lastElement = element;
                     this.lastOffset = offset;
-                    this.lspRequest = LanguageServiceAccessor.getInstance(element.getProject())
-                            .getLanguageServers(document, capabilities -> isHoverCapable(capabilities))
+                    this.lastStamp = stamp;
+                    LanguageServiceAccessor accessor = LanguageServiceAccessor.getInstance(element.getProject());
+                    this.lspRequest = accessor
+                            .getLanguageServers(document, capabilities -> isHoverCapable(capabilities), false)
                             .thenApplyAsync(languageServers -> // Async is very important here, otherwise the LS Client thread is in
                                     // deadlock and doesn't read bytes from LS
                             {
-                                return languageServers.stream()
-                                        .map(languageServer -> {
+                                List<CompletableFuture<Hover>> hovers = languageServers.stream()
+                                        .map(languageServer -> accessor.track(languageServer, LanguageServerHealth.HOVER,
+                                                languageServer.getTextDocumentService().hover(LSPIJUtils.toHoverParams(offset, document))))
+                                        .collect(Collectors.toList());
+                                return hovers.stream()
+                                        .map(hover -> {
                                             try {
-                                                return languageServer.getTextDocumentService()
-                                                        .hover(LSPIJUtils.toHoverParams(offset, document)).get();
+                                                return hover.get();
                                             } catch (ExecutionException e) {
                                                 LOGGER.warn(e.getLocalizedMessage(), e);
                                                 return null;
@@ -249,6 +262,17 @@ public class LSPTextHover extends DocumentationProviderEx implements ExternalDoc
         });
     }
 
+    /**
+     * Returns the longest hover deadline of the started language servers, plus a margin to get the cursor offset.
+     */
+    private static long getTimeout(PsiElement element) {
+        long timeout = 0;
+        for (LanguageServerWrapper wrapper : LanguageServiceAccessor.getInstance(element.getProject()).getStartedServers()) {
+            timeout = Math.max(timeout, wrapper.getHealth().getTimeout(LanguageServerHealth.HOVER));
+        }
+        return (timeout > 0 ? timeout : 5_000L) + 1_000L;
+    }
+
     private boolean isHoverCapable(ServerCapabilities capabilities) {
         return (capabilities.getHoverProvider().isLeft() && capabilities.getHoverProvider().getLeft()) || capabilities.getHoverProvider().isRight();
     }
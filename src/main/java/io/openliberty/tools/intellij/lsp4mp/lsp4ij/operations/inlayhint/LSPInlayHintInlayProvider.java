@@ -18,6 +18,8 @@ import com.intellij.codeInsight.hints.presentation.InlayPresentation;
 import com.intellij.codeInsight.hints.presentation.MouseButton;
 import com.intellij.codeInsight.hints.presentation.PresentationFactory;
 import com.intellij.codeInsight.hints.presentation.SequencePresentation;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
@@ -25,7 +27,11 @@ import com.intellij.openapi.util.Pair;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.AbstractLSPInlayProvider;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.DocumentEditHistory;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPDocumentResultsCache;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPEditorViewport;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerHealth;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServiceAccessor;
 import org.eclipse.lsp4j.InlayHint;
 import org.eclipse.lsp4j.InlayHintLabelPart;
@@ -44,19 +50,20 @@ import org.slf4j.LoggerFactory;
 import java.awt.Component;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingDeque;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class LSPInlayHintInlayProvider extends AbstractLSPInlayProvider {
     private static final Logger LOGGER = LoggerFactory.getLogger(LSPInlayHintInlayProvider.class);
 
+    private static final LSPDocumentResultsCache<InlayHint> CACHE = new LSPDocumentResultsCache<>("inlayHint",
+            LSPInlayHintInlayProvider::getInlayHints, LSPInlayHintInlayProvider::moveTo);
+
     @Nullable
     @Override
     public InlayHintsCollector getCollectorFor(@NotNull PsiFile psiFile,
@@ -66,46 +73,80 @@ public class LSPInlayHintInlayProvider extends AbstractLSPInlayProvider {
         return new FactoryInlayHintsCollector(editor) {
             @Override
             public boolean collect(@NotNull PsiElement psiElement, @NotNull Editor editor, @NotNull InlayHintsSink inlayHintsSink) {
-                try {
-                    URI docURI = LSPIJUtils.toUri(editor.getDocument());
-                    if (docURI != null) {
-                        Range viewPortRange = new Range(new Position(0, 0), new Position(0,0));
-                        InlayHintParams param = new InlayHintParams(new TextDocumentIdentifier(docURI.toString()), viewPortRange);
-                        BlockingDeque<Pair<InlayHint, LanguageServer>> pairs = new LinkedBlockingDeque<>();
-                        List<Pair<Integer,Pair<InlayHint, LanguageServer>>> inlayhints = new ArrayList<>();
-                        CompletableFuture<Void> future = LanguageServiceAccessor.getInstance(psiElement.getProject())
-                                .getLanguageServers(editor.getDocument(), capabilities -> capabilities.getInlayHintProvider() != null)
-                                .thenComposeAsync(languageServers -> CompletableFuture.allOf(languageServers.stream()
-                                        .map(languageServer -> languageServer.getTextDocumentService().inlayHint(param)
-                                                .thenAcceptAsync(inlayHints -> {
-                                                    // textDocument/codeLens may return null
-                                                    if (inlayHints != null) {
-                                                        inlayHints.stream().filter(Objects::nonNull)
-                                                                .forEach(inlayHint -> pairs.add(new Pair(inlayHint, languageServer)));
-                                                    }
-                                                }))
-                                        .toArray(CompletableFuture[]::new)));
-                        while (!future.isDone() || !pairs.isEmpty()) {
-                            ProgressManager.checkCanceled();
-                            Pair<InlayHint, LanguageServer> pair = pairs.poll(25, TimeUnit.MILLISECONDS);
-                            if (pair != null) {
-                                int offset = LSPIJUtils.toOffset(pair.getFirst().getPosition(), editor.getDocument());
-                                inlayhints.add(Pair.create(offset, pair));
-                            }
+                Document document = editor.getDocument();
+                if (LSPIJUtils.toUri(document) != null) {
+                    LSPEditorViewport.LineRange lines = LSPEditorViewport.getLinesToCollect(editor);
+                    List<Pair<Integer,Pair<InlayHint, LanguageServer>>> inlayhints = new ArrayList<>();
+                    for (Pair<InlayHint, LanguageServer> pair : CACHE.get(psiElement.getProject(), document,
+                            lines.getFirst(), lines.getLast())) {
+                        ProgressManager.checkCanceled();
+                        int offset = LSPIJUtils.toOffsetIfValid(pair.getFirst().getPosition(), document);
+                        if (offset >= 0 && lines.contains(document.getLineNumber(offset))) {
+                            inlayhints.add(Pair.create(offset, pair));
                         }
-                        Map<Integer, List<Pair<Integer,Pair<InlayHint, LanguageServer>>>> elements = inlayhints.stream().collect(Collectors.groupingBy(p -> p.first));
-                        elements.forEach((offset,list) -> inlayHintsSink.addInlineElement(offset, false,
-                                toPresentation(editor, offset, list, getFactory()), false));
                     }
-                } catch (InterruptedException e) {
-                    LOGGER.warn(e.getLocalizedMessage(), e);
-                    Thread.currentThread().interrupt();
+                    Map<Integer, List<Pair<Integer,Pair<InlayHint, LanguageServer>>>> elements = inlayhints.stream().collect(Collectors.groupingBy(p -> p.first));
+                    elements.forEach((offset,list) -> inlayHintsSink.addInlineElement(offset, false,
+                            toPresentation(editor, offset, list, getFactory()), false));
                 }
                 return false;
             }
         };
     }
 
+    /**
+     * Invalidates the cached inlay hints, called when a language server sends workspace/inlayHint/refresh.
+     */
+    public static void refresh(Project project) {
+        CACHE.invalidate(project);
+    }
+
+    @Nullable
+    private static InlayHint moveTo(InlayHint inlayHint, Document document, long stamp) {
+        Position position = DocumentEditHistory.toCurrentPosition(document, stamp, inlayHint.getPosition());
+        if (position == null || position == inlayHint.getPosition()) {
+            return position != null ? inlayHint : null;
+        }
+        InlayHint moved = new InlayHint(position, inlayHint.getLabel());
+        moved.setKind(inlayHint.getKind());
+        moved.setTooltip(inlayHint.getTooltip());
+        moved.setPaddingLeft(inlayHint.getPaddingLeft());
+        moved.setPaddingRight(inlayHint.getPaddingRight());
+        moved.setTextEdits(inlayHint.getTextEdits());
+        moved.setData(inlayHint.getData());
+        return moved;
+    }
+
+    private static CompletableFuture<List<Pair<InlayHint, LanguageServer>>> getInlayHints(Project project, Document document,
+                                                                                        @Nullable Range range) {
+        URI docURI = LSPIJUtils.toUri(document);
+        if (docURI == null) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+        Range viewPortRange = range != null ? range : ReadAction.compute(() -> new Range(new Position(0, 0),
+                LSPIJUtils.toPosition(document.getTextLength(), document)));
+        InlayHintParams param = new InlayHintParams(new TextDocumentIdentifier(docURI.toString()), viewPortRange);
+        List<Pair<InlayHint, LanguageServer>> pairs = Collections.synchronizedList(new ArrayList<>());
+        LanguageServiceAccessor accessor = LanguageServiceAccessor.getInstance(project);
+        // the unresponsive servers are skipped, a server which doesn't respond in time fails the request and the
+        // previous results are kept
+        return accessor.getLanguageServers(document, capabilities -> capabilities.getInlayHintProvider() != null, false)
+                .thenComposeAsync(languageServers -> CompletableFuture.allOf(languageServers.stream()
+                        .map(languageServer -> accessor.track(languageServer, LanguageServerHealth.INLAY_HINT,
+                                        languageServer.getTextDocumentService().inlayHint(param))
+                                .thenAcceptAsync(inlayHints -> {
+                                    // textDocument/inlayHint may return null
+                                    if (inlayHints != null) {
+                                        // the hints at the end of the range are requested with the next chunk
+                                        inlayHints.stream().filter(Objects::nonNull)
+                                                .filter(inlayHint -> LSPDocumentResultsCache.isInRange(inlayHint.getPosition(), viewPortRange))
+                                                .forEach(inlayHint -> pairs.add(Pair.create(inlayHint, languageServer)));
+                                    }
+                                }))
+                        .toArray(CompletableFuture[]::new)))
+                .thenApply(unused -> new ArrayList<>(pairs));
+    }
+
     private InlayPresentation toPresentation(Editor editor, int offset,
                                              List<Pair<Integer, Pair<InlayHint, LanguageServer>>> elements,
                                              PresentationFactory factory) {
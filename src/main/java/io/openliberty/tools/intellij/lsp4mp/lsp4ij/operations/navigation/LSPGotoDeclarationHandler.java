@@ -7,21 +7,28 @@
  *
  * Contributors:
  * Red Hat, Inc. - initial API and implementation
+ * IBM Corporation - adaptive timeouts
  ******************************************************************************/
 package io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.navigation;
 
 import com.intellij.codeInsight.navigation.actions.GotoDeclarationHandler;
-import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.lang.Language;
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.Computable;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LSPIJUtils;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerHealth;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServerWrapper;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServersRegistry;
 import io.openliberty.tools.intellij.lsp4mp.lsp4ij.LanguageServiceAccessor;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.core.ls.PsiUtilsLSImpl;
 import org.eclipse.lsp4j.DefinitionParams;
@@ -35,12 +42,19 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -49,68 +63,230 @@ import java.util.stream.Collectors;
 public class LSPGotoDeclarationHandler implements GotoDeclarationHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(LSPGotoDeclarationHandler.class);
 
+    private static final long DEFAULT_TIMEOUT_MS = 1_000;
+    private static final long POLLING_INTERVAL_MS = 25;
+    private static final long CACHE_TTL_MS = 30_000;
+    private static final int CACHE_MAX_SIZE = 32;
+
+    /**
+     * Short-lived cache of the definition requests per (document, modification stamp, offset). Ctrl+hover and
+     * Ctrl+click on the same element issue the same request, the second one reuses the result of the first.
+     */
+    private static final Map<DefinitionKey, DefinitionRequest> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<DefinitionKey, DefinitionRequest>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<DefinitionKey, DefinitionRequest> eldest) {
+                    return size() > CACHE_MAX_SIZE;
+                }
+            });
+
     @Nullable
     @Override
     public PsiElement[] getGotoDeclarationTargets(@Nullable PsiElement sourceElement, int offset, Editor editor) {
+        Project project = editor.getProject();
+        Document document = editor.getDocument();
+        URI uri = LSPIJUtils.toUri(document);
+        if (project == null || uri == null || !isServerBackedFile(project, document)) {
+            return null;
+        }
+        DefinitionKey key = new DefinitionKey(uri, document.getModificationStamp(), offset);
+        DefinitionRequest request = getDefinitionRequest(key, project, document, offset);
         try {
-            URI uri = LSPIJUtils.toUri(editor.getDocument());
-            if (uri != null) {
-                DefinitionParams parms = new DefinitionParams(new TextDocumentIdentifier(uri.toString()), LSPIJUtils.toPosition(offset, editor.getDocument()));
-                Set<PsiElement> targets = new HashSet<>();
-                try {
-                    LanguageServiceAccessor.getInstance(editor.getProject()).getLanguageServers(editor.getDocument(), capabilities -> LSPIJUtils.hasCapability(capabilities.getDefinitionProvider())).thenComposeAsync(servers ->
-
-                        CompletableFuture.allOf(servers.stream().map(server -> server.getTextDocumentService().definition(parms).thenAcceptAsync(definitions -> targets.addAll(toElements(editor.getProject(), definitions))))
-                        .toArray(CompletableFuture[]::new))).get(1_000, TimeUnit.MILLISECONDS);
-                } catch (ExecutionException | TimeoutException e) {
-                    LOGGER.warn(e.getLocalizedMessage(), e);
-                }
-                return targets.toArray(new PsiElement[targets.size()]);
+            waitFor(request, getTimeout(project));
+        } catch (ProcessCanceledException e) {
+            // navigation was cancelled, cancel the LSP requests too
+            request.cancel();
+            CACHE.remove(key, request);
+            throw e;
+        }
+        // if the servers are slow, navigate to the targets received so far, the request stays cached for the next call
+        List<Location> locations = new ArrayList<>(request.locations);
+        return toElements(project, locations);
+    }
+
+    /**
+     * Returns true if the document is not a Java file (navigation in Java files is done by IntelliJ) and is handled by
+     * a language server, e.g. microprofile-config.properties, server.xml, bootstrap.properties and server.env.
+     */
+    private static boolean isServerBackedFile(Project project, Document document) {
+        VirtualFile file = LSPIJUtils.getFile(document);
+        if (file == null) {
+            return false;
+        }
+        Language language = LSPIJUtils.getFileLanguage(file, project);
+        if (language == null || language.isKindOf(JavaLanguage.INSTANCE)) {
+            return false;
+        }
+        return LanguageServersRegistry.getInstance().hasLanguageServer(file, project);
+    }
+
+    private static DefinitionRequest getDefinitionRequest(DefinitionKey key, Project project, Document document, int offset) {
+        DefinitionRequest newRequest;
+        synchronized (CACHE) {
+            DefinitionRequest request = CACHE.get(key);
+            if (request != null && !request.isExpired() && !request.future.isCompletedExceptionally()) {
+                return request;
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            LOGGER.warn(e.getLocalizedMessage(), e);
+            newRequest = new DefinitionRequest();
+            CACHE.put(key, newRequest);
         }
-        return new PsiElement[0];
+        // the language servers are looked up, and started if needed, without holding the lock of the cache
+        DefinitionParams params = new DefinitionParams(new TextDocumentIdentifier(key.uri.toString()), LSPIJUtils.toPosition(offset, document));
+        LanguageServiceAccessor accessor = LanguageServiceAccessor.getInstance(project);
+        accessor.getLanguageServers(document, capabilities -> LSPIJUtils.hasCapability(capabilities.getDefinitionProvider()))
+                .thenComposeAsync(servers -> CompletableFuture.allOf(servers.stream().map(server -> {
+                    CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> definition =
+                            accessor.track(server, LanguageServerHealth.DEFINITION, server.getTextDocumentService().definition(params));
+                    newRequest.requests.add(definition);
+                    return definition.thenAccept(definitions -> {
+                        if (definitions != null) {
+                            newRequest.locations.addAll(toLocation(definitions));
+                        }
+                    }).exceptionally(e -> {
+                        // a server which doesn't respond in time doesn't hide the locations of the others
+                        LOGGER.debug(e.getLocalizedMessage(), e);
+                        return null;
+                    });
+                }).toArray(CompletableFuture[]::new)))
+                .whenComplete((result, e) -> {
+                    if (e != null) {
+                        newRequest.future.completeExceptionally(e);
+                    } else {
+                        newRequest.future.complete(null);
+                    }
+                });
+        return newRequest;
     }
 
-    private List<PsiElement> toElements(Project project, Either<List<? extends Location>, List<? extends LocationLink>> definitions) {
-        List<? extends Location> locations = definitions!=null?toLocation(definitions): Collections.emptyList();
-        return locations.stream().map(location -> toElement(project, location)).filter(Objects::nonNull).collect(Collectors.toList());
+    /**
+     * Returns the longest definition deadline of the started language servers.
+     */
+    private static long getTimeout(Project project) {
+        long timeout = 0;
+        for (LanguageServerWrapper wrapper : LanguageServiceAccessor.getInstance(project).getStartedServers()) {
+            timeout = Math.max(timeout, wrapper.getHealth().getTimeout(LanguageServerHealth.DEFINITION));
+        }
+        return timeout > 0 ? timeout : DEFAULT_TIMEOUT_MS;
     }
 
-    private PsiElement toElement(Project project, Location location) {
-        return ApplicationManager.getApplication().runReadAction((Computable<PsiElement>) () -> {
-            PsiElement element = null;
+    /**
+     * Waits for the definition request to complete, checking for cancellation, at most the given timeout.
+     */
+    private static void waitFor(DefinitionRequest request, long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (!request.future.isDone() && System.currentTimeMillis() < deadline) {
+            ProgressManager.checkCanceled();
             try {
-                VirtualFile file = PsiUtilsLSImpl.getInstance(project).findFile(location.getUri());
-                if (file != null) {
-                    PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
-                    if (psiFile != null) {
-                        Document document = PsiDocumentManager.getInstance(project).getDocument(psiFile);
-                        if (document != null) {
-                            element = psiFile.findElementAt(LSPIJUtils.toOffset(location.getRange().getStart(), document));
+                request.future.get(POLLING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // check for cancellation and wait again
+            } catch (ExecutionException e) {
+                LOGGER.warn(e.getLocalizedMessage(), e);
+                return;
+            } catch (InterruptedException e) {
+                LOGGER.warn(e.getLocalizedMessage(), e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Maps the locations to PSI elements in a single read action.
+     */
+    private static PsiElement[] toElements(Project project, List<Location> locations) {
+        if (locations.isEmpty()) {
+            return PsiElement.EMPTY_ARRAY;
+        }
+        return ReadAction.compute(() -> {
+            Map<String, PsiFile> files = new HashMap<>();
+            Set<PsiElement> elements = new LinkedHashSet<>();
+            for (Location location : locations) {
+                PsiFile psiFile = files.computeIfAbsent(location.getUri(), uri -> findFile(project, uri));
+                if (psiFile != null) {
+                    Document document = PsiDocumentManager.getInstance(project).getDocument(psiFile);
+                    if (document != null && location.getRange().getStart().getLine() < document.getLineCount()) {
+                        int offset = Math.min(LSPIJUtils.toOffset(location.getRange().getStart(), document), document.getTextLength());
+                        PsiElement element = psiFile.findElementAt(offset);
+                        if (element != null) {
+                            elements.add(element);
                         }
                     }
                 }
-            } catch (IOException e) {
-                LOGGER.warn(e.getLocalizedMessage(), e);
             }
-            return element;
+            return elements.toArray(PsiElement.EMPTY_ARRAY);
         });
     }
 
+    @Nullable
+    private static PsiFile findFile(Project project, String uri) {
+        try {
+            VirtualFile file = PsiUtilsLSImpl.getInstance(project).findFile(uri);
+            return file != null ? PsiManager.getInstance(project).findFile(file) : null;
+        } catch (IOException e) {
+            LOGGER.warn(e.getLocalizedMessage(), e);
+            return null;
+        }
+    }
+
     /**
      * Unify the definition result has a list of Location.
      *
      * @param definitions the definition result
      * @return the list of locations
      */
-    private List<? extends Location> toLocation(Either<List<? extends Location>, List<? extends LocationLink>> definitions) {
+    private static List<? extends Location> toLocation(Either<List<? extends Location>, List<? extends LocationLink>> definitions) {
         if (definitions.isLeft()) {
             return definitions.getLeft();
         } else {
-            return definitions.getRight().stream().map(link -> new Location(link.getTargetUri(), link.getTargetRange())).collect(Collectors.toList());
+            // use the selection range of the link, it is the precise target (e.g. the name of the declaration)
+            return definitions.getRight().stream().map(link -> new Location(link.getTargetUri(),
+                    link.getTargetSelectionRange() != null ? link.getTargetSelectionRange() : link.getTargetRange())).collect(Collectors.toList());
+        }
+    }
+
+    private static class DefinitionKey {
+        private final URI uri;
+        private final long modificationStamp;
+        private final int offset;
+
+        private DefinitionKey(URI uri, long modificationStamp, int offset) {
+            this.uri = uri;
+            this.modificationStamp = modificationStamp;
+            this.offset = offset;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DefinitionKey)) {
+                return false;
+            }
+            DefinitionKey other = (DefinitionKey) o;
+            return modificationStamp == other.modificationStamp && offset == other.offset && uri.equals(other.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uri, modificationStamp, offset);
+        }
+    }
+
+    private static class DefinitionRequest {
+        private final long timestamp = System.currentTimeMillis();
+        private final Queue<Location> locations = new ConcurrentLinkedQueue<>();
+        private final List<CompletableFuture<?>> requests = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() - timestamp > CACHE_TTL_MS;
+        }
+
+        private void cancel() {
+            requests.forEach(request -> request.cancel(true));
+            future.cancel(true);
         }
     }
 }
@@ -82,6 +82,12 @@ public abstract class ProcessStreamConnectionProvider implements StreamConnectio
         }
     }
 
+    @Override
+    public @Nullable ProcessHandle getProcessHandle() {
+        Process p = process;
+        return p == null ? null : p.toHandle();
+    }
+
     protected List<String> getCommands() {
         return commands;
     }
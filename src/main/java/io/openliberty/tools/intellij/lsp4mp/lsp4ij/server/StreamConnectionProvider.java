@@ -110,6 +110,16 @@ public interface StreamConnectionProvider {
 
     public void stop();
 
+    /**
+     * Returns the handle of the process running the language server.
+     *
+     * @return the process handle or <code>null</code> if the language server does not run
+     *         in a separate process or is not yet started.
+     */
+    public default @Nullable ProcessHandle getProcessHandle() {
+        return null;
+    }
+
     /**
      * Allows to hook custom behavior on messages.
      * @param message a message
@@ -26,6 +26,9 @@ import org.eclipse.lsp4mp.commons.metadata.ItemHint;
 import org.eclipse.lsp4mp.commons.metadata.ValueHint;
 import org.eclipse.lsp4mp.commons.metadata.ItemMetadata;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Abstract class for properties provider.
  *
@@ -167,25 +170,51 @@ public abstract class AbstractPropertiesProvider implements IPropertiesProvider
 			//String hint = ClassUtil.getJVMClassName(type);
 			String hint = type.getQualifiedName();
 			if (!collector.hasItemHint(hint)) {
-				ItemHint itemHint = collector.getItemHint(hint);
-				itemHint.setSourceType(hint);
-				if (type instanceof PsiClassImpl) {
-					itemHint.setSource(Boolean.TRUE);
-				}
-				PsiElement[] children = type.getChildren();
-				for (PsiElement c : children) {
-					if (c instanceof PsiEnumConstant) {
-						String enumName = ((PsiEnumConstant) c).getName();
-						// TODO: extract Javadoc
-						String description = null;
-						ValueHint value = new ValueHint();
-						value.setValue(enumName);
-						itemHint.getValues().add(value);
-					}
-				}
+				updateHint(collector, hint, getEnumConstantNames(type), type instanceof PsiClassImpl);
 			}
 			return hint;
 		}
 		return null;
 	}
+
+	/**
+	 * Get or create the update hint from the given enumeration values.
+	 *
+	 * @param collector
+	 * @param hint      the enumeration type name.
+	 * @param values    the enumeration values.
+	 * @param source    true if the enumeration is declared in the sources.
+	 */
+	protected void updateHint(IPropertiesCollector collector, String hint, List<String> values, boolean source) {
+		if (hint == null || collector.hasItemHint(hint)) {
+			return;
+		}
+		ItemHint itemHint = collector.getItemHint(hint);
+		itemHint.setSourceType(hint);
+		if (source) {
+			itemHint.setSource(Boolean.TRUE);
+		}
+		for (String enumName : values) {
+			// TODO: extract Javadoc
+			ValueHint value = new ValueHint();
+			value.setValue(enumName);
+			itemHint.getValues().add(value);
+		}
+	}
+
+	/**
+	 * Returns the names of the constants of the given enumeration.
+	 *
+	 * @param type the enumeration type.
+	 * @return the names of the constants of the given enumeration.
+	 */
+	public static List<String> getEnumConstantNames(PsiClass type) {
+		List<String> names = new ArrayList<>();
+		for (PsiElement c : type.getChildren()) {
+			if (c instanceof PsiEnumConstant) {
+				names.add(((PsiEnumConstant) c).getName());
+			}
+		}
+		return names;
+	}
 }
@@ -6,6 +6,8 @@ import com.intellij.psi.PsiModifierListOwner;
 import com.intellij.util.Query;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.IPropertiesCollector.MergingStrategy;
 import org.eclipse.lsp4mp.commons.metadata.ConfigurationMetadata;
+import org.eclipse.lsp4mp.commons.metadata.ItemHint;
+import org.eclipse.lsp4mp.commons.metadata.ItemMetadata;
 import org.eclipse.lsp4j.jsonrpc.json.adapters.EnumTypeAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,6 +18,8 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Abstract class for static properties provider.
@@ -32,7 +36,7 @@ public abstract class AbstractStaticPropertiesProvider extends AbstractPropertie
 
 	private final String path;
 
-	private ConfigurationMetadata metadata;
+	private volatile ConfigurationMetadata metadata;
 
 	private final MergingStrategy mergingStrategy;
 
@@ -63,27 +67,72 @@ public abstract class AbstractStaticPropertiesProvider extends AbstractPropertie
 
 	/**
 	 * Collect static properties from the given context
-	 * 
+	 *
 	 * @param context the building scope context
 	 */
+	protected void collectStaticProperties(SearchContext context) {
+		ConfigurationMetadata metadata = getSharedMetadata();
+		if (metadata != null) {
+			context.getCollector().merge(metadata, mergingStrategy);
+		}
+	}
+
 	/**
-	 * Collect static properties from the given context
+	 * Returns the static metadata, loaded once and shared by all the modules. The collectors reference the
+	 * properties and the values of the hints instead of copying them, so the returned metadata must not be
+	 * modified: its lists are read-only and its strings are interned.
 	 *
-	 * @param context the building scope context
+	 * @return the static metadata and null if it can't be loaded.
 	 */
-	protected void collectStaticProperties(SearchContext context) {
-		if (metadata == null) {
-			try {
-				metadata = getMetadata();
-			} catch (IOException e) {
-				LOGGER.warn(e.getLocalizedMessage(), e);
+	private ConfigurationMetadata getSharedMetadata() {
+		ConfigurationMetadata result = metadata;
+		if (result == null) {
+			synchronized (this) {
+				result = metadata;
+				if (result == null) {
+					try {
+						result = getMetadata();
+						if (result != null) {
+							makeShared(result);
+							metadata = result;
+						}
+					} catch (IOException e) {
+						LOGGER.warn(e.getLocalizedMessage(), e);
+					}
+				}
 			}
 		}
-		if (metadata != null) {
-			context.getCollector().merge(metadata, mergingStrategy);
+		return result;
+	}
+
+	private static void makeShared(ConfigurationMetadata metadata) {
+		List<ItemMetadata> properties = metadata.getProperties();
+		if (properties != null) {
+			for (ItemMetadata property : properties) {
+				property.setName(intern(property.getName()));
+				property.setType(intern(property.getType()));
+				property.setSourceType(intern(property.getSourceType()));
+				property.setDefaultValue(intern(property.getDefaultValue()));
+				property.setExtensionName(intern(property.getExtensionName()));
+			}
+			metadata.setProperties(Collections.unmodifiableList(properties));
+		}
+		List<ItemHint> hints = metadata.getHints();
+		if (hints != null) {
+			for (ItemHint hint : hints) {
+				hint.setName(intern(hint.getName()));
+				if (hint.getValues() != null) {
+					hint.setValues(Collections.unmodifiableList(hint.getValues()));
+				}
+			}
+			metadata.setHints(Collections.unmodifiableList(hints));
 		}
 	}
 
+	private static String intern(String value) {
+		return value != null ? value.intern() : null;
+	}
+
 	/**
 	 * Returns a <code>ConfigurationMetadata</code> instance from
 	 * the data stored from the json file located at <code>this.path</code>
@@ -25,6 +25,7 @@ import com.intellij.psi.search.SearchScope;
 import com.intellij.util.MergeQuery;
 import com.intellij.util.Query;
 import com.intellij.util.UniqueResultsQuery;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.project.LibraryPropertiesCache;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.IPsiUtils;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.PsiTypeUtils;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.core.PropertiesCollector;
@@ -43,6 +44,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -90,6 +92,28 @@ public class PropertiesManager {
     public MicroProfileProjectInfo getMicroProfileProjectInfo(Module module,
                                                               List<MicroProfilePropertiesScope> scopes, ClasspathKind classpathKind, IPsiUtils utils,
                                                               DocumentFormat documentFormat) {
+        if (module == null || !scopes.contains(MicroProfilePropertiesScope.sources)
+                || !scopes.contains(MicroProfilePropertiesScope.dependencies)) {
+            return collectMicroProfileProjectInfo(module, scopes, classpathKind, utils, documentFormat);
+        }
+        // The dependencies have already been searched, only search the sources
+        LibraryPropertiesCache cache = LibraryPropertiesCache.getInstance(module.getProject());
+        LibraryPropertiesCache.LibraryProperties libraryProperties = cache.get(module, classpathKind, documentFormat);
+        if (libraryProperties != null) {
+            MicroProfileProjectInfo info = collectMicroProfileProjectInfo(module,
+                    Collections.singletonList(MicroProfilePropertiesScope.sources), classpathKind, utils, documentFormat);
+            libraryProperties.addTo(info);
+            return info;
+        }
+        long generation = cache.getGeneration();
+        MicroProfileProjectInfo info = collectMicroProfileProjectInfo(module, scopes, classpathKind, utils, documentFormat);
+        cache.put(module, classpathKind, documentFormat, info, generation);
+        return info;
+    }
+
+    private MicroProfileProjectInfo collectMicroProfileProjectInfo(Module module,
+                                                                   List<MicroProfilePropertiesScope> scopes, ClasspathKind classpathKind, IPsiUtils utils,
+                                                                   DocumentFormat documentFormat) {
         MicroProfileProjectInfo info = createInfo(module, classpathKind);
         long startTime = System.currentTimeMillis();
             boolean excludeTestCode = classpathKind == ClasspathKind.SRC;
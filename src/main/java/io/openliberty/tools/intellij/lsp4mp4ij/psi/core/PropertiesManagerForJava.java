@@ -15,9 +15,7 @@ import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.progress.ProgressIndicator;
-import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.util.Computable;
-import com.intellij.openapi.util.ThrowableComputable;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
@@ -35,6 +33,7 @@ import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.completion.JavaComp
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.definition.IJavaDefinitionParticipant;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.definition.JavaDefinitionContext;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.diagnostics.IJavaDiagnosticsParticipant;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.diagnostics.JavaDiagnosticsBatch;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.diagnostics.JavaDiagnosticsContext;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.hover.IJavaHoverParticipant;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.hover.JavaHoverContext;
@@ -290,35 +289,36 @@ public class PropertiesManagerForJava {
             return Collections.emptyList();
         }
         DocumentFormat documentFormat = params.getDocumentFormat();
-        List<PublishDiagnosticsParams> publishDiagnostics = new ArrayList<PublishDiagnosticsParams>();
-        for (String uri : uris) {
-            List<Diagnostic> diagnostics = new ArrayList<>();
-            PublishDiagnosticsParams publishDiagnostic = new PublishDiagnosticsParams(uri, diagnostics);
-            publishDiagnostics.add(publishDiagnostic);
-            collectDiagnostics(uri, utils, documentFormat, params.getSettings(), diagnostics);
-        }
-        return publishDiagnostics;
+        MicroProfileJavaDiagnosticsSettings settings = params.getSettings();
+        return JavaDiagnosticsBatch.collect(uris, utils, getDiagnosticsCollector(documentFormat, settings, utils));
     }
 
-    private void collectDiagnostics(String uri, IPsiUtils utils, DocumentFormat documentFormat,
-                                    MicroProfileJavaDiagnosticsSettings settings, List<Diagnostic> diagnostics) {
-        PsiFile typeRoot = ApplicationManager.getApplication().runReadAction((Computable<PsiFile>) () -> resolveTypeRoot(uri, utils));
-        if (typeRoot == null) {
-            return;
-        }
-
-        try {
-            Module module = ApplicationManager.getApplication().runReadAction((ThrowableComputable<Module, IOException>) () -> utils.getModule(uri));
-            DumbService.getInstance(module.getProject()).runReadActionInSmartMode(() -> {
-                // Collect all adapted diagnostics participant
+    /**
+     * Returns the collector of the diagnostics of the participants for the files of a module, shared by the
+     * diagnostics requests of the language server and by the validation of a whole module.
+     *
+     * @param documentFormat the document format of the messages
+     * @param settings       the diagnostics settings
+     * @param utils          the utilities class
+     * @return the collector of the diagnostics of the participants
+     */
+    public JavaDiagnosticsBatch.ModuleDiagnosticsCollector<List<IJavaDiagnosticsParticipant>> getDiagnosticsCollector(
+            DocumentFormat documentFormat, MicroProfileJavaDiagnosticsSettings settings, IPsiUtils utils) {
+        return new JavaDiagnosticsBatch.ModuleDiagnosticsCollector<List<IJavaDiagnosticsParticipant>>() {
+            @Override
+            public List<IJavaDiagnosticsParticipant> prepare(Module module, String uri, PsiFile typeRoot) {
+                // Collect all adapted diagnostics participant, the participants are adapted to the module classpath
                 JavaDiagnosticsContext context = new JavaDiagnosticsContext(uri, typeRoot, utils, module, documentFormat, settings);
                 List<IJavaDiagnosticsParticipant> definitions = IJavaDiagnosticsParticipant.EP_NAME.extensions()
                         .filter(definition -> definition.isAdaptedForDiagnostics(context))
                         .collect(Collectors.toList());
-                if (definitions.isEmpty()) {
-                    return;
-                }
+                return definitions.isEmpty() ? null : definitions;
+            }
 
+            @Override
+            public void collect(List<IJavaDiagnosticsParticipant> definitions, Module module, String uri, PsiFile typeRoot,
+                                List<Diagnostic> diagnostics) {
+                JavaDiagnosticsContext context = new JavaDiagnosticsContext(uri, typeRoot, utils, module, documentFormat, settings);
                 // Begin, collect, end participants
                 definitions.forEach(definition -> definition.beginDiagnostics(context));
                 definitions.forEach(definition -> {
@@ -328,10 +328,8 @@ public class PropertiesManagerForJava {
                     }
                 });
                 definitions.forEach(definition -> definition.endDiagnostics(context));
-            });
-        } catch (IOException e) {
-            LOGGER.warn(e.getLocalizedMessage(), e);
-        }
+            }
+        };
     }
 
     /**
@@ -80,7 +80,7 @@ public abstract class AbstractAnnotationDefinitionParticipant implements IJavaDe
 	public boolean isAdaptedForDefinition(JavaDefinitionContext context) {
 		// Definition is done only if the annotation is on the classpath
 		Module javaProject = context.getJavaProject();
-		return PsiTypeUtils.findType(javaProject, annotationName) != null;
+		return PsiTypeUtils.isOnClasspath(javaProject, annotationName);
 	}
 
 	@Override
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.diagnostics;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.IPsiUtils;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.concurrency.CancellablePromise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Computes the diagnostics of a batch of Java files.
+ *
+ * The files are grouped by module so that the state shared by the files of a module (e.g. the adapted participants)
+ * is computed once. Each file is then validated in parallel in its own non-blocking read action in smart mode, which
+ * is cancelled and restarted by write actions instead of blocking them.
+ */
+public class JavaDiagnosticsBatch {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(JavaDiagnosticsBatch.class);
+
+	private static final int PARALLELISM = Integer.getInteger("open-liberty.intellij.diagnostics.parallelism",
+			Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+	private static final ExecutorService EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+			"Liberty Java Diagnostics", PARALLELISM);
+
+	/**
+	 * Collects the diagnostics of the files of a module.
+	 *
+	 * @param <S> the state shared by the files of a module
+	 */
+	public interface ModuleDiagnosticsCollector<S> {
+
+		/**
+		 * Returns the state shared by the files of the module, or null if there is nothing to validate in the module.
+		 * Called in a read action with the first file of the module.
+		 */
+		@Nullable
+		S prepare(@NotNull Module module, @NotNull String uri, @NotNull PsiFile typeRoot);
+
+		/**
+		 * Collects the diagnostics of a file. Called in a read action, and called again when the read action is
+		 * cancelled by a write action.
+		 */
+		void collect(@NotNull S state, @NotNull Module module, @NotNull String uri, @NotNull PsiFile typeRoot,
+					 @NotNull List<Diagnostic> diagnostics);
+	}
+
+	private static class FileTask<S> {
+		private final String uri;
+		private final PsiFile typeRoot;
+		private final Module module;
+		private final S state;
+
+		private FileTask(String uri, PsiFile typeRoot, Module module, S state) {
+			this.uri = uri;
+			this.typeRoot = typeRoot;
+			this.module = module;
+			this.state = state;
+		}
+	}
+
+	private JavaDiagnosticsBatch() {
+	}
+
+	/**
+	 * Returns the diagnostics of the given uris, in the same order. Must not be called in a read action.
+	 *
+	 * @param uris      the uris of the Java files
+	 * @param utils     the utilities class
+	 * @param collector the collector of the diagnostics
+	 * @return the diagnostics of the given uris
+	 */
+	public static <S> List<PublishDiagnosticsParams> collect(List<String> uris, IPsiUtils utils,
+															 ModuleDiagnosticsCollector<S> collector) {
+		Project project = utils.getProject();
+		Map<String, PublishDiagnosticsParams> publishDiagnostics = new HashMap<>();
+		List<PublishDiagnosticsParams> result = new ArrayList<>(uris.size());
+		for (String uri : uris) {
+			result.add(publishDiagnostics.computeIfAbsent(uri, u -> new PublishDiagnosticsParams(u, new ArrayList<>())));
+		}
+
+		List<FileTask<S>> tasks = ReadAction.nonBlocking(() -> createTasks(uris, utils, collector))
+				.inSmartMode(project)
+				.expireWith(project)
+				.executeSynchronously();
+
+		List<CancellablePromise<List<Diagnostic>>> promises = new ArrayList<>(tasks.size());
+		List<CompletableFuture<Void>> done = new ArrayList<>(tasks.size());
+		for (FileTask<S> task : tasks) {
+			PublishDiagnosticsParams publishDiagnostic = publishDiagnostics.get(task.uri);
+			CompletableFuture<Void> fileDone = new CompletableFuture<>();
+			CancellablePromise<List<Diagnostic>> promise = ReadAction.nonBlocking(() -> collect(task, collector))
+					.inSmartMode(project)
+					.expireWith(project)
+					.submit(EXECUTOR);
+			promise.onProcessed(diagnostics -> {
+				if (diagnostics != null) {
+					publishDiagnostic.setDiagnostics(diagnostics);
+				}
+				fileDone.complete(null);
+			});
+			promises.add(promise);
+			done.add(fileDone);
+		}
+		try {
+			ProgressIndicatorUtils.awaitWithCheckCanceled(CompletableFuture.allOf(done.toArray(new CompletableFuture[0])));
+		} catch (ProcessCanceledException e) {
+			promises.forEach(promise -> promise.cancel());
+			throw e;
+		}
+		return result;
+	}
+
+	private static <S> List<FileTask<S>> createTasks(List<String> uris, IPsiUtils utils,
+													 ModuleDiagnosticsCollector<S> collector) {
+		Map<Module, Optional<S>> states = new HashMap<>();
+		List<FileTask<S>> tasks = new ArrayList<>();
+		for (String uri : uris) {
+			PsiFile typeRoot = utils.resolveCompilationUnit(uri);
+			if (typeRoot == null) {
+				continue;
+			}
+			Module module;
+			try {
+				module = utils.getModule(uri);
+			} catch (IOException e) {
+				LOGGER.warn(e.getLocalizedMessage(), e);
+				continue;
+			}
+			if (module == null) {
+				continue;
+			}
+			Optional<S> state = states.computeIfAbsent(module,
+					m -> Optional.ofNullable(collector.prepare(m, uri, typeRoot)));
+			state.ifPresent(s -> tasks.add(new FileTask<>(uri, typeRoot, module, s)));
+		}
+		return tasks;
+	}
+
+	private static <S> List<Diagnostic> collect(FileTask<S> task, ModuleDiagnosticsCollector<S> collector) {
+		List<Diagnostic> diagnostics = new ArrayList<>();
+		if (task.typeRoot.isValid() && !task.module.isDisposed()) {
+			collector.collect(task.state, task.module, task.uri, task.typeRoot, diagnostics);
+		}
+		return diagnostics;
+	}
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.diagnostics;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.util.ProgressIndicatorUtils;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.IPsiUtils;
+import org.eclipse.lsp4j.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes the diagnostics of all the Java files of a module, e.g. to validate a whole Liberty module.
+ *
+ * Unlike the {@link JavaDiagnosticsBatch} which answers the requests of the language servers for a few opened files,
+ * the sweep is throughput oriented: one worker per core drains a queue of files, validating a few files per
+ * non-blocking read action until the read action budget is spent. A write action only restarts the few files of the
+ * current read action, the files left over by the budget go back to the head of the queue, and the diagnostics of
+ * each file are streamed to the listener as soon as they are computed.
+ */
+public class JavaDiagnosticsSweep {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(JavaDiagnosticsSweep.class);
+
+	private static final int PARALLELISM = Integer.getInteger("open-liberty.intellij.validation.parallelism",
+			Runtime.getRuntime().availableProcessors());
+
+	// maximum number of files, and time, of a read action
+	private static final int BATCH_SIZE = Integer.getInteger("open-liberty.intellij.validation.batchSize", 16);
+
+	private static final long READ_ACTION_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(
+			Long.getLong("open-liberty.intellij.validation.readActionBudget", 100L));
+
+	private static final ExecutorService EXECUTOR = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+			"Liberty Module Validation", Math.max(1, PARALLELISM));
+
+	/**
+	 * Receives the diagnostics of the validated files. Called from the worker threads, outside of a read action.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called once for each validated file, with the diagnostics of each collector in the order of the collectors.
+		 */
+		void validated(@NotNull String uri, @NotNull List<Diagnostic> diagnostics);
+	}
+
+	private static class PreparedCollector<S> {
+		private final JavaDiagnosticsBatch.ModuleDiagnosticsCollector<S> collector;
+		private final S state;
+
+		private PreparedCollector(JavaDiagnosticsBatch.ModuleDiagnosticsCollector<S> collector, S state) {
+			this.collector = collector;
+			this.state = state;
+		}
+
+		private void collect(Module module, String uri, PsiFile typeRoot, List<Diagnostic> diagnostics) {
+			collector.collect(state, module, uri, typeRoot, diagnostics);
+		}
+	}
+
+	private final Project project;
+	private final IPsiUtils utils;
+	private final List<JavaDiagnosticsBatch.ModuleDiagnosticsCollector<?>> collectors;
+	private final Listener listener;
+	private final ProgressIndicator indicator;
+
+	private final ConcurrentLinkedDeque<String> queue = new ConcurrentLinkedDeque<>();
+	private final Map<Module, Optional<List<PreparedCollector<?>>>> states = new ConcurrentHashMap<>();
+	private final AtomicInteger validated = new AtomicInteger();
+	private int total;
+
+	/**
+	 * @param utils      the utilities class
+	 * @param collectors the collectors of the diagnostics
+	 * @param listener   the listener of the diagnostics of each file
+	 * @param indicator  the progress indicator of the sweep
+	 */
+	public JavaDiagnosticsSweep(@NotNull IPsiUtils utils,
+								@NotNull List<JavaDiagnosticsBatch.ModuleDiagnosticsCollector<?>> collectors,
+								@NotNull Listener listener, @NotNull ProgressIndicator indicator) {
+		this.project = utils.getProject();
+		this.utils = utils;
+		this.collectors = collectors;
+		this.listener = listener;
+		this.indicator = indicator;
+	}
+
+	/**
+	 * Validates the given uris and returns when all of them are validated. Must not be called in a read action.
+	 *
+	 * @param uris the uris of the Java files
+	 * @throws ProcessCanceledException when the progress indicator is cancelled
+	 */
+	public void run(@NotNull List<String> uris) {
+		queue.addAll(uris);
+		total = uris.size();
+		indicator.setIndeterminate(false);
+		int workers = Math.min(Math.max(1, PARALLELISM), uris.size());
+		List<Future<?>> futures = new ArrayList<>(workers);
+		for (int i = 0; i < workers; i++) {
+			futures.add(EXECUTOR.submit(this::drain));
+		}
+		try {
+			for (Future<?> future : futures) {
+				ProgressIndicatorUtils.awaitWithCheckCanceled(future, indicator);
+			}
+		} catch (RuntimeException | Error e) {
+			// cancelled, or a worker failed: the workers stop at their next batch
+			queue.clear();
+			futures.forEach(future -> future.cancel(false));
+			throw e;
+		}
+	}
+
+	private void drain() {
+		List<String> batch = new ArrayList<>(BATCH_SIZE);
+		while (!indicator.isCanceled()) {
+			batch.clear();
+			String uri;
+			while (batch.size() < BATCH_SIZE && (uri = queue.pollFirst()) != null) {
+				batch.add(uri);
+			}
+			if (batch.isEmpty()) {
+				return;
+			}
+			List<List<Diagnostic>> results;
+			try {
+				results = ReadAction.nonBlocking(() -> validate(batch))
+						.inSmartMode(project)
+						.expireWith(project)
+						.wrapProgress(indicator)
+						.executeSynchronously();
+			} catch (ProcessCanceledException e) {
+				return;
+			}
+			// the files not validated in the budget of the read action go back to the head of the queue
+			for (int i = batch.size() - 1; i >= results.size(); i--) {
+				queue.addFirst(batch.get(i));
+			}
+			for (int i = 0; i < results.size(); i++) {
+				listener.validated(batch.get(i), results.get(i));
+				indicator.setFraction((double) validated.incrementAndGet() / total);
+			}
+		}
+	}
+
+	/**
+	 * Validates the files of the batch until the read action budget is spent, and returns the diagnostics of the
+	 * validated files, in the order of the batch. At least one file is validated.
+	 */
+	private List<List<Diagnostic>> validate(List<String> batch) {
+		long start = System.nanoTime();
+		List<List<Diagnostic>> results = new ArrayList<>(batch.size());
+		for (String uri : batch) {
+			if (!results.isEmpty() && System.nanoTime() - start > READ_ACTION_BUDGET_NANOS) {
+				break;
+			}
+			results.add(validate(uri));
+		}
+		return results;
+	}
+
+	/**
+	 * Validates the given file. A failure of a collector is logged and the file gets no diagnostics, so that one file
+	 * doesn't stop the sweep.
+	 */
+	private List<Diagnostic> validate(String uri) {
+		try {
+			return doValidate(uri);
+		} catch (ProcessCanceledException e) {
+			throw e;
+		} catch (Exception e) {
+			LOGGER.warn("Failed to validate " + uri, e);
+			return new ArrayList<>();
+		}
+	}
+
+	private List<Diagnostic> doValidate(String uri) {
+		List<Diagnostic> diagnostics = new ArrayList<>();
+		PsiFile typeRoot = utils.resolveCompilationUnit(uri);
+		if (typeRoot == null || !typeRoot.isValid()) {
+			return diagnostics;
+		}
+		Module module;
+		try {
+			module = utils.getModule(uri);
+		} catch (IOException e) {
+			LOGGER.warn(e.getLocalizedMessage(), e);
+			return diagnostics;
+		}
+		if (module == null || module.isDisposed()) {
+			return diagnostics;
+		}
+		indicator.setText2(typeRoot.getName());
+		Optional<List<PreparedCollector<?>>> prepared = states.computeIfAbsent(module, m -> prepare(m, uri, typeRoot));
+		prepared.ifPresent(preparedCollectors -> preparedCollectors
+				.forEach(collector -> collector.collect(module, uri, typeRoot, diagnostics)));
+		return diagnostics;
+	}
+
+	private Optional<List<PreparedCollector<?>>> prepare(Module module, String uri, PsiFile typeRoot) {
+		List<PreparedCollector<?>> prepared = new ArrayList<>(collectors.size());
+		for (JavaDiagnosticsBatch.ModuleDiagnosticsCollector<?> collector : collectors) {
+			PreparedCollector<?> preparedCollector = prepare(collector, module, uri, typeRoot);
+			if (preparedCollector != null) {
+				prepared.add(preparedCollector);
+			}
+		}
+		return prepared.isEmpty() ? Optional.empty() : Optional.of(prepared);
+	}
+
+	private static <S> PreparedCollector<S> prepare(JavaDiagnosticsBatch.ModuleDiagnosticsCollector<S> collector,
+													Module module, String uri, PsiFile typeRoot) {
+		S state = collector.prepare(module, uri, typeRoot);
+		return state != null ? new PreparedCollector<>(collector, state) : null;
+	}
+}
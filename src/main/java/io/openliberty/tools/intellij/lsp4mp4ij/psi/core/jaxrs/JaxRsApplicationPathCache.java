@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp4ij.psi.core.jaxrs;
+
+import com.intellij.ProjectTopics;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.search.searches.AnnotatedElementsSearch;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.AnnotationUtils;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.PsiTypeUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.core.jaxrs.JaxRsUtils.getJaxRsApplicationPathValue;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.jaxrs.JaxRsConstants.JAVAX_WS_RS_APPLICATIONPATH_ANNOTATION;
+
+/**
+ * Caches the value of the @ApplicationPath annotation visible from each module, so that computing the URL code
+ * lenses doesn't search the module and its dependencies on every request.
+ *
+ * The changed Java files are only recorded while typing, and checked on the next lookup: the entries are evicted when
+ * a changed file declares an @ApplicationPath class, either the one that was found or a new one. All the entries are
+ * evicted when files are added, removed or moved or when the module roots change.
+ */
+@Service
+public final class JaxRsApplicationPathCache {
+
+	public static JaxRsApplicationPathCache getInstance(Project project) {
+		return project.getService(JaxRsApplicationPathCache.class);
+	}
+
+	private final Project project;
+
+	private final Map<Module, ApplicationPath> applicationPaths = new ConcurrentHashMap<>();
+
+	// Java files changed since the last lookup
+	private final Set<VirtualFile> changedFiles = ConcurrentHashMap.newKeySet();
+
+	private static class ApplicationPath {
+		@Nullable
+		private final String value;
+		private final Set<VirtualFile> files;
+
+		private ApplicationPath(@Nullable String value, Set<VirtualFile> files) {
+			this.value = value;
+			this.files = files;
+		}
+	}
+
+	private class ApplicationPathListener extends PsiTreeChangeAdapter implements ModuleRootListener {
+		@Override
+		public void childAdded(@NotNull PsiTreeChangeEvent event) {
+			changed(event);
+		}
+
+		@Override
+		public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+			changed(event);
+		}
+
+		@Override
+		public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+			changed(event);
+		}
+
+		@Override
+		public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+			changed(event);
+		}
+
+		@Override
+		public void childMoved(@NotNull PsiTreeChangeEvent event) {
+			changed(event);
+		}
+
+		@Override
+		public void propertyChanged(@NotNull PsiTreeChangeEvent event) {
+			changed(event);
+		}
+
+		@Override
+		public void rootsChanged(@NotNull ModuleRootEvent event) {
+			clear();
+		}
+
+		private void changed(PsiTreeChangeEvent event) {
+			if (applicationPaths.isEmpty()) {
+				return;
+			}
+			PsiFile file = event.getFile();
+			if (file == null) {
+				// files or directories have been added, removed or moved
+				clear();
+				return;
+			}
+			if (file instanceof PsiJavaFile && file.getVirtualFile() != null) {
+				// cheap on every keystroke, the file is checked on the next lookup
+				changedFiles.add(file.getVirtualFile());
+			}
+		}
+	}
+
+	private JaxRsApplicationPathCache(Project project) {
+		this.project = project;
+		ApplicationPathListener listener = new ApplicationPathListener();
+		PsiManager.getInstance(project).addPsiTreeChangeListener(listener, project);
+		project.getMessageBus().connect(project).subscribe(ProjectTopics.PROJECT_ROOTS, listener);
+	}
+
+	/**
+	 * Returns the value of the @ApplicationPath annotation found in the module and its dependencies, or null if
+	 * none was found. Must be called in a read action.
+	 */
+	@Nullable
+	public String getApplicationPath(@NotNull Module module) {
+		if (!changedFiles.isEmpty()) {
+			checkChangedFiles();
+		}
+		ApplicationPath applicationPath = applicationPaths.get(module);
+		if (applicationPath == null) {
+			applicationPath = findApplicationPath(module);
+			applicationPaths.put(module, applicationPath);
+		}
+		return applicationPath.value;
+	}
+
+	private void clear() {
+		applicationPaths.clear();
+		changedFiles.clear();
+	}
+
+	/**
+	 * Evicts all the entries if a changed file declares, or declared, an @ApplicationPath class. The @ApplicationPath
+	 * classes of a module are visible from the modules depending on it.
+	 */
+	private void checkChangedFiles() {
+		PsiManager psiManager = PsiManager.getInstance(project);
+		for (VirtualFile file : new ArrayList<>(changedFiles)) {
+			changedFiles.remove(file);
+			if (applicationPaths.isEmpty()) {
+				continue;
+			}
+			if (applicationPaths.values().stream().anyMatch(path -> path.files.contains(file))) {
+				clear();
+				return;
+			}
+			PsiFile psiFile = file.isValid() ? psiManager.findFile(file) : null;
+			if (psiFile instanceof PsiJavaFile) {
+				for (PsiClass type : ((PsiJavaFile) psiFile).getClasses()) {
+					if (AnnotationUtils.hasAnnotation(type, JAVAX_WS_RS_APPLICATIONPATH_ANNOTATION)) {
+						clear();
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Use the java search engine to search the java project for the location and
+	 * value of the @ApplicationPath annotation
+	 */
+	private static ApplicationPath findApplicationPath(Module module) {
+		Set<VirtualFile> files = new HashSet<>();
+		String value = null;
+		PsiClass annotationType = PsiTypeUtils.findType(module, JAVAX_WS_RS_APPLICATIONPATH_ANNOTATION);
+		if (annotationType != null) {
+			for (PsiClass type : AnnotatedElementsSearch.searchElements(annotationType,
+					module.getModuleWithDependenciesScope(), PsiClass.class).findAll()) {
+				if (AnnotationUtils.hasAnnotation(type, JAVAX_WS_RS_APPLICATIONPATH_ANNOTATION)) {
+					value = getJaxRsApplicationPathValue(type);
+					PsiFile file = type.getContainingFile();
+					if (file != null && file.getVirtualFile() != null) {
+						files.add(file.getVirtualFile());
+					}
+				}
+			}
+		}
+		return new ApplicationPath(value, files);
+	}
+}
@@ -13,18 +13,8 @@
 *******************************************************************************/
 package io.openliberty.tools.intellij.lsp4mp4ij.psi.core.jaxrs;
 
-import com.intellij.psi.PsiClass;
-import com.intellij.psi.search.searches.AnnotatedElementsSearch;
-import com.intellij.util.Query;
+import com.intellij.openapi.module.Module;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.codelens.JavaCodeLensContext;
-import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.AnnotationUtils;
-import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.PsiTypeUtils;
-
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Consumer;
-
-import static io.openliberty.tools.intellij.lsp4mp4ij.psi.core.jaxrs.JaxRsUtils.getJaxRsApplicationPathValue;
-import static io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.jaxrs.JaxRsConstants.JAVAX_WS_RS_APPLICATIONPATH_ANNOTATION;
 
 /**
  * JAX-RS context.
@@ -86,9 +76,8 @@ public class JaxRsContext {
 	 */
 	public String getApplicationPath() {
 		if (applicationPath == null) {
-			PsiClass applicationPathType = PsiTypeUtils.findType(javaCodeLensContext.getJavaProject(),
-					JAVAX_WS_RS_APPLICATIONPATH_ANNOTATION);
-			applicationPath = findApplicationPath(applicationPathType, javaCodeLensContext);
+			Module javaProject = javaCodeLensContext.getJavaProject();
+			applicationPath = JaxRsApplicationPathCache.getInstance(javaProject.getProject()).getApplicationPath(javaProject);
 		}
 		return applicationPath;
 	}
@@ -130,27 +119,4 @@ public class JaxRsContext {
 		}
 		return localBaseURL.toString();
 	}
-
-	/**
-	 * Use the java search engine to search the java project for the location and
-	 * value of the @ApplicationPath annotation, or null if not found
-	 *
-	 * @param annotationType the type representing the @ApplicationPath annotation
-	 * @param context        the java code lens context
-	 * @return the value of the @ApplicationPath annotation, or null if not found
-	 */
-	private static String findApplicationPath(PsiClass annotationType, JavaCodeLensContext context) {
-		AtomicReference<String> applicationPathRef = new AtomicReference<String>();
-
-		Query<PsiClass> pattern = AnnotatedElementsSearch.searchElements(annotationType, context.getJavaProject().getModuleWithDependenciesScope(),
-				PsiClass.class);
-		pattern.forEach((Consumer<? super PsiClass>) match -> collectApplicationPath(match, applicationPathRef));
-		return applicationPathRef.get();
-	}
-
-	private static void collectApplicationPath(PsiClass type, AtomicReference<String> applicationPathRef) {
-		if (AnnotationUtils.hasAnnotation(type, JAVAX_WS_RS_APPLICATIONPATH_ANNOTATION)) {
-			applicationPathRef.set(getJaxRsApplicationPathValue(type));
-		}
-	}
 }
@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp4ij.psi.core.jaxrs;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import io.openliberty.tools.intellij.lsp4mp.lsp4ij.operations.codelens.LSPInlayProvider;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tracks whether a local server is listening on a port, to only display the URL code lenses when the application is
+ * running. The last known state is returned immediately and the port is probed in the background when the state is
+ * older than the TTL. The code lenses are refreshed when the state changes.
+ */
+@Service
+public final class ServerAvailabilityProber {
+
+	private static final long TTL_MS = Long.getLong("open-liberty.intellij.jaxrs.serverProbeTtl", 5000L);
+
+	private static final int PING_TIMEOUT = 2000;
+
+	public static ServerAvailabilityProber getInstance(Project project) {
+		return project.getService(ServerAvailabilityProber.class);
+	}
+
+	private final Project project;
+
+	private final Map<String, Status> statuses = new ConcurrentHashMap<>();
+
+	private static class Status {
+		private volatile boolean available;
+		private volatile long lastChecked;
+		private final AtomicBoolean probing = new AtomicBoolean();
+	}
+
+	private ServerAvailabilityProber(Project project) {
+		this.project = project;
+	}
+
+	/**
+	 * Returns the last known availability of the server, false until the first probe completes. Never blocks.
+	 */
+	public boolean isServerAvailable(String host, int port) {
+		Status status = statuses.computeIfAbsent(host + ':' + port, key -> new Status());
+		if (System.currentTimeMillis() - status.lastChecked > TTL_MS && status.probing.compareAndSet(false, true)) {
+			AppExecutorUtil.getAppExecutorService().execute(() -> probe(host, port, status));
+		}
+		return status.available;
+	}
+
+	private void probe(String host, int port, Status status) {
+		boolean available;
+		try (Socket socket = new Socket()) {
+			socket.connect(new InetSocketAddress(host, port), PING_TIMEOUT);
+			available = true;
+		} catch (IOException e) {
+			available = false;
+		}
+		boolean changed = available != status.available;
+		status.available = available;
+		status.lastChecked = System.currentTimeMillis();
+		status.probing.set(false);
+		if (changed && !project.isDisposed()) {
+			LSPInlayProvider.refresh(project);
+		}
+	}
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp4ij.psi.core.project;
+
+import com.intellij.ProjectTopics;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.ModuleListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.libraries.Library;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.messages.MessageBusConnection;
+import io.openliberty.tools.intellij.lsp4mp.MicroProfileProjectService;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.PsiTypeUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records which types are on the classpath of a module, so that the participants which are only adapted to
+ * projects using a given API (the isAdapted* checks) don't search the module dependencies for the API marker
+ * type on every request.
+ *
+ * Each type name gets an index and each module keeps two bitsets: the types which have been searched for and the
+ * types which were found. The bitsets are cleared when the libraries or the roots of the modules change.
+ */
+@Service
+public final class ClasspathCapabilitiesManager {
+
+	public static ClasspathCapabilitiesManager getInstance(Project project) {
+		return project.getService(ClasspathCapabilitiesManager.class);
+	}
+
+	private final Map<String, Integer> typeIndexes = new ConcurrentHashMap<>();
+	private final AtomicInteger nextIndex = new AtomicInteger();
+	private final Map<Module, ModuleCapabilities> modules = new ConcurrentHashMap<>();
+
+	private static class ModuleCapabilities {
+		private final BitSet searched = new BitSet();
+		private final BitSet found = new BitSet();
+	}
+
+	private class ClasspathListener implements MicroProfileProjectService.Listener, ModuleRootListener, ModuleListener {
+		@Override
+		public void libraryUpdated(Library library) {
+			modules.clear();
+		}
+
+		@Override
+		public void sourceUpdated(List<Pair<Module, VirtualFile>> sources) {
+			// marker types come from the dependencies
+		}
+
+		@Override
+		public void rootsChanged(@NotNull ModuleRootEvent event) {
+			modules.clear();
+		}
+
+		@Override
+		public void moduleRemoved(@NotNull Project project, @NotNull Module module) {
+			modules.remove(module);
+		}
+	}
+
+	private ClasspathCapabilitiesManager(Project project) {
+		ClasspathListener listener = new ClasspathListener();
+		MessageBusConnection connection = project.getMessageBus().connect(project);
+		connection.subscribe(MicroProfileProjectService.TOPIC, listener);
+		connection.subscribe(ProjectTopics.PROJECT_ROOTS, listener);
+		connection.subscribe(ProjectTopics.MODULES, listener);
+	}
+
+	/**
+	 * Returns true if the given type is in the classpath of the module (its sources, dependencies and libraries).
+	 * Must be called in a read action.
+	 *
+	 * @param module   the module
+	 * @param typeName the fully qualified name of the type
+	 * @return true if the given type is in the classpath of the module
+	 */
+	public boolean isOnClasspath(@NotNull Module module, @NotNull String typeName) {
+		int index = typeIndexes.computeIfAbsent(typeName, name -> nextIndex.getAndIncrement());
+		ModuleCapabilities capabilities = modules.computeIfAbsent(module, m -> new ModuleCapabilities());
+		synchronized (capabilities) {
+			if (capabilities.searched.get(index)) {
+				return capabilities.found.get(index);
+			}
+		}
+		// search outside the lock, concurrent searches for the same type give the same result
+		boolean found = PsiTypeUtils.findType(module, typeName) != null;
+		synchronized (capabilities) {
+			capabilities.found.set(index, found);
+			capabilities.searched.set(index);
+		}
+		return found;
+	}
+}
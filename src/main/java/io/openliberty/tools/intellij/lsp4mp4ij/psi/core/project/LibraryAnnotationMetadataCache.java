@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp4ij.psi.core.project;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.RoamingType;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.JarFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.util.PsiUtilCore;
+import org.eclipse.lsp4mp.commons.DocumentFormat;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches the metadata of the members of annotation types declared in library jars (result type, enumeration values,
+ * default value, Javadoc, source method), so that it's computed once per jar version instead of on every scan of
+ * every module.
+ *
+ * Entries are keyed by the SHA-256 of the jar content, so they're shared by the projects and the modules using the
+ * same jar wherever it's stored, and they're persisted across restarts. Annotations declared in sources are not
+ * cached.
+ */
+@Service
+@State(name = "LibraryAnnotationMetadataCache",
+		storages = @Storage(value = "liberty-annotation-metadata.xml", roamingType = RoamingType.DISABLED))
+public final class LibraryAnnotationMetadataCache implements PersistentStateComponent<LibraryAnnotationMetadataCache.CacheState> {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LibraryAnnotationMetadataCache.class);
+
+	private static final int MAX_ENTRIES = 256;
+
+	public static LibraryAnnotationMetadataCache getInstance() {
+		return ApplicationManager.getApplication().getService(LibraryAnnotationMetadataCache.class);
+	}
+
+	/**
+	 * Metadata of a member of an annotation type.
+	 */
+	public static class MemberMetadata {
+		public String name;
+		public String type;
+		public String description;
+		public String sourceType;
+		public String sourceMethod;
+		public String defaultValue;
+		// enumeration of the member type, or enclosed type of an Optional
+		public String enumType;
+		public List<String> enumValues = new ArrayList<>();
+		public boolean enumSource;
+	}
+
+	public static class AnnotationMetadata {
+		public String key;
+		public List<MemberMetadata> members = new ArrayList<>();
+	}
+
+	public static class CacheState {
+		public List<AnnotationMetadata> annotations = new ArrayList<>();
+	}
+
+	private static class JarHash {
+		private final long timeStamp;
+		private final long length;
+		private final String hash;
+
+		private JarHash(long timeStamp, long length, String hash) {
+			this.timeStamp = timeStamp;
+			this.length = length;
+			this.hash = hash;
+		}
+	}
+
+	// least recently used entries first
+	private final Map<String, List<MemberMetadata>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Map<String, JarHash> jarHashes = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the metadata of the members of the given annotation type, computed by the loader if the annotation type
+	 * isn't declared in a jar or if the jar hasn't been seen yet. Must be called in a read action.
+	 *
+	 * @param annotation     the annotation type, as found in the classpath (not its navigation element)
+	 * @param withSources    true if the metadata is computed from the attached sources
+	 * @param documentFormat the format of the Javadoc
+	 * @param loader         computes the metadata of the members
+	 * @return the metadata of the members of the given annotation type
+	 */
+	public List<MemberMetadata> getMembers(@NotNull PsiClass annotation, boolean withSources, DocumentFormat documentFormat,
+										   @NotNull Supplier<List<MemberMetadata>> loader) {
+		String key = getKey(annotation, withSources, documentFormat);
+		if (key == null) {
+			return loader.get();
+		}
+		synchronized (entries) {
+			List<MemberMetadata> members = entries.get(key);
+			if (members != null) {
+				return members;
+			}
+		}
+		List<MemberMetadata> members = loader.get();
+		synchronized (entries) {
+			entries.put(key, members);
+			if (entries.size() > MAX_ENTRIES) {
+				entries.remove(entries.keySet().iterator().next());
+			}
+		}
+		return members;
+	}
+
+	@Nullable
+	private String getKey(PsiClass annotation, boolean withSources, DocumentFormat documentFormat) {
+		VirtualFile file = PsiUtilCore.getVirtualFile(annotation);
+		if (file == null || !(file.getFileSystem() instanceof JarFileSystem)) {
+			return null;
+		}
+		VirtualFile jar = JarFileSystem.getInstance().getVirtualFileForJar(file);
+		String hash = jar != null ? getHash(jar) : null;
+		if (hash == null) {
+			return null;
+		}
+		return hash + '!' + annotation.getQualifiedName() + '!' + documentFormat + (withSources ? "!sources" : "");
+	}
+
+	@Nullable
+	private String getHash(VirtualFile jar) {
+		JarHash jarHash = jarHashes.get(jar.getPath());
+		if (jarHash != null && jarHash.timeStamp == jar.getTimeStamp() && jarHash.length == jar.getLength()) {
+			return jarHash.hash;
+		}
+		try (InputStream input = jar.getInputStream()) {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = input.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+			String hash = StringUtil.toHexString(digest.digest());
+			jarHashes.put(jar.getPath(), new JarHash(jar.getTimeStamp(), jar.getLength(), hash));
+			return hash;
+		} catch (IOException | NoSuchAlgorithmException e) {
+			LOGGER.warn(e.getLocalizedMessage(), e);
+			return null;
+		}
+	}
+
+	@Override
+	public CacheState getState() {
+		CacheState state = new CacheState();
+		synchronized (entries) {
+			entries.forEach((key, members) -> {
+				AnnotationMetadata annotation = new AnnotationMetadata();
+				annotation.key = key;
+				annotation.members = members;
+				state.annotations.add(annotation);
+			});
+		}
+		return state;
+	}
+
+	@Override
+	public void loadState(@NotNull CacheState state) {
+		synchronized (entries) {
+			entries.clear();
+			for (AnnotationMetadata annotation : state.annotations) {
+				if (annotation.key != null && annotation.members != null) {
+					entries.put(annotation.key, annotation.members);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp4ij.psi.core.project;
+
+import com.intellij.ProjectTopics;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.project.ModuleListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.roots.libraries.Library;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.messages.MessageBusConnection;
+import io.openliberty.tools.intellij.lsp4mp.MicroProfileProjectService;
+import org.apache.commons.lang3.tuple.Pair;
+import org.eclipse.lsp4mp.commons.ClasspathKind;
+import org.eclipse.lsp4mp.commons.DocumentFormat;
+import org.eclipse.lsp4mp.commons.MicroProfileProjectInfo;
+import org.eclipse.lsp4mp.commons.metadata.ItemHint;
+import org.eclipse.lsp4mp.commons.metadata.ItemMetadata;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the properties and hints of a module which come from its dependencies (the ones which are not flagged as
+ * coming from the sources), so that a project info request for the sources and the dependencies only searches the
+ * sources of the module once the dependencies have been searched. This is the split used by the language server to
+ * update its own cache when only the sources change.
+ *
+ * The cache is cleared when the libraries or the roots of the modules change.
+ */
+@Service
+public final class LibraryPropertiesCache {
+
+	public static LibraryPropertiesCache getInstance(Project project) {
+		return project.getService(LibraryPropertiesCache.class);
+	}
+
+	private final Map<Key, LibraryProperties> entries = new ConcurrentHashMap<>();
+
+	private final AtomicLong generation = new AtomicLong();
+
+	private static class Key {
+		private final Module module;
+		private final ClasspathKind classpathKind;
+		private final DocumentFormat documentFormat;
+
+		private Key(Module module, ClasspathKind classpathKind, DocumentFormat documentFormat) {
+			this.module = module;
+			this.classpathKind = classpathKind;
+			this.documentFormat = documentFormat;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) o;
+			return module.equals(key.module) && classpathKind == key.classpathKind
+					&& documentFormat == key.documentFormat;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(module, classpathKind, documentFormat);
+		}
+	}
+
+	/**
+	 * Properties and hints of a module which come from its dependencies.
+	 */
+	public static class LibraryProperties {
+		private final List<ItemMetadata> properties;
+		private final List<ItemHint> hints;
+
+		private LibraryProperties(List<ItemMetadata> properties, List<ItemHint> hints) {
+			this.properties = properties;
+			this.hints = hints;
+		}
+
+		/**
+		 * Adds the properties and the hints to the given project info computed from the sources only. The hints
+		 * which were also found in the sources are not added.
+		 */
+		public void addTo(MicroProfileProjectInfo info) {
+			info.getProperties().addAll(properties);
+			Set<String> hintNames = new HashSet<>();
+			for (ItemHint hint : info.getHints()) {
+				hintNames.add(hint.getName());
+			}
+			for (ItemHint hint : hints) {
+				if (!hintNames.contains(hint.getName())) {
+					info.getHints().add(hint);
+				}
+			}
+		}
+	}
+
+	private class LibraryListener implements MicroProfileProjectService.Listener, ModuleRootListener, ModuleListener {
+		@Override
+		public void libraryUpdated(Library library) {
+			clear();
+		}
+
+		@Override
+		public void sourceUpdated(List<Pair<Module, VirtualFile>> sources) {
+			// only the sources part is computed again
+		}
+
+		@Override
+		public void rootsChanged(@NotNull ModuleRootEvent event) {
+			clear();
+		}
+
+		@Override
+		public void moduleRemoved(@NotNull Project project, @NotNull Module module) {
+			clear();
+		}
+	}
+
+	private LibraryPropertiesCache(Project project) {
+		LibraryListener listener = new LibraryListener();
+		MessageBusConnection connection = project.getMessageBus().connect(project);
+		connection.subscribe(MicroProfileProjectService.TOPIC, listener);
+		connection.subscribe(ProjectTopics.PROJECT_ROOTS, listener);
+		connection.subscribe(ProjectTopics.MODULES, listener);
+	}
+
+	private void clear() {
+		generation.incrementAndGet();
+		entries.clear();
+	}
+
+	/**
+	 * Returns the generation of the cache, to be given to {@link #put} once the project info has been computed.
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	@Nullable
+	public LibraryProperties get(@NotNull Module module, ClasspathKind classpathKind, DocumentFormat documentFormat) {
+		return entries.get(new Key(module, classpathKind, documentFormat));
+	}
+
+	/**
+	 * Records the properties and the hints of the given project info, computed from the sources and the
+	 * dependencies, which don't come from the sources. Nothing is recorded if the cache has been cleared since the
+	 * given generation.
+	 */
+	public void put(@NotNull Module module, ClasspathKind classpathKind, DocumentFormat documentFormat,
+					MicroProfileProjectInfo info, long generation) {
+		List<ItemMetadata> properties = new ArrayList<>();
+		for (ItemMetadata property : info.getProperties()) {
+			if (!Boolean.TRUE.equals(property.getSource())) {
+				properties.add(property);
+			}
+		}
+		List<ItemHint> hints = new ArrayList<>();
+		for (ItemHint hint : info.getHints()) {
+			if (!Boolean.TRUE.equals(hint.getSource())) {
+				hints.add(hint);
+			}
+		}
+		LibraryProperties libraryProperties = new LibraryProperties(Collections.unmodifiableList(properties),
+				Collections.unmodifiableList(hints));
+		Key key = new Key(module, classpathKind, documentFormat);
+		entries.put(key, libraryProperties);
+		if (this.generation.get() != generation) {
+			entries.remove(key, libraryProperties);
+		}
+	}
+}
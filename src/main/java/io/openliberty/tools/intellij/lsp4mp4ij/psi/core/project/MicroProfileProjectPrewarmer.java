@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp4ij.psi.core.project;
+
+import com.intellij.ProjectTopics;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.ModuleListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.messages.MessageBusConnection;
+import io.openliberty.tools.intellij.LibertyModule;
+import io.openliberty.tools.intellij.LibertyModules;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.PropertiesManager;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.PsiMicroProfileUtils;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.core.ls.PsiUtilsLSImpl;
+import io.openliberty.tools.intellij.util.Constants;
+import org.eclipse.lsp4mp.commons.ClasspathKind;
+import org.eclipse.lsp4mp.commons.DocumentFormat;
+import org.eclipse.lsp4mp.commons.MicroProfilePropertiesScope;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Computes the MicroProfile project info and the classpath capabilities of the Liberty modules in the background
+ * once the project is opened and once indexing finishes, so that the first completion in a
+ * microprofile-config.properties file doesn't wait for the dependencies of the module to be searched.
+ *
+ * The modules with files opened in an editor are searched first. Each module is searched in its own non-blocking
+ * read action on a single thread, which is cancelled and restarted when a write action starts, so the pre-warming
+ * yields to the user actions. The results are kept by the {@link LibraryPropertiesCache} and the
+ * {@link ClasspathCapabilitiesManager}.
+ */
+@Service
+public final class MicroProfileProjectPrewarmer implements Disposable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MicroProfileProjectPrewarmer.class);
+
+	private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("open-liberty.intellij.prewarm", "true"));
+
+	// the format requested by the language server, which supports Markdown in completion documentation
+	private static final DocumentFormat DOCUMENT_FORMAT = DocumentFormat.Markdown;
+
+	private static final List<MicroProfilePropertiesScope> SCOPES = Arrays.asList(MicroProfilePropertiesScope.sources,
+			MicroProfilePropertiesScope.dependencies);
+
+	private static final List<String> PROJECT_TYPES = Arrays.asList(Constants.LIBERTY_MAVEN_PROJECT,
+			Constants.LIBERTY_GRADLE_PROJECT);
+
+	public static MicroProfileProjectPrewarmer getInstance(Project project) {
+		return project.getService(MicroProfileProjectPrewarmer.class);
+	}
+
+	/**
+	 * Pre-warms the Liberty modules once the project has been opened and indexed.
+	 */
+	public static class Startup implements StartupActivity {
+		@Override
+		public void runActivity(@NotNull Project project) {
+			getInstance(project).schedule();
+		}
+	}
+
+	private final Project project;
+
+	private final ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor(
+			"Liberty project info pre-warming", 1);
+
+	// incremented by each schedule, a pass stops as soon as a newer one has been scheduled
+	private final AtomicLong pass = new AtomicLong();
+
+	private class PrewarmListener implements DumbService.DumbModeListener, ModuleListener {
+		@Override
+		public void exitDumbMode() {
+			schedule();
+		}
+
+		@Override
+		public void moduleAdded(@NotNull Project project, @NotNull Module module) {
+			schedule();
+		}
+	}
+
+	private MicroProfileProjectPrewarmer(Project project) {
+		this.project = project;
+		PrewarmListener listener = new PrewarmListener();
+		MessageBusConnection connection = project.getMessageBus().connect(this);
+		connection.subscribe(DumbService.DUMB_MODE, listener);
+		connection.subscribe(ProjectTopics.MODULES, listener);
+	}
+
+	@Override
+	public void dispose() {
+		pass.incrementAndGet();
+	}
+
+	/**
+	 * Schedules a pre-warming pass over the Liberty modules known to {@link LibertyModules}, replacing the pass in
+	 * progress. The modules are searched once the project is in smart mode.
+	 */
+	public void schedule() {
+		if (!ENABLED || project.isDisposed() || ApplicationManager.getApplication().isUnitTestMode()) {
+			return;
+		}
+		long current = pass.incrementAndGet();
+		ReadAction.nonBlocking(this::getModules)
+				.inSmartMode(project)
+				.expireWith(this)
+				.submit(executor)
+				.onSuccess(modules -> prewarm(modules, 0, current));
+	}
+
+	/**
+	 * Returns the modules of the Liberty projects, the ones with files opened in an editor first.
+	 */
+	private List<Module> getModules() {
+		List<Module> modules = new ArrayList<>();
+		for (LibertyModule libertyModule : LibertyModules.getInstance().getLibertyModules(project, PROJECT_TYPES)) {
+			VirtualFile buildFile = libertyModule.getBuildFile();
+			Module module = buildFile != null && buildFile.isValid() ? ModuleUtilCore.findModuleForFile(buildFile, project) : null;
+			if (module != null) {
+				modules.add(module);
+			}
+		}
+		if (modules.isEmpty()) {
+			return modules;
+		}
+		Set<Module> ordered = new LinkedHashSet<>();
+		for (VirtualFile file : FileEditorManager.getInstance(project).getOpenFiles()) {
+			Module module = ModuleUtilCore.findModuleForFile(file, project);
+			if (module != null && modules.contains(module)) {
+				ordered.add(module);
+			}
+		}
+		ordered.addAll(modules);
+		return new ArrayList<>(ordered);
+	}
+
+	private void prewarm(List<Module> modules, int index, long current) {
+		if (index >= modules.size() || pass.get() != current) {
+			return;
+		}
+		Module module = modules.get(index);
+		ReadAction.nonBlocking(() -> prewarm(module))
+				.inSmartMode(project)
+				.expireWith(this)
+				.expireWhen(module::isDisposed)
+				.submit(executor)
+				.onProcessed(result -> prewarm(modules, index + 1, current));
+	}
+
+	private Void prewarm(Module module) {
+		if (!PsiMicroProfileUtils.isMicroProfileProject(module)) {
+			return null;
+		}
+		LibraryPropertiesCache cache = LibraryPropertiesCache.getInstance(project);
+		if (cache.get(module, ClasspathKind.SRC, DOCUMENT_FORMAT) != null) {
+			return null;
+		}
+		long startTime = System.currentTimeMillis();
+		PropertiesManager.getInstance().getMicroProfileProjectInfo(module, SCOPES, ClasspathKind.SRC,
+				PsiUtilsLSImpl.getInstance(project), DOCUMENT_FORMAT);
+		LOGGER.debug("Pre-warmed MicroProfile project info of '" + module.getName() + "' in "
+				+ (System.currentTimeMillis() - startTime) + "ms.");
+		return null;
+	}
+}
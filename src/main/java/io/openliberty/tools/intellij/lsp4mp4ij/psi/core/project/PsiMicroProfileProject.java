@@ -22,7 +22,10 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -37,10 +40,46 @@ public class PsiMicroProfileProject {
 
 	private final Module javaProject;
 
-	private List<IConfigSource> configSources;
+	private final AtomicLong generation = new AtomicLong();
 
-	private transient IConfigSourcePropertiesProvider aggregatedPropertiesProvider = null;
-	private transient PropertyValueExpander propertyValueExpander = null;
+	private volatile ConfigSnapshot snapshot;
+
+	private final Object loadLock = new Object();
+
+	/**
+	 * Config sources and resolved property values of the project, replaced when a config source changes so that
+	 * concurrent readers see a consistent state without locking.
+	 */
+	private static class ConfigSnapshot {
+
+		private final long generation;
+
+		private final List<IConfigSource> configSources;
+
+		private final IConfigSourcePropertiesProvider aggregatedPropertiesProvider;
+
+		// property key with profile -> value with expanded expressions
+		private final Map<String, Optional<String>> resolvedValues = new ConcurrentHashMap<>();
+
+		private ConfigSnapshot(long generation, List<IConfigSource> configSources) {
+			this.generation = generation;
+			this.configSources = Collections.unmodifiableList(configSources);
+			this.aggregatedPropertiesProvider = getAggregatedPropertiesProvider(configSources);
+		}
+
+		private String getProperty(String propertyKey) {
+			return resolvedValues.computeIfAbsent(propertyKey, this::resolveProperty).orElse(null);
+		}
+
+		private Optional<String> resolveProperty(String propertyKey) {
+			String unresolved = aggregatedPropertiesProvider.getValue(propertyKey);
+			if (unresolved != null && unresolved.contains("${")) {
+				// the expander isn't thread safe, values are expanded once per snapshot
+				return Optional.ofNullable(new PropertyValueExpander(aggregatedPropertiesProvider).getValue(propertyKey));
+			}
+			return Optional.ofNullable(unresolved);
+		}
+	}
 
 	public PsiMicroProfileProject(Module javaProject) {
 		this.javaProject = javaProject;
@@ -61,26 +100,8 @@ public class PsiMicroProfileProject {
 	 *         defined in this project
 	 */
 	public String getProperty(String propertyKey, String defaultValue) {
-
-		if (aggregatedPropertiesProvider == null) {
-			aggregatedPropertiesProvider = getAggregatedPropertiesProvider();
-		}
-
-		String unresolved = aggregatedPropertiesProvider.getValue(propertyKey);
-		if (unresolved == null) {
-			return defaultValue;
-		} else if (unresolved.contains("${")) {
-			if (propertyValueExpander == null) {
-				propertyValueExpander = new PropertyValueExpander(aggregatedPropertiesProvider);
-			}
-			String expandedValue = propertyValueExpander.getValue(propertyKey);
-			if (expandedValue == null) {
-				return defaultValue;
-			}
-			return expandedValue;
-		} else {
-			return unresolved;
-		}
+		String value = getSnapshot().getProperty(propertyKey);
+		return value != null ? value : defaultValue;
 	}
 
 	/**
@@ -158,7 +179,8 @@ public class PsiMicroProfileProject {
 		Map<String, MicroProfileConfigPropertyInformation> propertyToInfoMap = new HashMap<>();
 		// Go backwards so that application.properties replaces
 		// microprofile-config.properties, etc.
-		List<IConfigSource> configSources = getConfigSources();
+		ConfigSnapshot current = getSnapshot();
+		List<IConfigSource> configSources = current.configSources;
 		for (int i = configSources.size() - 1; i >= 0; i--) {
 			IConfigSource configSource = configSources.get(i);
 			List<MicroProfileConfigPropertyInformation> propertyInformations = configSource
@@ -174,17 +196,14 @@ public class PsiMicroProfileProject {
 					return a.getPropertyNameWithProfile().compareTo(b.getPropertyNameWithProfile());
 				}) //
 				.map(info -> {
-					String resolved = this.getProperty(info.getPropertyNameWithProfile());
+					String resolved = current.getProperty(info.getPropertyNameWithProfile());
 					return new MicroProfileConfigPropertyInformation(info.getPropertyNameWithProfile(), resolved,
 							info.getSourceConfigFileURI(), info.getConfigFileName());
 				}).collect(Collectors.toList());
 	}
 
 	public List<IConfigSource> getConfigSources() {
-		if (configSources == null) {
-			configSources = loadConfigSources(javaProject);
-		}
-		return configSources;
+		return getSnapshot().configSources;
 	}
 
 	/**
@@ -192,9 +211,26 @@ public class PsiMicroProfileProject {
 	 * of properties, yaml file is saved.
 	 */
 	public void evictConfigSourcesCache() {
-		configSources = null;
-		propertyValueExpander = null;
-		aggregatedPropertiesProvider = null;
+		generation.incrementAndGet();
+		snapshot = null;
+	}
+
+	private ConfigSnapshot getSnapshot() {
+		ConfigSnapshot current = snapshot;
+		if (current != null && current.generation == generation.get()) {
+			return current;
+		}
+		synchronized (loadLock) {
+			// Case when there are several Threads which load config sources, the second
+			// Thread should not reload the config sources again.
+			long currentGeneration = generation.get();
+			current = snapshot;
+			if (current == null || current.generation != currentGeneration) {
+				current = new ConfigSnapshot(currentGeneration, loadConfigSources(javaProject));
+				snapshot = current;
+			}
+			return current;
+		}
 	}
 
 	/**
@@ -204,12 +240,7 @@ public class PsiMicroProfileProject {
 	 * @param javaProject the Java project
 	 * @return the loaded config sources.
 	 */
-	private synchronized List<IConfigSource> loadConfigSources(Module javaProject) {
-		if (configSources != null) {
-			// Case when there are several Threads which load config sources, the second
-			// Thread should not reload the config sources again.
-			return configSources;
-		}
+	private static List<IConfigSource> loadConfigSources(Module javaProject) {
 		List<IConfigSource> configSources = new ArrayList<>();
 		VirtualFile outputFile = CompilerPaths.getModuleOutputDirectory(javaProject, false);
 		for (IConfigSourceProvider provider : IConfigSourceProvider.EP_NAME.getExtensions()) {
@@ -238,8 +269,7 @@ public class PsiMicroProfileProject {
 		return false;
 	}
 
-	private IConfigSourcePropertiesProvider getAggregatedPropertiesProvider() {
-		List<IConfigSource> configSources = getConfigSources();
+	private static IConfigSourcePropertiesProvider getAggregatedPropertiesProvider(List<IConfigSource> configSources) {
 		if (configSources.size() == 0) {
 			// Return an empty IConfigSourcePropertiesProvider
 			return new IConfigSourcePropertiesProvider() {
@@ -40,6 +40,7 @@ import com.intellij.psi.PsiVariable;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.ClassUtil;
 import com.intellij.psi.util.PsiTreeUtil;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.project.ClasspathCapabilitiesManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -145,6 +146,14 @@ public class PsiTypeUtils {
         return facade.findClass(name, GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module));
     }
 
+    /**
+     * Returns true if the given type is in the classpath of the module. The result is cached until the libraries or
+     * the roots of the module change, use it for checks on API marker types rather than on user types.
+     */
+    public static boolean isOnClasspath(Module module, String name) {
+        return ClasspathCapabilitiesManager.getInstance(module.getProject()).isOnClasspath(module, name);
+    }
+
     public static String getSourceField(PsiMember psiMember) {
         return psiMember.getName();
     }
@@ -84,7 +84,7 @@ public class MicroProfileConfigASTValidator extends JavaASTValidator {
 	@Override
 	public boolean isAdaptedForDiagnostics(JavaDiagnosticsContext context) {
 		Module javaProject = context.getJavaProject();
-		return PsiTypeUtils.findType(javaProject, CONFIG_PROPERTY_ANNOTATION) != null;
+		return PsiTypeUtils.isOnClasspath(javaProject, CONFIG_PROPERTY_ANNOTATION);
 	}
 
 	private static List<String> getPatternsFromContext(JavaDiagnosticsContext context) {
@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.config.java;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiAnnotationMemberValue;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.indexing.ScalarIndexExtension;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.core.MicroProfileConfigConstants.CONFIG_PROPERTIES_ANNOTATION;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.core.MicroProfileConfigConstants.CONFIG_PROPERTIES_ANNOTATION_PREFIX;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.core.MicroProfileConfigConstants.CONFIG_PROPERTY_ANNOTATION;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.core.MicroProfileConfigConstants.CONFIG_PROPERTY_ANNOTATION_NAME;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.faulttolerance.MicroProfileFaultToleranceConstants.ASYNCHRONOUS_ANNOTATION;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.faulttolerance.MicroProfileFaultToleranceConstants.BULKHEAD_ANNOTATION;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.faulttolerance.MicroProfileFaultToleranceConstants.CIRCUITBREAKER_ANNOTATION;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.faulttolerance.MicroProfileFaultToleranceConstants.FALLBACK_ANNOTATION;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.faulttolerance.MicroProfileFaultToleranceConstants.RETRY_ANNOTATION;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.faulttolerance.MicroProfileFaultToleranceConstants.TIMEOUT_ANNOTATION;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.restclient.MicroProfileRestClientConstants.REGISTER_REST_CLIENT_ANNOTATION;
+import static io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.restclient.MicroProfileRestClientConstants.REGISTER_REST_CLIENT_ANNOTATION_CONFIG_KEY;
+
+/**
+ * Index of the MicroProfile config property keys referenced from Java sources, to find the Java elements using a
+ * property without walking the PSI of the project:
+ *
+ * <ul>
+ * <li>&#64;ConfigProperty(name="foo.bar") is indexed with the key <code>foo.bar</code></li>
+ * <li>&#64;ConfigProperties(prefix="foo") is indexed with the key <code>foo</code></li>
+ * <li>&#64;RegisterRestClient(configKey="foo") is indexed with the key <code>foo</code>, or with the name of the
+ * interface when there is no config key</li>
+ * <li>fault tolerance annotations are indexed with the key <code>com.acme.MyClass/myMethod/Retry</code> or
+ * <code>com.acme.MyClass/Retry</code></li>
+ * </ul>
+ *
+ * Each key is tagged with its kind, so that only the prefix and the config key kinds match the keys starting with them,
+ * a &#64;ConfigProperty only matches its exact name. Annotations are matched by their simple name as references can't
+ * be resolved while indexing.
+ */
+public class MicroProfileConfigPropertyIndex extends ScalarIndexExtension<String> {
+
+	public static final ID<String, Void> NAME = ID.create("open-liberty.intellij.microProfileConfigPropertyIndex");
+
+	private static final String MP_REST_SEGMENT = "/mp-rest/";
+
+	/**
+	 * The kind of an indexed key, stored as a prefix of the key.
+	 */
+	private enum KeyKind {
+		// @ConfigProperty(name="foo.bar"), matches foo.bar only
+		NAME('N'),
+		// @ConfigProperties(prefix="foo"), matches foo.*
+		PREFIX('P'),
+		// @RegisterRestClient(configKey="foo"), matches foo/mp-rest/*
+		CONFIG_KEY('R'),
+		// @Retry on com.acme.MyClass#myMethod, matches com.acme.MyClass/myMethod/Retry/*
+		FAULT_TOLERANCE('F');
+
+		private final char tag;
+
+		KeyKind(char tag) {
+			this.tag = tag;
+		}
+
+		private String key(String key) {
+			return tag + ":" + key;
+		}
+	}
+
+	private static final Map<String, String> ANNOTATIONS = new HashMap<>();
+
+	static {
+		for (String annotation : new String[] { CONFIG_PROPERTY_ANNOTATION, CONFIG_PROPERTIES_ANNOTATION,
+				REGISTER_REST_CLIENT_ANNOTATION, ASYNCHRONOUS_ANNOTATION, BULKHEAD_ANNOTATION,
+				CIRCUITBREAKER_ANNOTATION, FALLBACK_ANNOTATION, RETRY_ANNOTATION, TIMEOUT_ANNOTATION }) {
+			ANNOTATIONS.put(StringUtil.getShortName(annotation), annotation);
+		}
+	}
+
+	@Override
+	public @NotNull ID<String, Void> getName() {
+		return NAME;
+	}
+
+	@Override
+	public @NotNull DataIndexer<String, Void, FileContent> getIndexer() {
+		return inputData -> {
+			CharSequence text = inputData.getContentAsText();
+			if (ANNOTATIONS.keySet().stream().noneMatch(name -> StringUtil.contains(text, name))) {
+				return Collections.emptyMap();
+			}
+			Map<String, Void> keys = new HashMap<>();
+			collectReferences(inputData.getPsiFile(), (key, element) -> keys.put(key, null));
+			return keys;
+		};
+	}
+
+	@Override
+	public @NotNull KeyDescriptor<String> getKeyDescriptor() {
+		return EnumeratorStringDescriptor.INSTANCE;
+	}
+
+	@Override
+	public int getVersion() {
+		return 2;
+	}
+
+	@Override
+	public FileBasedIndex.@NotNull InputFilter getInputFilter() {
+		return new DefaultFileTypeSpecificInputFilter(JavaFileType.INSTANCE);
+	}
+
+	@Override
+	public boolean dependsOnFileContent() {
+		return true;
+	}
+
+	/**
+	 * Returns the Java elements referencing the given property key: the annotation member value declaring the key or
+	 * prefix, or the annotation itself when the key is derived from the annotated element. Must be called in a read
+	 * action in smart mode.
+	 *
+	 * @param propertyKey the property key, without profile
+	 * @param scope       the scope of the search
+	 * @return the Java elements referencing the given property key
+	 */
+	public static List<PsiElement> findReferences(@NotNull String propertyKey, @NotNull GlobalSearchScope scope) {
+		Project project = scope.getProject();
+		if (project == null) {
+			return Collections.emptyList();
+		}
+		Set<String> indexKeys = getIndexKeys(propertyKey);
+		Set<VirtualFile> files = new LinkedHashSet<>();
+		FileBasedIndex index = FileBasedIndex.getInstance();
+		for (String indexKey : indexKeys) {
+			files.addAll(index.getContainingFiles(NAME, indexKey, scope));
+		}
+		List<PsiElement> references = new ArrayList<>();
+		PsiManager psiManager = PsiManager.getInstance(project);
+		for (VirtualFile file : files) {
+			PsiFile psiFile = psiManager.findFile(file);
+			if (psiFile != null) {
+				collectReferences(psiFile, (key, element) -> {
+					if (indexKeys.contains(key)) {
+						references.add(element);
+					}
+				});
+			}
+		}
+		return references;
+	}
+
+	/**
+	 * Returns the index keys which can match the given property key.
+	 */
+	private static Set<String> getIndexKeys(String propertyKey) {
+		Set<String> keys = new LinkedHashSet<>();
+		keys.add(KeyKind.NAME.key(propertyKey));
+		// @ConfigProperties(prefix="foo") for foo.bar
+		int dot = propertyKey.indexOf('.');
+		while (dot > 0) {
+			keys.add(KeyKind.PREFIX.key(propertyKey.substring(0, dot)));
+			dot = propertyKey.indexOf('.', dot + 1);
+		}
+		// @RegisterRestClient(configKey="foo") for foo/mp-rest/url
+		int mpRest = propertyKey.indexOf(MP_REST_SEGMENT);
+		if (mpRest > 0) {
+			keys.add(KeyKind.CONFIG_KEY.key(propertyKey.substring(0, mpRest)));
+		}
+		// @Retry for com.acme.MyClass/myMethod/Retry/maxRetries
+		int lastSlash = propertyKey.lastIndexOf('/');
+		if (lastSlash > 0) {
+			keys.add(KeyKind.FAULT_TOLERANCE.key(propertyKey.substring(0, lastSlash)));
+		}
+		return keys;
+	}
+
+	private static void collectReferences(PsiFile file, BiConsumer<String, PsiElement> collector) {
+		if (!(file instanceof PsiJavaFile)) {
+			return;
+		}
+		file.accept(new PsiRecursiveElementWalkingVisitor() {
+			@Override
+			public void visitElement(@NotNull PsiElement element) {
+				if (element instanceof PsiAnnotation) {
+					collectReferences((PsiAnnotation) element, collector);
+					return;
+				}
+				super.visitElement(element);
+			}
+		});
+	}
+
+	private static void collectReferences(PsiAnnotation annotation, BiConsumer<String, PsiElement> collector) {
+		PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+		String annotationName = reference != null ? ANNOTATIONS.get(reference.getReferenceName()) : null;
+		if (annotationName == null) {
+			return;
+		}
+		PsiModifierListOwner owner = PsiTreeUtil.getParentOfType(annotation, PsiModifierListOwner.class);
+		switch (annotationName) {
+			case CONFIG_PROPERTY_ANNOTATION:
+				collectMemberValue(annotation, CONFIG_PROPERTY_ANNOTATION_NAME, KeyKind.NAME, collector);
+				break;
+			case CONFIG_PROPERTIES_ANNOTATION:
+				collectMemberValue(annotation, CONFIG_PROPERTIES_ANNOTATION_PREFIX, KeyKind.PREFIX, collector);
+				break;
+			case REGISTER_REST_CLIENT_ANNOTATION:
+				if (!collectMemberValue(annotation, REGISTER_REST_CLIENT_ANNOTATION_CONFIG_KEY, KeyKind.CONFIG_KEY, collector)
+						&& owner instanceof PsiClass && ((PsiClass) owner).getQualifiedName() != null) {
+					collector.accept(KeyKind.CONFIG_KEY.key(((PsiClass) owner).getQualifiedName()), annotation);
+				}
+				break;
+			default:
+				String simpleName = StringUtil.getShortName(annotationName);
+				if (owner instanceof PsiMethod) {
+					PsiClass type = ((PsiMethod) owner).getContainingClass();
+					if (type != null && type.getQualifiedName() != null) {
+						collector.accept(KeyKind.FAULT_TOLERANCE.key(
+								type.getQualifiedName() + '/' + ((PsiMethod) owner).getName() + '/' + simpleName), annotation);
+					}
+				} else if (owner instanceof PsiClass && ((PsiClass) owner).getQualifiedName() != null) {
+					collector.accept(KeyKind.FAULT_TOLERANCE.key(((PsiClass) owner).getQualifiedName() + '/' + simpleName),
+							annotation);
+				}
+		}
+	}
+
+	private static boolean collectMemberValue(PsiAnnotation annotation, String attributeName, KeyKind kind,
+											  BiConsumer<String, PsiElement> collector) {
+		PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue(attributeName);
+		if (value instanceof PsiLiteralExpression && ((PsiLiteralExpression) value).getValue() instanceof String) {
+			String key = (String) ((PsiLiteralExpression) value).getValue();
+			if (!key.isEmpty()) {
+				collector.accept(kind.key(key), value);
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.config.java;
+
+import com.intellij.lang.properties.psi.Property;
+import com.intellij.openapi.application.QueryExecutorBase;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.ElementManipulators;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.PsiReferenceBase;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.regex.Pattern;
+
+/**
+ * Finds the usages of a property declared in a microprofile-config.properties file in the Java sources, with the
+ * {@link MicroProfileConfigPropertyIndex}.
+ */
+public class MicroProfileConfigPropertyReferencesSearcher extends QueryExecutorBase<PsiReference, ReferencesSearch.SearchParameters> {
+
+	private static final Pattern CONFIG_FILE_NAME = Pattern.compile("microprofile-config(-[A-Za-z]+)?\\.properties");
+
+	public MicroProfileConfigPropertyReferencesSearcher() {
+		super(true);
+	}
+
+	@Override
+	public void processQuery(@NotNull ReferencesSearch.SearchParameters queryParameters,
+							 @NotNull Processor<? super PsiReference> consumer) {
+		PsiElement target = queryParameters.getElementToSearch();
+		if (!(target instanceof Property)) {
+			return;
+		}
+		PsiFile file = target.getContainingFile();
+		if (file == null || !CONFIG_FILE_NAME.matcher(file.getName()).matches()) {
+			return;
+		}
+		String key = ((Property) target).getUnescapedKey();
+		if (key == null || key.isEmpty()) {
+			return;
+		}
+		// %dev.foo.bar is the foo.bar property for the dev profile
+		if (key.charAt(0) == '%') {
+			int dot = key.indexOf('.');
+			if (dot < 0) {
+				return;
+			}
+			key = key.substring(dot + 1);
+		}
+		SearchScope scope = queryParameters.getEffectiveSearchScope();
+		if (!(scope instanceof GlobalSearchScope)) {
+			return;
+		}
+		for (PsiElement element : MicroProfileConfigPropertyIndex.findReferences(key, (GlobalSearchScope) scope)) {
+			TextRange range = element instanceof PsiLiteralExpression ? ElementManipulators.getValueTextRange(element)
+					: TextRange.from(0, element.getTextLength());
+			if (!consumer.process(new PsiReferenceBase.Immediate<>(element, range, target))) {
+				return;
+			}
+		}
+	}
+}
@@ -14,10 +14,14 @@
 package io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.IPropertiesCollector;
 import org.eclipse.lsp4mp.commons.MicroProfilePropertiesScope;
@@ -38,6 +42,12 @@ public class PropertiesCollector implements IPropertiesCollector {
 
 	private final Map<String, ItemHint> hintsCache;
 
+	// first property of each name, to merge without scanning the properties
+	private final Map<String, ItemMetadata> propertiesCache;
+
+	// hints referenced from merged metadata, which are copied before being modified
+	private final Set<ItemHint> sharedHints;
+
 	private final boolean onlySources;
 
 	public PropertiesCollector(ConfigurationMetadata configuration, List<MicroProfilePropertiesScope> scopes) {
@@ -45,6 +55,8 @@ public class PropertiesCollector implements IPropertiesCollector {
 		this.configuration.setProperties(new ArrayList<>());
 		this.configuration.setHints(new ArrayList<>());
 		this.hintsCache = new HashMap<>();
+		this.propertiesCache = new HashMap<>();
+		this.sharedHints = Collections.newSetFromMap(new IdentityHashMap<>());
 		this.onlySources = MicroProfilePropertiesScope.isOnlySources(scopes);
 	}
 
@@ -70,7 +82,7 @@ public class PropertiesCollector implements IPropertiesCollector {
 		property.setPhase(phase);
 		property.setRequired(defaultValue == null);
 
-		configuration.getProperties().add(property);
+		addProperty(property);
 		return property;
 	}
 
@@ -94,6 +106,7 @@ public class PropertiesCollector implements IPropertiesCollector {
 
 	@Override
 	public void merge(ConfigurationMetadata metadata, MergingStrategy mergingStrategy) {
+		// the merged properties and hint values are referenced, not copied
 		List<ItemMetadata> properties = metadata.getProperties();
 		if (properties != null) {
 			for (ItemMetadata property: properties) {
@@ -136,27 +149,31 @@ public class PropertiesCollector implements IPropertiesCollector {
 	}
 
 	private Optional<ItemMetadata> getExistingProperty(ItemMetadata property) {
-		List<ItemMetadata> configProperties = configuration.getProperties();
-		Optional<ItemMetadata> configProperty = configProperties.stream()
-				.filter(cp -> cp.getName().equals(property.getName())).findFirst();
-		return configProperty;
+		return Optional.ofNullable(propertiesCache.get(property.getName()));
 	}
 
 	private void mergeWithReplace(ItemMetadata property) {
-		Optional<ItemMetadata> configProperty = getExistingProperty(property);
-		if (configProperty.isPresent()) {
-			configuration.getProperties().remove(configProperty.get());
+		String name = property.getName();
+		if (propertiesCache.remove(name) != null) {
+			// the properties added with the default strategy can share the same name, replace all of them
+			configuration.getProperties().removeIf(p -> Objects.equals(p.getName(), name));
 		}
 		addProperty(property);
 	}
 
 	private void addProperty(ItemMetadata property) {
 		configuration.getProperties().add(property);
+		propertiesCache.putIfAbsent(property.getName(), property);
 	}
 
 	// --------------- ItemHint merge
 
 	private void merge(ItemHint itemHint, MergingStrategy mergingStrategy) {
+		if (!hasItemHint(itemHint.getName())) {
+			addItemHint(itemHint);
+			sharedHints.add(itemHint);
+			return;
+		}
 		ItemHint existingItemHint = getItemHint(itemHint.getName());
 		merge(itemHint.getValues(), existingItemHint, mergingStrategy);
 		if (itemHint.getProviders() != null) {
@@ -199,7 +216,34 @@ public class PropertiesCollector implements IPropertiesCollector {
 	}
 
 	private ItemHint getExistingItemHint(String hint) {
-		return hintsCache.get(hint);
+		ItemHint itemHint = hintsCache.get(hint);
+		if (itemHint != null && sharedHints.remove(itemHint)) {
+			// the hint is about to be modified, copy it
+			ItemHint copy = copy(itemHint);
+			List<ItemHint> hints = configuration.getHints();
+			for (int i = 0; i < hints.size(); i++) {
+				if (hints.get(i) == itemHint) {
+					hints.set(i, copy);
+					break;
+				}
+			}
+			hintsCache.put(hint, copy);
+			itemHint = copy;
+		}
+		return itemHint;
+	}
+
+	private static ItemHint copy(ItemHint itemHint) {
+		ItemHint copy = new ItemHint();
+		copy.setName(itemHint.getName());
+		copy.setDescription(itemHint.getDescription());
+		copy.setSourceType(itemHint.getSourceType());
+		copy.setSource(itemHint.getSource());
+		copy.setValues(itemHint.getValues() != null ? new ArrayList<>(itemHint.getValues()) : new ArrayList<>());
+		if (itemHint.getProviders() != null) {
+			copy.setProviders(new ArrayList<>(itemHint.getProviders()));
+		}
+		return copy;
 	}
 
 	private void addItemHint(ItemHint itemHint) {
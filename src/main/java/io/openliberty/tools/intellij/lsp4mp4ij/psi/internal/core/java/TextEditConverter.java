@@ -12,16 +12,25 @@
  *******************************************************************************/
 package io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.core.java;
 
+import com.intellij.diff.comparison.ComparisonManager;
+import com.intellij.diff.comparison.ComparisonPolicy;
+import com.intellij.diff.comparison.DiffTooBigException;
+import com.intellij.diff.fragments.DiffFragment;
+import com.intellij.diff.fragments.LineFragment;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.progress.DumbProgressIndicator;
 import com.intellij.psi.PsiFile;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.corrections.proposal.Change;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.IPsiUtils;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.TextDocumentEdit;
 import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -54,12 +63,51 @@ public class TextEditConverter {
 		this.utils = utils;
 	}
 
+	/**
+	 * Computes the edits which transform the source document into the target
+	 * document. Only the changed lines are sent, refined to the changed characters
+	 * within those lines, so that applying a quick fix doesn't replace the whole
+	 * document.
+	 */
 	public List<org.eclipse.lsp4j.TextEdit> convert() {
+		Document sourceDocument = source.getSourceDocument();
+		CharSequence sourceText = sourceDocument != null ? sourceDocument.getCharsSequence() : "";
+		CharSequence targetText = source.getTargetDocument().getCharsSequence();
+		try {
+			List<LineFragment> fragments = ComparisonManager.getInstance().compareLinesInner(sourceText, targetText,
+					ComparisonPolicy.DEFAULT, DumbProgressIndicator.INSTANCE);
+			for (LineFragment fragment : fragments) {
+				List<DiffFragment> innerFragments = fragment.getInnerFragments();
+				if (innerFragments == null) {
+					addEdit(sourceDocument, fragment.getStartOffset1(), fragment.getEndOffset1(),
+							targetText.subSequence(fragment.getStartOffset2(), fragment.getEndOffset2()));
+				} else {
+					// inner fragments offsets are relative to the line fragment
+					for (DiffFragment innerFragment : innerFragments) {
+						addEdit(sourceDocument, fragment.getStartOffset1() + innerFragment.getStartOffset1(),
+								fragment.getStartOffset1() + innerFragment.getEndOffset1(),
+								targetText.subSequence(fragment.getStartOffset2() + innerFragment.getStartOffset2(),
+										fragment.getStartOffset2() + innerFragment.getEndOffset2()));
+					}
+				}
+			}
+		} catch (DiffTooBigException e) {
+			LOGGER.log(Level.FINE, "Too many differences to compute a minimal edit, replacing the whole document", e);
+			converted.clear();
+			addEdit(sourceDocument, 0, sourceText.length(), targetText);
+		}
+		return converted;
+	}
+
+	private void addEdit(Document sourceDocument, int startOffset, int endOffset, CharSequence newText) {
 		org.eclipse.lsp4j.TextEdit te = new org.eclipse.lsp4j.TextEdit();
-		te.setNewText(source.getTargetDocument().getText());
-		te.setRange(utils.toRange(source.getSourceDocument(), 0, source.getSourceDocument().getTextLength()));
+		te.setNewText(newText.toString());
+		if (sourceDocument != null) {
+			te.setRange(utils.toRange(sourceDocument, startOffset, endOffset - startOffset));
+		} else {
+			te.setRange(new Range(new Position(0, 0), new Position(0, 0)));
+		}
 		converted.add(te);
-		return converted;
 	}
 
 	public TextDocumentEdit convertToTextDocumentEdit(int version) {
@@ -82,9 +82,9 @@ public class MicroProfileFaultToleranceASTValidator extends JavaASTValidator {
 	@Override
 	public boolean isAdaptedForDiagnostics(JavaDiagnosticsContext context) {
 		Module javaProject = context.getJavaProject();
-		boolean adapted = PsiTypeUtils.findType(javaProject, FALLBACK_ANNOTATION) != null
-				|| PsiTypeUtils.findType(javaProject, ASYNCHRONOUS_ANNOTATION) != null
-				|| PsiTypeUtils.findType(javaProject, RETRY_ANNOTATION) != null;
+		boolean adapted = PsiTypeUtils.isOnClasspath(javaProject, FALLBACK_ANNOTATION)
+				|| PsiTypeUtils.isOnClasspath(javaProject, ASYNCHRONOUS_ANNOTATION)
+				|| PsiTypeUtils.isOnClasspath(javaProject, RETRY_ANNOTATION);
 		if (adapted) {
 			addAllowedReturnTypeForAsynchronousAnnotation(javaProject, MicroProfileConfigConstants.UNI_TYPE_UTILITY);
 		}
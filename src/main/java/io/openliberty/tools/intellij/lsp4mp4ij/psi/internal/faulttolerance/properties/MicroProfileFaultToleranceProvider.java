@@ -19,15 +19,19 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiMember;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.impl.source.PsiClassImpl;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.AbstractAnnotationTypeReferencePropertiesProvider;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.IPropertiesCollector;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.SearchContext;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.project.LibraryAnnotationMetadataCache;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.project.LibraryAnnotationMetadataCache.MemberMetadata;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.AnnotationUtils;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.IPsiUtils;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.PsiTypeUtils;
 import org.eclipse.lsp4mp.commons.DocumentFormat;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -78,74 +82,93 @@ public class MicroProfileFaultToleranceProvider extends AbstractAnnotationTypeRe
 
 		private final List<AnnotationParameter> parameters;
 
-		public AnnotationInfo(PsiClass annotation, IPsiUtils utils, DocumentFormat documentFormat) {
-			this.name = annotation.getQualifiedName();
-			this.simpleName = annotation.getName();
+		public AnnotationInfo(String name, String simpleName, List<MemberMetadata> members) {
+			this.name = name;
+			this.simpleName = simpleName;
 			this.parameters = new ArrayList<>();
+			for (MemberMetadata member : members) {
+				parameters.add(new AnnotationParameter(member.name, member.type, member.enumType,
+						member.enumValues, member.enumSource, member.description, member.sourceType,
+						member.sourceMethod, member.defaultValue));
+			}
+			AnnotationParameter parameter = new AnnotationParameter("enabled", "boolean", null,
+					Collections.emptyList(), false, "Enabling the policy", name, null, "true");
+			parameters.add(parameter);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getSimpleName() {
+			return simpleName;
+		}
+
+		public List<AnnotationParameter> getParameters() {
+			return parameters;
+		}
+
+		/**
+		 * Returns the metadata of the members of the given annotation type.
+		 */
+		private static List<MemberMetadata> getMembers(PsiClass annotation, IPsiUtils utils, DocumentFormat documentFormat) {
+			List<MemberMetadata> members = new ArrayList<>();
 			PsiMethod[] methods = annotation.getMethods();
 			if (methods != null) {
 				for (PsiMethod method : methods) {
 
 					if (method instanceof PsiAnnotationMethod) {
+						MemberMetadata member = new MemberMetadata();
 						// name
-						String name = method.getName();
+						member.name = method.getName();
 
 						// type
 						String methodResultTypeName = PsiTypeUtils.getResolvedResultTypeName(method);
 						PsiClass returnType = PsiTypeUtils.findType(method.getManager(), methodResultTypeName);
-						String type = PsiTypeUtils.getPropertyType(returnType, methodResultTypeName);
+						member.type = PsiTypeUtils.getPropertyType(returnType, methodResultTypeName);
 
 						// description
-						String description = utils.getJavadoc(method, documentFormat);
+						member.description = utils.getJavadoc(method, documentFormat);
 
 						// Method source
-						String sourceType = PsiTypeUtils.getSourceType(method);
-						String sourceMethod = PsiTypeUtils.getSourceMethod(method);
+						member.sourceType = PsiTypeUtils.getSourceType(method);
+						member.sourceMethod = PsiTypeUtils.getSourceMethod(method);
 
-						String defaultValue = PsiTypeUtils.getDefaultValue(method);
+						member.defaultValue = PsiTypeUtils.getDefaultValue(method);
 						// Enumerations
-						PsiClass enclosedType = PsiTypeUtils.getEnclosedType(returnType, type, method.getManager());
-
-						AnnotationParameter parameter = new AnnotationParameter(name, type, enclosedType, description,
-								sourceType, sourceMethod, defaultValue);
-						parameters.add(parameter);
+						PsiClass enclosedType = PsiTypeUtils.getEnclosedType(returnType, member.type, method.getManager());
+						if (enclosedType != null && enclosedType.isEnum()) {
+							member.enumType = enclosedType.getQualifiedName();
+							member.enumValues = getEnumConstantNames(enclosedType);
+							member.enumSource = enclosedType instanceof PsiClassImpl;
+						}
+						members.add(member);
 					}
 				}
 			}
-			AnnotationParameter parameter = new AnnotationParameter("enabled", "boolean", null, "Enabling the policy",
-					name, null, "true");
-			parameters.add(parameter);
-		}
-
-		public String getName() {
-			return name;
-		}
-
-		public String getSimpleName() {
-			return simpleName;
-		}
-
-		public List<AnnotationParameter> getParameters() {
-			return parameters;
+			return members;
 		}
-
 	}
 
 	static class AnnotationParameter {
 
 		private final String name;
 		private final String type;
-		private final PsiClass jdtType;
+		private final String enumType;
+		private final List<String> enumValues;
+		private final boolean enumSource;
 		private final String description;
 		private final String sourceType;
 		private final String sourceMethod;
 		private final String defaultValue;
 
-		public AnnotationParameter(String name, String type, PsiClass jdtType, String description, String sourceType,
-				String sourceMethod, String defaultValue) {
+		public AnnotationParameter(String name, String type, String enumType, List<String> enumValues,
+				boolean enumSource, String description, String sourceType, String sourceMethod, String defaultValue) {
 			this.name = name;
 			this.type = type;
-			this.jdtType = jdtType;
+			this.enumType = enumType;
+			this.enumValues = enumValues;
+			this.enumSource = enumSource;
 			this.description = description;
 			this.sourceType = sourceType;
 			this.sourceMethod = sourceMethod;
@@ -176,8 +199,19 @@ public class MicroProfileFaultToleranceProvider extends AbstractAnnotationTypeRe
 			return defaultValue;
 		}
 
-		public PsiClass getJDTType() {
-			return jdtType;
+		/**
+		 * Returns the enumeration type name of the parameter and null if the parameter isn't an enumeration.
+		 */
+		public String getEnumType() {
+			return enumType;
+		}
+
+		public List<String> getEnumValues() {
+			return enumValues;
+		}
+
+		public boolean isEnumSource() {
+			return enumSource;
 		}
 	}
 
@@ -217,11 +251,16 @@ public class MicroProfileFaultToleranceProvider extends AbstractAnnotationTypeRe
 			}
 			// Download sources of MicroProfile Fault Tolerance to retrieve the proper
 			// Javadoc
+			PsiClass source = annotation;
 			PsiElement classFile = annotation.getNavigationElement();
 			if (classFile != null && classFile instanceof PsiClass) {
-					annotation = (PsiClass) classFile;
+					source = (PsiClass) classFile;
 			}
-			AnnotationInfo info = new AnnotationInfo(annotation, utils, documentFormat);
+			PsiClass sourceAnnotation = source;
+			List<MemberMetadata> members = LibraryAnnotationMetadataCache.getInstance().getMembers(annotation,
+					source != annotation, documentFormat,
+					() -> AnnotationInfo.getMembers(sourceAnnotation, utils, documentFormat));
+			AnnotationInfo info = new AnnotationInfo(annotation.getQualifiedName(), annotation.getName(), members);
 			cache.put(info.getName(), info);
 			return info;
 		}
@@ -322,8 +361,7 @@ public class MicroProfileFaultToleranceProvider extends AbstractAnnotationTypeRe
 				sourceMethod = parameter.getSourceMethod();
 			}
 			// Enumerations
-			PsiClass jdtType = parameter.getJDTType();
-			super.updateHint(collector, jdtType);
+			super.updateHint(collector, parameter.getEnumType(), parameter.getEnumValues(), parameter.isEnumSource());
 
 			super.addItemMetadata(collector, propertyName, parameterType, description, sourceType, null, sourceMethod,
 					defaultValue, extensionName, binary);
@@ -54,14 +54,14 @@ public class HealthAnnotationMissingQuickFix extends InsertAnnotationMissingQuic
 		String[] annotations = getAnnotations();
 		if (generateOnlyOneCodeAction) {
 			for (String annotation : annotations) {
-				if (PsiTypeUtils.findType(context.getJavaProject(), annotation) == null) {
+				if (!PsiTypeUtils.isOnClasspath(context.getJavaProject(), annotation)) {
 					return;
 				}
 			}
 			insertAnnotation(diagnostic, context, codeActions, getAnnotations());
 		} else {
 			for (String annotation : annotations) {
-				if (PsiTypeUtils.findType(context.getJavaProject(), annotation) != null) {
+				if (PsiTypeUtils.isOnClasspath(context.getJavaProject(), annotation)) {
 					insertAnnotation(diagnostic, context, codeActions, annotation);
 				}
 			}
@@ -23,14 +23,12 @@ import com.intellij.psi.util.PsiTreeUtil;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.codelens.IJavaCodeLensParticipant;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.codelens.JavaCodeLensContext;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.jaxrs.JaxRsContext;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.jaxrs.ServerAvailabilityProber;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.IPsiUtils;
 import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.PsiTypeUtils;
 import org.eclipse.lsp4j.CodeLens;
 import org.eclipse.lsp4mp.commons.MicroProfileJavaCodeLensParams;
 
-import java.io.IOException;
-import java.net.InetSocketAddress;
-import java.net.Socket;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -53,8 +51,6 @@ public class JaxRsCodeLensParticipant implements IJavaCodeLensParticipant {
 
 	private static final String LOCALHOST = "localhost";
 
-	private static final int PING_TIMEOUT = 2000;
-
 	@Override
 	public boolean isAdaptedForCodeLens(JavaCodeLensContext context) {
 		MicroProfileJavaCodeLensParams params = context.getParams();
@@ -63,7 +59,7 @@ public class JaxRsCodeLensParticipant implements IJavaCodeLensParticipant {
 		}
 		// Collection of URL codeLens is done only if JAX-RS is on the classpath
 		Module javaProject = context.getJavaProject();
-		return PsiTypeUtils.findType(javaProject, JAVAX_WS_RS_PATH_ANNOTATION) != null;
+		return PsiTypeUtils.isOnClasspath(javaProject, JAVAX_WS_RS_PATH_ANNOTATION);
 	}
 
 	@Override
@@ -79,12 +75,15 @@ public class JaxRsCodeLensParticipant implements IJavaCodeLensParticipant {
 		IPsiUtils utils = context.getUtils();
 		MicroProfileJavaCodeLensParams params = context.getParams();
 		List<CodeLens> lenses = new ArrayList<>();
-		collectURLCodeLenses(elements, null, lenses, params, jaxrsContext, utils);
+		// Display code lens only if local server is available.
+		boolean serverAvailable = !params.isCheckServerAvailable() || ServerAvailabilityProber
+				.getInstance(context.getJavaProject().getProject()).isServerAvailable(LOCALHOST, jaxrsContext.getServerPort());
+		collectURLCodeLenses(elements, null, lenses, params, jaxrsContext, utils, serverAvailable);
 		return lenses;
 	}
 
 	private static void collectURLCodeLenses(PsiElement[] elements, String rootPath, Collection<CodeLens> lenses,
-			MicroProfileJavaCodeLensParams params, JaxRsContext jaxRsContext, IPsiUtils utils) {
+			MicroProfileJavaCodeLensParams params, JaxRsContext jaxRsContext, IPsiUtils utils, boolean serverAvailable) {
 		for (PsiElement element : elements) {
 			if (element instanceof PsiClass) {
 				PsiClass type = (PsiClass) element;
@@ -92,13 +91,11 @@ public class JaxRsCodeLensParticipant implements IJavaCodeLensParticipant {
 				String pathValue = getJaxRsPathValue(type);
 				if (pathValue != null) {
 					// Class is annotated with @Path
-					// Display code lens only if local server is available.
-					if (!params.isCheckServerAvailable()
-							|| isServerAvailable(LOCALHOST, jaxRsContext.getServerPort(), PING_TIMEOUT)) {
+					if (serverAvailable) {
 						// Loop for each method annotated with @Path to generate
 						// URL code lens per
 						// method.
-						collectURLCodeLenses(type.getChildren(), pathValue, lenses, params, jaxRsContext, utils);
+						collectURLCodeLenses(type.getChildren(), pathValue, lenses, params, jaxRsContext, utils, serverAvailable);
 					}
 				}
 				continue;
@@ -134,13 +131,4 @@ public class JaxRsCodeLensParticipant implements IJavaCodeLensParticipant {
 			}
 		}
 	}
-
-	private static boolean isServerAvailable(String host, int port, int timeout) {
-		try (Socket socket = new Socket()) {
-			socket.connect(new InetSocketAddress(host, port), timeout);
-			return true;
-		} catch (IOException e) {
-			return false;
-		}
-	}
 }
@@ -59,7 +59,7 @@ public class MicroProfileMetricsDiagnosticsParticipant implements IJavaDiagnosti
 		// Collection of diagnostics for MicroProfile Metrics is done only if
 		// microprofile-metrics is on the classpath
 		Module javaProject = context.getJavaProject();
-		return PsiTypeUtils.findType(javaProject, METRIC_ID) != null;
+		return PsiTypeUtils.isOnClasspath(javaProject, METRIC_ID);
 	}
 
 	@Override
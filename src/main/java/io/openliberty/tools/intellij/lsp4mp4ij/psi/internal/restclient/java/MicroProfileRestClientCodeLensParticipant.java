@@ -61,7 +61,7 @@ public class MicroProfileRestClientCodeLensParticipant implements IJavaCodeLensP
 		// Collection of URL codeLens is done only if @ResgisterRestClient annotation is
 		// on the classpath
 		Module javaProject = context.getJavaProject();
-		return PsiTypeUtils.findType(javaProject, REGISTER_REST_CLIENT_ANNOTATION) != null;
+		return PsiTypeUtils.isOnClasspath(javaProject, REGISTER_REST_CLIENT_ANNOTATION);
 	}
 
 	@Override
@@ -64,6 +64,7 @@ public final class Constants {
     public static final String VIEW_GRADLE_TEST_REPORT_ACTION_ID = "io.openliberty.tools.intellij.actions.ViewTestReport";
     public static final String VIEW_GRADLE_CONFIG_ACTION_ID = "io.openliberty.tools.intellij.actions.ViewGradleConfig";
     public static final String VIEW_EFFECTIVE_POM_ACTION_ID = "io.openliberty.tools.intellij.actions.ViewEffectivePom";
+    public static final String VALIDATE_MODULE_ACTION_ID = "io.openliberty.tools.intellij.actions.ValidateLibertyModuleAction";
 
     // action triggered from shift-shift "Search Everywhere" IntelliJ menu or "cmd/ctl + shift + A" Actions menu
     public static final String GO_TO_ACTION_TRIGGERED = "GoToAction";
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.validation;
+
+import com.intellij.analysis.problemsView.toolWindow.ProblemsView;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.notification.Notification;
+import com.intellij.notification.NotificationAction;
+import com.intellij.notification.NotificationType;
+import com.intellij.notification.Notifications;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowManager;
+import com.intellij.psi.search.FileTypeIndex;
+import io.openliberty.tools.intellij.LibertyModule;
+import io.openliberty.tools.intellij.LibertyPluginIcons;
+import io.openliberty.tools.intellij.lsp4jakarta.lsp4ij.PropertiesManagerForJakarta;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.PropertiesManagerForJava;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.diagnostics.JavaDiagnosticsBatch;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.java.diagnostics.JavaDiagnosticsSweep;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.core.utils.IPsiUtils;
+import io.openliberty.tools.intellij.lsp4mp4ij.psi.internal.core.ls.PsiUtilsLSImpl;
+import io.openliberty.tools.intellij.util.Constants;
+import io.openliberty.tools.intellij.util.LocalizedResourceUtil;
+import org.eclipse.lsp4mp.commons.DocumentFormat;
+import org.eclipse.lsp4mp.commons.MicroProfileJavaDiagnosticsSettings;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Validates all the Java files of a Liberty module with the Jakarta EE diagnostics collectors and the MicroProfile
+ * diagnostics participants, without waiting for the files to be opened. The diagnostics are streamed into the
+ * Problems view as the files are validated, and can be exported as a SARIF or a JSON report when the validation ends.
+ */
+public class LibertyModuleValidation extends Task.Backgroundable {
+
+    private static final Logger LOGGER = Logger.getInstance(LibertyModuleValidation.class);
+
+    private final LibertyModule libertyModule;
+    private final ValidationReport report;
+
+    public LibertyModuleValidation(@NotNull LibertyModule libertyModule) {
+        super(libertyModule.getProject(), LocalizedResourceUtil.getMessage("validation.task.title", libertyModule.getName()), true);
+        this.libertyModule = libertyModule;
+        this.report = new ValidationReport(libertyModule.getName());
+    }
+
+    @Override
+    public void run(@NotNull ProgressIndicator indicator) {
+        Project project = libertyModule.getProject();
+        VirtualFile root = libertyModule.getBuildFile().getParent();
+
+        indicator.setIndeterminate(true);
+        indicator.setText(LocalizedResourceUtil.getMessage("validation.task.listing"));
+        Map<String, VirtualFile> files = ReadAction.nonBlocking(() -> getJavaFiles(project, root))
+                .inSmartMode(project)
+                .expireWith(project)
+                .wrapProgress(indicator)
+                .executeSynchronously();
+
+        ValidationProblemsProvider problems = ValidationProblemsProvider.getInstance(project);
+        problems.removeProblems(root);
+        ApplicationManager.getApplication().invokeLater(() -> showProblemsView(project), project.getDisposed());
+
+        IPsiUtils utils = PsiUtilsLSImpl.getInstance(project);
+        MicroProfileJavaDiagnosticsSettings settings = new MicroProfileJavaDiagnosticsSettings(Collections.emptyList());
+        List<JavaDiagnosticsBatch.ModuleDiagnosticsCollector<?>> collectors = new ArrayList<>();
+        collectors.add(PropertiesManagerForJava.getInstance().getDiagnosticsCollector(DocumentFormat.PlainText, settings, utils));
+        collectors.add(PropertiesManagerForJakarta.getInstance().getDiagnosticsCollector());
+
+        indicator.setText(LocalizedResourceUtil.getMessage("validation.task.validating", files.size()));
+        new JavaDiagnosticsSweep(utils, collectors, (uri, diagnostics) -> {
+            report.add(uri, diagnostics);
+            VirtualFile file = files.get(uri);
+            if (file != null) {
+                problems.setProblems(file, diagnostics);
+            }
+        }, indicator).run(new ArrayList<>(files.keySet()));
+    }
+
+    @Override
+    public void onSuccess() {
+        Project project = libertyModule.getProject();
+        String content = LocalizedResourceUtil.getMessage("validation.notification.content", report.getProblemCount(),
+                report.getFilesWithProblemsCount(), report.getFileCount());
+        Notification notif = new Notification(Constants.LIBERTY_DEV_DASHBOARD_ID,
+                LocalizedResourceUtil.getMessage("validation.notification.title", libertyModule.getName()),
+                content, report.getProblemCount() == 0 ? NotificationType.INFORMATION : NotificationType.WARNING)
+                .setIcon(LibertyPluginIcons.libertyIcon)
+                .addAction(NotificationAction.createSimple(LocalizedResourceUtil.getMessage("validation.export.sarif"),
+                        () -> export(project, true)))
+                .addAction(NotificationAction.createSimple(LocalizedResourceUtil.getMessage("validation.export.json"),
+                        () -> export(project, false)));
+        Notifications.Bus.notify(notif, project);
+    }
+
+    /**
+     * Returns the Java source files of the modules under the given directory, by uri.
+     */
+    private static Map<String, VirtualFile> getJavaFiles(Project project, VirtualFile root) {
+        ProjectFileIndex fileIndex = ProjectFileIndex.getInstance(project);
+        // sorted by uri, so that the files of a package are validated together
+        Map<String, VirtualFile> files = new TreeMap<>();
+        for (Module module : ModuleManager.getInstance(project).getModules()) {
+            if (!isUnder(module, root)) {
+                continue;
+            }
+            for (VirtualFile file : FileTypeIndex.getFiles(JavaFileType.INSTANCE, module.getModuleScope(false))) {
+                if (fileIndex.isInSourceContent(file) && VfsUtilCore.isAncestor(root, file, false)) {
+                    files.put(VfsUtil.toUri(file.getUrl()).toString(), file);
+                }
+            }
+        }
+        return files;
+    }
+
+    private static boolean isUnder(Module module, VirtualFile root) {
+        for (VirtualFile contentRoot : ModuleRootManager.getInstance(module).getContentRoots()) {
+            if (VfsUtilCore.isAncestor(root, contentRoot, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void showProblemsView(Project project) {
+        ToolWindow toolWindow = ToolWindowManager.getInstance(project).getToolWindow(ProblemsView.ID);
+        if (toolWindow != null) {
+            toolWindow.show();
+        }
+    }
+
+    private void export(Project project, boolean sarif) {
+        String extension = sarif ? "sarif" : "json";
+        FileSaverDescriptor descriptor = new FileSaverDescriptor(
+                LocalizedResourceUtil.getMessage("validation.export.dialog.title"),
+                LocalizedResourceUtil.getMessage("validation.export.dialog.description", libertyModule.getName()),
+                extension);
+        VirtualFileWrapper wrapper = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project)
+                .save(libertyModule.getBuildFile().getParent(), libertyModule.getName() + "-validation." + extension);
+        if (wrapper == null) {
+            return;
+        }
+        Path path = wrapper.getFile().toPath();
+        try {
+            if (sarif) {
+                report.writeSarif(path);
+            } else {
+                report.writeJson(path);
+            }
+            VfsUtil.markDirtyAndRefresh(true, false, false, wrapper.getFile());
+        } catch (IOException e) {
+            String msg = LocalizedResourceUtil.getMessage("validation.export.failed", path, e.getLocalizedMessage());
+            LOGGER.warn(msg, e);
+            Notifications.Bus.notify(new Notification(Constants.LIBERTY_DEV_DASHBOARD_ID, msg, NotificationType.ERROR)
+                    .setIcon(LibertyPluginIcons.libertyIcon), project);
+        }
+    }
+}
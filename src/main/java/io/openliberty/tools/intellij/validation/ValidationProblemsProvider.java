@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.validation;
+
+import com.intellij.analysis.problemsView.FileProblem;
+import com.intellij.analysis.problemsView.ProblemsCollector;
+import com.intellij.analysis.problemsView.ProblemsProvider;
+import com.intellij.codeInsight.daemon.HighlightDisplayLevel;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.Icon;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Publishes the diagnostics of the validation of the Liberty modules in the "Project Errors" tab of the Problems
+ * view. The problems of a file are replaced each time the file is validated again.
+ */
+@Service
+public final class ValidationProblemsProvider implements ProblemsProvider {
+
+    public static ValidationProblemsProvider getInstance(Project project) {
+        return project.getService(ValidationProblemsProvider.class);
+    }
+
+    private final Project project;
+
+    private final Map<VirtualFile, List<ValidationProblem>> problems = new ConcurrentHashMap<>();
+
+    private ValidationProblemsProvider(Project project) {
+        this.project = project;
+    }
+
+    @NotNull
+    @Override
+    public Project getProject() {
+        return project;
+    }
+
+    /**
+     * Replaces the problems of the given file with the given diagnostics. Thread safe.
+     */
+    public void setProblems(@NotNull VirtualFile file, @NotNull List<Diagnostic> diagnostics) {
+        List<ValidationProblem> fileProblems = new ArrayList<>(diagnostics.size());
+        for (Diagnostic diagnostic : diagnostics) {
+            fileProblems.add(new ValidationProblem(this, file, diagnostic));
+        }
+        List<ValidationProblem> previous = fileProblems.isEmpty() ? problems.remove(file)
+                : problems.put(file, fileProblems);
+        ProblemsCollector collector = getCollector();
+        if (collector == null) {
+            return;
+        }
+        if (previous != null) {
+            previous.forEach(collector::problemDisappeared);
+        }
+        fileProblems.forEach(collector::problemAppeared);
+    }
+
+    /**
+     * Removes the problems of the files under the given directory, before it is validated again.
+     */
+    public void removeProblems(@NotNull VirtualFile directory) {
+        ProblemsCollector collector = getCollector();
+        problems.keySet().removeIf(file -> {
+            if (!VfsUtilCore.isAncestor(directory, file, false)) {
+                return false;
+            }
+            List<ValidationProblem> previous = problems.get(file);
+            if (collector != null && previous != null) {
+                previous.forEach(collector::problemDisappeared);
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public void dispose() {
+        problems.clear();
+    }
+
+    @Nullable
+    private ProblemsCollector getCollector() {
+        return project.isDisposed() ? null : project.getService(ProblemsCollector.class);
+    }
+
+    private static class ValidationProblem implements FileProblem {
+
+        private final ProblemsProvider provider;
+        private final VirtualFile file;
+        private final Diagnostic diagnostic;
+
+        private ValidationProblem(ProblemsProvider provider, VirtualFile file, Diagnostic diagnostic) {
+            this.provider = provider;
+            this.file = file;
+            this.diagnostic = diagnostic;
+        }
+
+        @NotNull
+        @Override
+        public ProblemsProvider getProvider() {
+            return provider;
+        }
+
+        @NotNull
+        @Override
+        public VirtualFile getFile() {
+            return file;
+        }
+
+        @Override
+        public int getLine() {
+            Position start = getStart();
+            return start != null ? start.getLine() : -1;
+        }
+
+        @Override
+        public int getColumn() {
+            Position start = getStart();
+            return start != null ? start.getCharacter() : -1;
+        }
+
+        @NotNull
+        @Override
+        public String getText() {
+            return diagnostic.getMessage();
+        }
+
+        @Nullable
+        @Override
+        public String getGroup() {
+            return diagnostic.getSource();
+        }
+
+        @Nullable
+        @Override
+        public String getDescription() {
+            return null;
+        }
+
+        @NotNull
+        @Override
+        public Icon getIcon() {
+            switch (ValidationReport.getSeverity(diagnostic)) {
+                case Error:
+                    return HighlightDisplayLevel.ERROR.getIcon();
+                case Warning:
+                    return HighlightDisplayLevel.WARNING.getIcon();
+                default:
+                    return HighlightDisplayLevel.WEAK_WARNING.getIcon();
+            }
+        }
+
+        private Position getStart() {
+            return diagnostic.getRange() != null ? diagnostic.getRange().getStart() : null;
+        }
+    }
+}
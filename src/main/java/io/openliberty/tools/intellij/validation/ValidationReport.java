@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package io.openliberty.tools.intellij.validation;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.DiagnosticSeverity;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The diagnostics of the validation of a Liberty module, filled from the validation workers and exported as a JSON
+ * or a SARIF 2.1.0 report.
+ */
+public class ValidationReport {
+
+    private static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+    private static final String TOOL_NAME = "Liberty Tools for IntelliJ";
+    private static final String TOOL_URI = "https://github.com/OpenLiberty/liberty-tools-intellij";
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private final String moduleName;
+    // sorted by uri, so that the reports of two runs can be compared
+    private final Map<String, List<Diagnostic>> diagnostics = new ConcurrentSkipListMap<>();
+    private final AtomicInteger fileCount = new AtomicInteger();
+    private final AtomicInteger problemCount = new AtomicInteger();
+
+    public ValidationReport(String moduleName) {
+        this.moduleName = moduleName;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    /**
+     * Adds the diagnostics of a validated file. Thread safe.
+     */
+    public void add(String uri, List<Diagnostic> fileDiagnostics) {
+        fileCount.incrementAndGet();
+        if (!fileDiagnostics.isEmpty()) {
+            diagnostics.put(uri, fileDiagnostics);
+            problemCount.addAndGet(fileDiagnostics.size());
+        }
+    }
+
+    public int getFileCount() {
+        return fileCount.get();
+    }
+
+    public int getFilesWithProblemsCount() {
+        return diagnostics.size();
+    }
+
+    public int getProblemCount() {
+        return problemCount.get();
+    }
+
+    public void writeJson(Path path) throws IOException {
+        Files.writeString(path, GSON.toJson(toJson()), StandardCharsets.UTF_8);
+    }
+
+    public void writeSarif(Path path) throws IOException {
+        Files.writeString(path, GSON.toJson(toSarif()), StandardCharsets.UTF_8);
+    }
+
+    JsonObject toJson() {
+        JsonArray files = new JsonArray();
+        diagnostics.forEach((uri, fileDiagnostics) -> {
+            JsonArray items = new JsonArray();
+            for (Diagnostic diagnostic : fileDiagnostics) {
+                JsonObject item = new JsonObject();
+                item.add("range", toJson(diagnostic.getRange()));
+                item.addProperty("severity", getSeverity(diagnostic).name());
+                item.addProperty("source", diagnostic.getSource());
+                item.addProperty("code", getCode(diagnostic));
+                item.addProperty("message", diagnostic.getMessage());
+                items.add(item);
+            }
+            JsonObject file = new JsonObject();
+            file.addProperty("uri", uri);
+            file.add("diagnostics", items);
+            files.add(file);
+        });
+        JsonObject report = new JsonObject();
+        report.addProperty("module", moduleName);
+        report.addProperty("validatedFiles", getFileCount());
+        report.addProperty("problems", getProblemCount());
+        report.add("files", files);
+        return report;
+    }
+
+    JsonObject toSarif() {
+        Map<String, JsonObject> rules = new TreeMap<>();
+        JsonArray results = new JsonArray();
+        diagnostics.forEach((uri, fileDiagnostics) -> {
+            for (Diagnostic diagnostic : fileDiagnostics) {
+                String ruleId = getRuleId(diagnostic);
+                rules.computeIfAbsent(ruleId, id -> {
+                    JsonObject rule = new JsonObject();
+                    rule.addProperty("id", id);
+                    return rule;
+                });
+                JsonObject result = new JsonObject();
+                result.addProperty("ruleId", ruleId);
+                result.addProperty("level", toSarifLevel(getSeverity(diagnostic)));
+                JsonObject message = new JsonObject();
+                message.addProperty("text", diagnostic.getMessage());
+                result.add("message", message);
+                JsonArray locations = new JsonArray();
+                locations.add(toSarifLocation(uri, diagnostic.getRange()));
+                result.add("locations", locations);
+                results.add(result);
+            }
+        });
+
+        JsonObject driver = new JsonObject();
+        driver.addProperty("name", TOOL_NAME);
+        driver.addProperty("informationUri", TOOL_URI);
+        JsonArray driverRules = new JsonArray();
+        rules.values().forEach(driverRules::add);
+        driver.add("rules", driverRules);
+        JsonObject tool = new JsonObject();
+        tool.add("driver", driver);
+
+        JsonObject run = new JsonObject();
+        run.add("tool", tool);
+        run.add("results", results);
+        JsonArray runs = new JsonArray();
+        runs.add(run);
+
+        JsonObject sarif = new JsonObject();
+        sarif.addProperty("$schema", SARIF_SCHEMA);
+        sarif.addProperty("version", "2.1.0");
+        sarif.add("runs", runs);
+        return sarif;
+    }
+
+    private static JsonObject toSarifLocation(String uri, Range range) {
+        JsonObject artifactLocation = new JsonObject();
+        artifactLocation.addProperty("uri", uri);
+        JsonObject physicalLocation = new JsonObject();
+        physicalLocation.add("artifactLocation", artifactLocation);
+        if (range != null) {
+            // SARIF lines and columns are 1-based, LSP ones are 0-based
+            JsonObject region = new JsonObject();
+            region.addProperty("startLine", range.getStart().getLine() + 1);
+            region.addProperty("startColumn", range.getStart().getCharacter() + 1);
+            region.addProperty("endLine", range.getEnd().getLine() + 1);
+            region.addProperty("endColumn", range.getEnd().getCharacter() + 1);
+            physicalLocation.add("region", region);
+        }
+        JsonObject location = new JsonObject();
+        location.add("physicalLocation", physicalLocation);
+        return location;
+    }
+
+    private static String toSarifLevel(DiagnosticSeverity severity) {
+        switch (severity) {
+            case Error:
+                return "error";
+            case Warning:
+                return "warning";
+            default:
+                return "note";
+        }
+    }
+
+    private static JsonObject toJson(Range range) {
+        JsonObject json = new JsonObject();
+        if (range != null) {
+            json.add("start", toJson(range.getStart()));
+            json.add("end", toJson(range.getEnd()));
+        }
+        return json;
+    }
+
+    private static JsonObject toJson(Position position) {
+        JsonObject json = new JsonObject();
+        json.addProperty("line", position.getLine());
+        json.addProperty("character", position.getCharacter());
+        return json;
+    }
+
+    static DiagnosticSeverity getSeverity(Diagnostic diagnostic) {
+        // the LSP default severity is error
+        return diagnostic.getSeverity() != null ? diagnostic.getSeverity() : DiagnosticSeverity.Error;
+    }
+
+    private static String getCode(Diagnostic diagnostic) {
+        if (diagnostic.getCode() == null) {
+            return null;
+        }
+        return diagnostic.getCode().isLeft() ? diagnostic.getCode().getLeft()
+                : String.valueOf(diagnostic.getCode().getRight());
+    }
+
+    private static String getRuleId(Diagnostic diagnostic) {
+        String code = getCode(diagnostic);
+        String source = diagnostic.getSource();
+        if (code == null) {
+            return source != null ? source : "unknown";
+        }
+        return source != null ? source + "/" + code : code;
+    }
+}